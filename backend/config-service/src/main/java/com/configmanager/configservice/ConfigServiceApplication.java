@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = {
@@ -21,6 +22,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
         "com.configmanager.configservice.repository",
         "com.configmanager.usermodule.repository"
 })
+@EnableScheduling
 @OpenAPIDefinition(info = @Info(title = "Configuration Service API", version = "1.0", description = "Configuration Management Service"))
 public class ConfigServiceApplication {
     public static void main(String[] args) {
@@ -0,0 +1,202 @@
+package com.configmanager.configservice.cache;
+
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.model.Configuration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded read-through cache in front of configuration lookups by key and by ID.
+ * Entries expire after a fixed time-to-live and are refreshed once a write to the corresponding
+ * configuration has committed. A deletion leaves a tombstone entry that reads treat as missing, so
+ * a refresh for an older revision arriving late cannot bring the configuration back.
+ * Hit, miss and eviction counts are published as cache metrics. Reads by key are also counted per
+ * key, approximately, so the most read keys can be loaded ahead of traffic when an instance starts.
+ */
+@Component
+public class ConfigurationCache implements MeterBinder {
+
+    private final Cache<String, Configuration> byKey;
+
+    private final Cache<Long, Configuration> byId;
+
+    private final Map<String, LongAdder> accessCounts = new ConcurrentHashMap<>();
+
+    private final long maximumSize;
+
+    /**
+     * Creates the cache with the given limits.
+     *
+     * @param maximumSize Maximum number of entries held per index
+     * @param ttl Time after which an entry is reloaded from the database
+     */
+    public ConfigurationCache(
+            @Value("${config.cache.maximum-size:10000}") long maximumSize,
+            @Value("${config.cache.ttl:5m}") Duration ttl) {
+        this.maximumSize = maximumSize;
+        this.byKey = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached configuration for a key, loading it on a miss.
+     * Missing configurations are not cached.
+     *
+     * @param key The configuration key
+     * @param loader Function loading the configuration from the database
+     * @return Optional containing the configuration if found
+     */
+    public Optional<Configuration> getByKey(String key, Function<String, Optional<Configuration>> loader) {
+        recordAccess(key);
+        return Optional.ofNullable(byKey.get(key, k -> loader.apply(k).map(Configuration::copy).orElse(null)))
+                .filter(configuration -> !configuration.isDeleted());
+    }
+
+    /**
+     * Returns the cached configurations for several keys, loading all misses with one call.
+     * Missing configurations are not cached and are absent from the result.
+     *
+     * @param keys The configuration keys
+     * @param loader Function loading the configurations for the missed keys from the database
+     * @return Map of key to configuration for every key that exists
+     */
+    public Map<String, Configuration> getAllByKeys(
+            Collection<String> keys, Function<Collection<String>, Collection<Configuration>> loader) {
+        keys.forEach(this::recordAccess);
+        Map<String, Configuration> found = new HashMap<>(byKey.getAll(keys, missed -> loader.apply(Set.copyOf(missed))
+                .stream()
+                .collect(Collectors.toMap(Configuration::getKey, Configuration::copy))));
+        found.values().removeIf(Configuration::isDeleted);
+        return found;
+    }
+
+    /**
+     * Returns the cached configuration for an ID, loading it on a miss.
+     * Missing configurations are not cached.
+     *
+     * @param id The configuration ID
+     * @param loader Function loading the configuration from the database
+     * @return Optional containing the configuration if found
+     */
+    public Optional<Configuration> getById(Long id, Function<Long, Optional<Configuration>> loader) {
+        return Optional.ofNullable(byId.get(id, i -> loader.apply(i).map(Configuration::copy).orElse(null)))
+                .filter(configuration -> !configuration.isDeleted());
+    }
+
+    /**
+     * Refreshes entries once a configuration write has committed.
+     * Commits of the same key may be reported out of order, so an entry is only replaced by a newer
+     * revision. Deletions are cached as tombstones, and a rename leaves one under the previous key so
+     * a renamed configuration is not served under its old name.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        Configuration configuration = event.getConfiguration();
+        if (event.getType() == ConfigurationChangedEvent.ChangeType.DELETED) {
+            configuration = configuration.copy();
+            configuration.setDeleted(true);
+        }
+        if (event.isRenamed()) {
+            Configuration removed = configuration.copy();
+            removed.setKey(event.getPreviousKey());
+            removed.setDeleted(true);
+            byKey.asMap().merge(removed.getKey(), removed, ConfigurationCache::newer);
+        }
+        byKey.asMap().merge(configuration.getKey(), configuration, ConfigurationCache::newer);
+        byId.asMap().merge(configuration.getId(), configuration, ConfigurationCache::newer);
+    }
+
+    /**
+     * Adds configurations loaded ahead of any request.
+     * An entry already refreshed by a newer write is kept, so a load racing with a write cannot
+     * bring back the older version.
+     *
+     * @param configurations The configurations to cache
+     */
+    public void preload(Collection<Configuration> configurations) {
+        for (Configuration configuration : configurations) {
+            Configuration copy = configuration.copy();
+            byKey.asMap().merge(copy.getKey(), copy, ConfigurationCache::newer);
+            byId.asMap().merge(copy.getId(), copy, ConfigurationCache::newer);
+        }
+    }
+
+    /**
+     * Returns the number of reads of each key since the previous call and starts counting anew.
+     * At most as many keys as the cache holds are counted at once; reads of further keys are not
+     * counted until the next call.
+     *
+     * @return Map of key to number of reads
+     */
+    public Map<String, Long> drainAccessCounts() {
+        Map<String, Long> drained = new HashMap<>();
+        for (String key : accessCounts.keySet()) {
+            LongAdder count = accessCounts.remove(key);
+            if (count != null) {
+                drained.put(key, count.sum());
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Removes all cached entries.
+     */
+    public void invalidateAll() {
+        byKey.invalidateAll();
+        byId.invalidateAll();
+    }
+
+    private void recordAccess(String key) {
+        LongAdder count = accessCounts.get(key);
+        if (count == null) {
+            if (accessCounts.size() >= maximumSize) {
+                return;
+            }
+            count = accessCounts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    private static Configuration newer(Configuration current, Configuration candidate) {
+        return candidate.getRevision() >= current.getRevision() ? candidate : current;
+    }
+
+    /**
+     * Registers hit, miss, eviction and size metrics for both cache indexes.
+     *
+     * @param registry The meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byKey, "configurations.byKey");
+        CaffeineCacheMetrics.monitor(registry, byId, "configurations.byId");
+    }
+}
@@ -0,0 +1,462 @@
+package com.configmanager.configservice.cache;
+
+import com.configmanager.configservice.datasource.ReadRouting;
+import com.configmanager.configservice.dto.OverlayContext;
+import com.configmanager.configservice.dto.ResolvedConfiguration;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationOverlayChangedEvent;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.model.ConfigurationOverlay;
+import com.configmanager.configservice.model.ConfigurationOverlay.Scope;
+import com.configmanager.configservice.repository.ConfigurationOverlayRepository;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the effective configuration values of a context and keeps one resolved view per context.
+ * A view maps the keys overridden in the context to the value of the most specific matching overlay;
+ * every other key reads the default value shared by all views, so a read is at most two map lookups.
+ * A context is first narrowed to the environment, region and instance names some overlay uses, so
+ * names without overlays, such as the name of every instance, share the view of the narrower context.
+ * Views are built on first use from the overlays of the context's layers and bounded in number. When a
+ * configuration or an overlay changes, only that key is resolved again, and only in the views the change
+ * can affect.
+ * Defaults and overlays are indexed in memory on first use. Writes of this instance arrive as
+ * events after commit; overlay writes of other instances are picked up by polling the overlays
+ * table by revision, and configuration writes of other instances arrive through the change log.
+ * Removed keys and overlay tombstones are kept only while a change older than them is still pending,
+ * as reported by the {@link PendingRevisionTracker}, and are pruned when polling.
+ */
+@Slf4j
+@Component
+public class ConfigurationOverlayResolver implements MeterBinder {
+
+    private final ConfigurationRepository configurationRepository;
+
+    private final ConfigurationOverlayRepository overlayRepository;
+
+    private final ConfigurationSnapshotStore snapshotStore;
+
+    private final PendingRevisionTracker pendingRevisions;
+
+    private final int batchSize;
+
+    private final Cache<OverlayContext, Map<String, ResolvedConfiguration>> views;
+
+    /**
+     * Serializes loading, building views and applying changes; reads of a built view never take it.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Whether defaults and overlays are loaded; written under the lock, read without it.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Live configurations by key, or null until loaded. Guarded by the lock, like the fields below.
+     */
+    private Map<String, Configuration> defaults;
+
+    /**
+     * Default value of every live configuration, shared by all views where no overlay applies.
+     * Written under the lock, read without it.
+     */
+    private final Map<String, ResolvedConfiguration> resolvedDefaults = new ConcurrentHashMap<>();
+
+    /**
+     * Key each configuration ID currently has, used to notice renames.
+     */
+    private final Map<Long, String> keysById = new HashMap<>();
+
+    /**
+     * Revision at which each removed key was removed, so older writes arriving late are ignored.
+     */
+    private final Map<String, Long> removedAt = new HashMap<>();
+
+    /**
+     * Overlays and overlay tombstones by key and layer.
+     */
+    private final Map<String, Map<Layer, ConfigurationOverlay>> overlays = new HashMap<>();
+
+    /**
+     * Keys with a live overlay, by layer; a layer is present only while it has one.
+     * Written under the lock, read without it to narrow contexts.
+     */
+    private final Map<Layer, Set<String>> keysByLayer = new ConcurrentHashMap<>();
+
+    /**
+     * Highest overlay revision read from the overlays table.
+     */
+    private long lastOverlayRevision;
+
+    /**
+     * Creates the resolver.
+     *
+     * @param configurationRepository Repository used to load the defaults
+     * @param overlayRepository Repository used to load and poll the overlays
+     * @param snapshotStore Store whose snapshot, when loaded, replaces reading every configuration
+     * @param pendingRevisions Tracker of changes not applied yet, used to forget removed keys and overlays
+     * @param maxViews Maximum number of narrowed contexts whose resolved view is kept
+     * @param batchSize Maximum number of rows read per query when catching up
+     */
+    public ConfigurationOverlayResolver(
+            ConfigurationRepository configurationRepository,
+            ConfigurationOverlayRepository overlayRepository,
+            ConfigurationSnapshotStore snapshotStore,
+            PendingRevisionTracker pendingRevisions,
+            @Value("${config.overlay.max-views:64}") long maxViews,
+            @Value("${config.overlay.batch-size:500}") int batchSize) {
+        this.configurationRepository = configurationRepository;
+        this.overlayRepository = overlayRepository;
+        this.snapshotStore = snapshotStore;
+        this.pendingRevisions = pendingRevisions;
+        this.batchSize = batchSize;
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxViews)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the effective value of a configuration in a context.
+     *
+     * @param key The configuration key
+     * @param context The context to resolve for
+     * @return Optional containing the resolved configuration, or empty if the key does not exist
+     */
+    public Optional<ResolvedConfiguration> resolve(String key, OverlayContext context) {
+        ResolvedConfiguration override = view(context).get(key);
+        return Optional.ofNullable(override != null ? override : resolvedDefaults.get(key));
+    }
+
+    /**
+     * Returns the effective values of all configurations in a context.
+     *
+     * @param context The context to resolve for
+     * @return The resolved configurations, in no particular order
+     */
+    public List<ResolvedConfiguration> resolveAll(OverlayContext context) {
+        Map<String, ResolvedConfiguration> view = view(context);
+        return resolvedDefaults.values().stream()
+                .map(resolved -> view.getOrDefault(resolved.getKey(), resolved))
+                .toList();
+    }
+
+    /**
+     * Drops all loaded state so the next read loads defaults and overlays again.
+     * Used after this instance may have missed changes.
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            loaded = false;
+            defaults = null;
+            resolvedDefaults.clear();
+            keysById.clear();
+            removedAt.clear();
+            overlays.clear();
+            keysByLayer.clear();
+            lastOverlayRevision = 0;
+            views.invalidateAll();
+        }
+    }
+
+    /**
+     * Resolves a changed configuration again in every view once the write has committed.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        synchronized (lock) {
+            // Until loaded there is nothing to update; the load reads committed state
+            if (defaults != null) {
+                applyDefault(event.getConfiguration());
+            }
+        }
+    }
+
+    /**
+     * Resolves a changed overlay's key again in the views it applies to once the write has committed.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOverlayChanged(ConfigurationOverlayChangedEvent event) {
+        synchronized (lock) {
+            if (defaults != null) {
+                applyOverlay(event.getOverlay());
+            }
+        }
+    }
+
+    /**
+     * Applies overlay writes made by other instances, in revision order, then forgets removed keys
+     * and overlay tombstones no pending change is older than. Does nothing until the overlays have been loaded.
+     */
+    @Scheduled(fixedDelayString = "${config.overlay.poll-interval-ms:1000}")
+    public void poll() {
+        synchronized (lock) {
+            if (defaults != null) {
+                catchUpOverlays();
+                prune(pendingRevisions.oldestPendingRevision());
+            }
+        }
+    }
+
+    /**
+     * Drops removed keys and overlay tombstones older than the given revision; no write they
+     * would have to hide can still arrive.
+     */
+    private void prune(long oldestPending) {
+        removedAt.values().removeIf(removed -> removed < oldestPending);
+        overlays.values().removeIf(layers -> {
+            layers.values().removeIf(overlay -> overlay.isDeleted() && overlay.getRevision() < oldestPending);
+            return layers.isEmpty();
+        });
+    }
+
+    /**
+     * Returns the number of removed keys and overlay tombstones still remembered.
+     */
+    int getRememberedRemovals() {
+        synchronized (lock) {
+            return removedAt.size() + (int) overlays.values().stream()
+                    .flatMap(layers -> layers.values().stream())
+                    .filter(ConfigurationOverlay::isDeleted)
+                    .count();
+        }
+    }
+
+    private Map<String, ResolvedConfiguration> view(OverlayContext context) {
+        if (loaded) {
+            Map<String, ResolvedConfiguration> view = views.getIfPresent(narrow(context));
+            if (view != null) {
+                return view;
+            }
+        }
+        synchronized (lock) {
+            load();
+            return views.get(narrow(context), this::build);
+        }
+    }
+
+    /**
+     * Drops the names of a context no overlay uses; they resolve exactly like no name at all.
+     */
+    private OverlayContext narrow(OverlayContext context) {
+        return new OverlayContext(usedName(Scope.ENVIRONMENT, context), usedName(Scope.REGION, context),
+                usedName(Scope.INSTANCE, context));
+    }
+
+    private String usedName(Scope scope, OverlayContext context) {
+        String name = context.valueFor(scope);
+        return name != null && keysByLayer.containsKey(new Layer(scope, name)) ? name : null;
+    }
+
+    /**
+     * Builds the view of a narrowed context from the keys overridden in its layers.
+     */
+    private Map<String, ResolvedConfiguration> build(OverlayContext context) {
+        Map<String, ResolvedConfiguration> view = new ConcurrentHashMap<>();
+        for (Scope scope : Scope.values()) {
+            String name = context.valueFor(scope);
+            Set<String> keys = name != null ? keysByLayer.get(new Layer(scope, name)) : null;
+            if (keys != null) {
+                for (String key : keys) {
+                    ResolvedConfiguration override = override(key, context);
+                    if (override != null) {
+                        view.put(key, override);
+                    }
+                }
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Loads defaults and overlays unless already loaded.
+     */
+    private void load() {
+        if (defaults != null) {
+            return;
+        }
+        long start = System.nanoTime();
+        defaults = new HashMap<>();
+        try {
+            // Read from the primary: a lagging replica would lose changes whose events were ignored before the load
+            ReadRouting.fromPrimary(() -> {
+                Optional<ConfigurationSnapshot> snapshot = snapshotStore.current();
+                if (snapshot.isPresent()) {
+                    snapshot.get().findAll().forEach(this::applyDefault);
+                    catchUpDefaults(snapshot.get().getRevision());
+                } else {
+                    configurationRepository.findAll().forEach(this::applyDefault);
+                }
+                catchUpOverlays();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            invalidateAll();
+            throw e;
+        }
+        loaded = true;
+        log.info("Loaded {} configurations and overlays up to revision {} for resolution in {} ms",
+                defaults.size(), lastOverlayRevision, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies configuration writes committed after the snapshot was taken.
+     */
+    private void catchUpDefaults(long revision) {
+        List<Configuration> changes;
+        do {
+            changes = configurationRepository.findChangesSince(revision, PageRequest.of(0, batchSize));
+            for (Configuration configuration : changes) {
+                applyDefault(configuration);
+                revision = configuration.getRevision();
+            }
+        } while (changes.size() == batchSize);
+    }
+
+    private void catchUpOverlays() {
+        List<ConfigurationOverlay> changes;
+        do {
+            changes = ReadRouting.fromPrimary(() -> overlayRepository.findByRevisionGreaterThanOrderByRevision(
+                    lastOverlayRevision, PageRequest.of(0, batchSize)));
+            for (ConfigurationOverlay overlay : changes) {
+                applyOverlay(overlay);
+                lastOverlayRevision = overlay.getRevision();
+            }
+        } while (changes.size() == batchSize);
+    }
+
+    /**
+     * Records a configuration or tombstone unless a newer write of its key was already applied,
+     * and resolves the affected keys again in every view.
+     */
+    private void applyDefault(Configuration configuration) {
+        String key = configuration.getKey();
+        long revision = configuration.getRevision();
+        Configuration current = defaults.get(key);
+        Long removed = removedAt.get(key);
+        if ((current != null && current.getRevision() >= revision) || (removed != null && removed >= revision)) {
+            return;
+        }
+        String previousKey = keysById.get(configuration.getId());
+        if (previousKey != null && !previousKey.equals(key)) {
+            removeDefault(previousKey, revision);
+            refresh(previousKey, null);
+        }
+        if (configuration.isDeleted()) {
+            keysById.remove(configuration.getId());
+            removeDefault(key, revision);
+        } else {
+            defaults.put(key, configuration);
+            resolvedDefaults.put(key, new ResolvedConfiguration(key, configuration.getValue(), null, null, revision));
+            keysById.put(configuration.getId(), key);
+            removedAt.remove(key);
+        }
+        refresh(key, null);
+    }
+
+    private void removeDefault(String key, long revision) {
+        defaults.remove(key);
+        resolvedDefaults.remove(key);
+        removedAt.put(key, revision);
+    }
+
+    /**
+     * Records an overlay or tombstone unless a newer write of the same overlay was already applied,
+     * and resolves its key again in the views of contexts within the overlay's scope.
+     */
+    private void applyOverlay(ConfigurationOverlay overlay) {
+        Layer layer = new Layer(overlay.getScope(), overlay.getScopeValue());
+        Map<Layer, ConfigurationOverlay> layers = overlays.computeIfAbsent(overlay.getKey(), k -> new HashMap<>());
+        ConfigurationOverlay current = layers.get(layer);
+        if (current != null && current.getRevision() >= overlay.getRevision()) {
+            return;
+        }
+        layers.put(layer, overlay);
+        if (overlay.isDeleted()) {
+            Set<String> keys = keysByLayer.get(layer);
+            if (keys != null && keys.remove(overlay.getKey()) && keys.isEmpty()) {
+                keysByLayer.remove(layer);
+            }
+        } else {
+            keysByLayer.computeIfAbsent(layer, l -> ConcurrentHashMap.newKeySet()).add(overlay.getKey());
+        }
+        refresh(overlay.getKey(), layer);
+    }
+
+    /**
+     * Resolves a key again in the views of all contexts, or only of those within the given layer.
+     */
+    private void refresh(String key, Layer layer) {
+        views.asMap().forEach((context, view) -> {
+            if (layer == null || layer.name().equals(context.valueFor(layer.scope()))) {
+                ResolvedConfiguration override = override(key, context);
+                if (override != null) {
+                    view.put(key, override);
+                } else {
+                    view.remove(key);
+                }
+            }
+        });
+    }
+
+    /**
+     * Resolves the overlay of one key applying in a context: the most specific live overlay wins.
+     * Returns null if none applies, so the default is read; overlays of keys without a live
+     * configuration are ignored.
+     */
+    private ResolvedConfiguration override(String key, OverlayContext context) {
+        Map<Layer, ConfigurationOverlay> layers = overlays.get(key);
+        if (layers == null || !resolvedDefaults.containsKey(key)) {
+            return null;
+        }
+        ResolvedConfiguration resolved = null;
+        // Scopes are declared in increasing order of precedence
+        for (Scope scope : Scope.values()) {
+            String name = context.valueFor(scope);
+            ConfigurationOverlay overlay = name != null ? layers.get(new Layer(scope, name)) : null;
+            if (overlay != null && !overlay.isDeleted()) {
+                resolved = new ResolvedConfiguration(key, overlay.getValue(), scope, name, overlay.getRevision());
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Registers hit, miss, eviction and size metrics for the resolved views.
+     *
+     * @param registry The meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, views, "configurations.resolvedViews");
+    }
+
+    /**
+     * One environment, region or instance an overlay applies to.
+     */
+    private record Layer(Scope scope, String name) {
+    }
+}
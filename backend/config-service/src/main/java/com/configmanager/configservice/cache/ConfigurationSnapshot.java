@@ -0,0 +1,254 @@
+package com.configmanager.configservice.cache;
+
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.model.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory view of the full configurations table, indexed by ID and by key.
+ * Keys are indexed twice: a hash map for point lookups and a sorted map so a dotted key
+ * namespace can be read as one contiguous range.
+ * A snapshot is never modified after construction; writes produce a new snapshot
+ * through {@link #withChanges(List, long)}, so readers can use it without locking.
+ */
+public final class ConfigurationSnapshot {
+
+    private final NavigableMap<Long, Configuration> byId;
+
+    private final Map<String, Configuration> byKey;
+
+    private final NavigableMap<String, Configuration> byKeySorted;
+
+    private final List<Configuration> all;
+
+    /**
+     * Revision at which each recently deleted ID was removed, used to ignore changes that arrive late.
+     * Only deletions a pending change could still be older than are kept.
+     */
+    private final Map<Long, Long> deletedRevisions;
+
+    /**
+     * Highest revision reflected in this snapshot, including deletions.
+     */
+    private final long revision;
+
+    private ConfigurationSnapshot(NavigableMap<Long, Configuration> byId,
+                                  NavigableMap<String, Configuration> byKeySorted,
+                                  Map<Long, Long> deletedRevisions, long revision) {
+        Map<String, Configuration> keys = new HashMap<>(Math.max(16, byId.size() * 4 / 3 + 1));
+        for (Configuration configuration : byId.values()) {
+            keys.put(configuration.getKey(), configuration);
+        }
+        this.byId = Collections.unmodifiableNavigableMap(byId);
+        this.byKey = Collections.unmodifiableMap(keys);
+        this.byKeySorted = Collections.unmodifiableNavigableMap(byKeySorted);
+        this.all = Collections.unmodifiableList(new ArrayList<>(byId.values()));
+        this.deletedRevisions = deletedRevisions;
+        this.revision = revision;
+    }
+
+    /**
+     * Builds a snapshot from a full set of configurations.
+     *
+     * @param configurations All configurations currently stored
+     * @param revision Highest revision stored when the configurations were read
+     * @return A new snapshot
+     */
+    public static ConfigurationSnapshot of(Collection<Configuration> configurations, long revision) {
+        NavigableMap<Long, Configuration> byId = new TreeMap<>();
+        NavigableMap<String, Configuration> byKeySorted = new TreeMap<>();
+        for (Configuration configuration : configurations) {
+            byId.put(configuration.getId(), configuration);
+            byKeySorted.put(configuration.getKey(), configuration);
+        }
+        return new ConfigurationSnapshot(byId, byKeySorted, Map.of(), revision);
+    }
+
+    /**
+     * Builds a new snapshot with the given committed changes applied.
+     * A change older than the revision already held for its ID is skipped, so
+     * transactions whose commit callbacks run out of order cannot roll an entry back.
+     * Deletions older than the oldest change still pending are forgotten, as no change can be late for them.
+     *
+     * @param changes Committed changes
+     * @param oldestPendingRevision Lowest revision of a change that may still be applied, or
+     *                              Long.MAX_VALUE if none is pending
+     * @return A new snapshot; this snapshot is left untouched
+     */
+    public ConfigurationSnapshot withChanges(List<ConfigurationChangedEvent> changes, long oldestPendingRevision) {
+        NavigableMap<Long, Configuration> copy = new TreeMap<>(byId);
+        // Copying a sorted map into a TreeMap is linear, so only the changed keys pay log n
+        NavigableMap<String, Configuration> keys = new TreeMap<>(byKeySorted);
+        Map<Long, Long> deleted = new HashMap<>(deletedRevisions);
+        long latest = this.revision;
+        for (ConfigurationChangedEvent change : changes) {
+            Configuration configuration = change.getConfiguration();
+            long revision = revisionOf(configuration);
+            latest = Math.max(latest, revision);
+            Configuration current = copy.get(configuration.getId());
+            Long deletedAt = deleted.get(configuration.getId());
+            if ((current != null && revisionOf(current) > revision) || (deletedAt != null && deletedAt > revision)) {
+                continue;
+            }
+            if (current != null) {
+                keys.remove(current.getKey(), current);
+            }
+            if (change.getType() == ConfigurationChangedEvent.ChangeType.DELETED) {
+                copy.remove(configuration.getId());
+                deleted.put(configuration.getId(), revision);
+            } else {
+                copy.put(configuration.getId(), configuration);
+                keys.put(configuration.getKey(), configuration);
+                deleted.remove(configuration.getId());
+            }
+        }
+        deleted.values().removeIf(deletedAt -> deletedAt < oldestPendingRevision);
+        return new ConfigurationSnapshot(copy, keys, Collections.unmodifiableMap(deleted), latest);
+    }
+
+    /**
+     * Returns the number of deletions remembered to ignore late changes.
+     *
+     * @return The number of remembered deletions
+     */
+    int getRememberedDeletions() {
+        return deletedRevisions.size();
+    }
+
+    private static long revisionOf(Configuration configuration) {
+        return configuration.getRevision() != null ? configuration.getRevision() : 0L;
+    }
+
+    /**
+     * Finds a configuration by its ID.
+     *
+     * @param id The configuration ID
+     * @return Optional containing the configuration if present
+     */
+    public Optional<Configuration> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Finds a configuration by its key.
+     *
+     * @param key The configuration key
+     * @return Optional containing the configuration if present
+     */
+    public Optional<Configuration> findByKey(String key) {
+        return Optional.ofNullable(byKey.get(key));
+    }
+
+    /**
+     * Returns all configurations ordered by ID.
+     *
+     * @return Unmodifiable list of all configurations
+     */
+    public List<Configuration> findAll() {
+        return all;
+    }
+
+    /**
+     * Returns configurations with an ID greater than the given cursor, in ascending ID order.
+     *
+     * @param afterId The ID of the last configuration already returned, or null to start at the beginning
+     * @param limit Maximum number of configurations to return
+     * @return Configurations following the cursor
+     */
+    public List<Configuration> findAfterId(Long afterId, int limit) {
+        return findAfterId(afterId, limit, key -> true);
+    }
+
+    /**
+     * Returns configurations with an ID greater than the given cursor whose key passes the filter,
+     * in ascending ID order. Filtered configurations are skipped during the scan and do not count
+     * towards the limit.
+     *
+     * @param afterId The ID of the last configuration already returned, or null to start at the beginning
+     * @param limit Maximum number of configurations to return
+     * @param visible Filter deciding which keys the caller may see
+     * @return Visible configurations following the cursor
+     */
+    public List<Configuration> findAfterId(Long afterId, int limit, Predicate<String> visible) {
+        Collection<Configuration> tail = afterId == null ? byId.values() : byId.tailMap(afterId, false).values();
+        List<Configuration> page = new ArrayList<>(Math.min(limit, tail.size()));
+        for (Configuration configuration : tail) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (visible.test(configuration.getKey())) {
+                page.add(configuration);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Returns configurations whose key starts with the given prefix, in key order.
+     * Matching keys form one contiguous range of the sorted index, so the scan starts at the
+     * prefix (or just after the cursor) and stops at the first key outside the prefix.
+     *
+     * @param prefix The key prefix
+     * @param afterKey The key of the last configuration already returned, or null to start at the beginning
+     * @param limit Maximum number of configurations to return
+     * @return Configurations in the subtree following the cursor
+     */
+    public List<Configuration> findByPrefix(String prefix, String afterKey, int limit) {
+        return findByPrefix(prefix, afterKey, limit, key -> true);
+    }
+
+    /**
+     * Returns configurations whose key starts with the given prefix and passes the filter, in key order.
+     * Filtered configurations are skipped during the same range scan and do not count towards the limit.
+     *
+     * @param prefix The key prefix
+     * @param afterKey The key of the last configuration already returned, or null to start at the beginning
+     * @param limit Maximum number of configurations to return
+     * @param visible Filter deciding which keys the caller may see
+     * @return Visible configurations in the subtree following the cursor
+     */
+    public List<Configuration> findByPrefix(String prefix, String afterKey, int limit, Predicate<String> visible) {
+        NavigableMap<String, Configuration> tail = afterKey != null && afterKey.compareTo(prefix) >= 0
+            ? byKeySorted.tailMap(afterKey, false)
+            : byKeySorted.tailMap(prefix, true);
+        List<Configuration> page = new ArrayList<>();
+        for (Map.Entry<String, Configuration> entry : tail.entrySet()) {
+            if (page.size() == limit || !entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            if (visible.test(entry.getKey())) {
+                page.add(entry.getValue());
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Returns the highest revision reflected in this snapshot.
+     * Two snapshots with the same revision hold the same configurations.
+     *
+     * @return The snapshot revision
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Returns the number of configurations in this snapshot.
+     *
+     * @return The snapshot size
+     */
+    public int size() {
+        return all.size();
+    }
+}
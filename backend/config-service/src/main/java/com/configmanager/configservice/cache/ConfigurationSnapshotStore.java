@@ -0,0 +1,163 @@
+package com.configmanager.configservice.cache;
+
+import com.configmanager.configservice.datasource.ReadRouting;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current {@link ConfigurationSnapshot} and swaps it atomically on every committed write.
+ * Reads are a single volatile load followed by a map lookup. Changes made inside a transaction are
+ * collected and published as one new snapshot after the transaction commits; rolled back
+ * transactions never reach readers. Deletions are remembered only while a change older than them is
+ * still pending, as reported by the {@link PendingRevisionTracker}.
+ */
+@Slf4j
+@Component
+public class ConfigurationSnapshotStore {
+
+    private final ConfigurationRepository configurationRepository;
+
+    private final boolean enabled;
+
+    /**
+     * Serializes snapshot writers; readers never take this lock.
+     */
+    private final Object writeLock = new Object();
+
+    private final PendingRevisionTracker pendingRevisions;
+
+    private volatile ConfigurationSnapshot snapshot;
+
+    /**
+     * Creates the store.
+     *
+     * @param configurationRepository Repository used for the initial load
+     * @param pendingRevisions Tracker of changes not applied yet, used to forget deletions
+     * @param enabled Whether reads should be served from the snapshot
+     */
+    public ConfigurationSnapshotStore(
+            ConfigurationRepository configurationRepository,
+            PendingRevisionTracker pendingRevisions,
+            @Value("${config.snapshot.enabled:true}") boolean enabled) {
+        this.configurationRepository = configurationRepository;
+        this.pendingRevisions = pendingRevisions;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the current snapshot.
+     *
+     * @return Optional containing the snapshot, or empty if the store is disabled or not loaded yet
+     */
+    public Optional<ConfigurationSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Tells whether reads should be served from the snapshot.
+     * The initial load is started by the warm-up at application startup.
+     *
+     * @return true if the store is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Replaces the snapshot with the full contents of the configurations table.
+     *
+     * @return Number of configurations in the new snapshot
+     */
+    public int load() {
+        return load(configurationRepository::findAll);
+    }
+
+    /**
+     * Replaces the snapshot with the configurations returned by the given loader.
+     * The loader runs after the current revision has been read and while writers wait for the new
+     * snapshot, so it may split the work across threads as long as it returns every configuration
+     * and reads from the primary on each of them.
+     *
+     * @param loader Supplier of all configurations
+     * @return Number of configurations in the new snapshot
+     */
+    public int load(Supplier<? extends Collection<Configuration>> loader) {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            // Load from the primary: changes a replica has not applied yet would never reach the snapshot
+            snapshot = ReadRouting.fromPrimary(() -> {
+                // Read the revision first so the snapshot never claims a revision newer than its rows
+                long revision = configurationRepository.findMaxRevision();
+                return ConfigurationSnapshot.of(loader.get(), revision);
+            });
+            log.info("Loaded configuration snapshot with {} entries in {} ms",
+                    snapshot.size(), (System.nanoTime() - start) / 1_000_000);
+            return snapshot.size();
+        }
+    }
+
+    /**
+     * Records a configuration change.
+     * Inside a transaction the change is held back and published with the rest of the
+     * transaction's changes after commit; outside a transaction it is applied immediately.
+     *
+     * @param event The configuration change
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(event));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(event);
+    }
+
+    private void apply(List<ConfigurationChangedEvent> changes) {
+        synchronized (writeLock) {
+            // Not loaded yet: the initial load will read the committed rows itself
+            if (snapshot != null) {
+                snapshot = snapshot.withChanges(changes, pendingRevisions.oldestPendingRevision());
+            }
+        }
+    }
+
+    /**
+     * Changes collected during one transaction, published as a single snapshot on commit.
+     */
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<ConfigurationChangedEvent> changes = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            apply(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ConfigurationSnapshotStore.this);
+        }
+    }
+}
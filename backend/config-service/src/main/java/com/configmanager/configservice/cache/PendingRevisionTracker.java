@@ -0,0 +1,104 @@
+package com.configmanager.configservice.cache;
+
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationOverlayChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the lowest revision of the changes that are known but may not have been applied to local state yet.
+ * Writers hold the revision counter lock until they commit, so a change can only reach local state after a
+ * newer write of the same configuration or overlay while it is tracked here: either its transaction has
+ * published it and not completed, or a poll has read it and not yet published it. Tombstones older than
+ * {@link #oldestPendingRevision()} can therefore no longer be needed to ignore late changes.
+ */
+@Component
+public class PendingRevisionTracker {
+
+    /**
+     * Lowest pending revision of each holder: a transaction or a poll in progress.
+     */
+    private final Map<Object, Long> pendingRevisions = new ConcurrentHashMap<>();
+
+    /**
+     * Tracks a configuration change published inside a transaction until the transaction completes.
+     *
+     * @param event The configuration change
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        track(event.getConfiguration().getRevision());
+    }
+
+    /**
+     * Tracks an overlay change published inside a transaction until the transaction completes.
+     *
+     * @param event The overlay change
+     */
+    @EventListener
+    public void onOverlayChanged(ConfigurationOverlayChangedEvent event) {
+        track(event.getOverlay().getRevision());
+    }
+
+    /**
+     * Marks changes from the given revision on as pending until {@link #release(Object)} is called.
+     * Callers that read changes and publish them later register before reading.
+     *
+     * @param holder Object identifying the pending changes
+     * @param revision Lowest revision of the pending changes
+     */
+    public void hold(Object holder, long revision) {
+        pendingRevisions.merge(holder, revision, Math::min);
+    }
+
+    /**
+     * Ends a hold registered with {@link #hold(Object, long)}.
+     *
+     * @param holder Object identifying the pending changes
+     */
+    public void release(Object holder) {
+        pendingRevisions.remove(holder);
+    }
+
+    /**
+     * Returns the lowest revision of a change that may still be applied.
+     *
+     * @return The lowest pending revision, or Long.MAX_VALUE if nothing is pending
+     */
+    public long oldestPendingRevision() {
+        return pendingRevisions.values().stream()
+                .mapToLong(Long::longValue)
+                .min()
+                .orElse(Long.MAX_VALUE);
+    }
+
+    private void track(Long revision) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionHold hold = (TransactionHold) TransactionSynchronizationManager.getResource(this);
+        if (hold == null) {
+            hold = new TransactionHold();
+            TransactionSynchronizationManager.bindResource(this, hold);
+            TransactionSynchronizationManager.registerSynchronization(hold);
+        }
+        hold(hold, revision != null ? revision : 0L);
+    }
+
+    /**
+     * Hold of one transaction, released once every after-commit listener of the transaction has run.
+     */
+    private class TransactionHold implements TransactionSynchronization {
+
+        @Override
+        public void afterCompletion(int status) {
+            release(this);
+            TransactionSynchronizationManager.unbindResourceIfPossible(PendingRevisionTracker.this);
+        }
+    }
+}
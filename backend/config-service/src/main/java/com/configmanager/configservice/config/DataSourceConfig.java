@@ -0,0 +1,88 @@
+package com.configmanager.configservice.config;
+
+import com.configmanager.configservice.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data source configuration for the application.
+ * Writes go to the primary configured with {@code spring.datasource.*}; read-only transactions go to
+ * the replicas listed in {@code config.datasource.replica-urls}, or to the primary when none are listed.
+ * All pools share the {@code spring.datasource.hikari.*} settings.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Creates the data source routing each connection to the primary or a replica.
+     *
+     * @param properties The primary's connection settings
+     * @param environment Environment the pool settings are bound from
+     * @param replicaUrls JDBC URLs of the replicas, empty to send all traffic to the primary
+     * @param replicaUsername Username for the replicas, or empty to use the primary's
+     * @param replicaPassword Password for the replicas, or empty to use the primary's
+     * @param readYourWritesWindow How long a caller's reads stay on the primary after it commits a write
+     * @return The routing data source
+     */
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${config.datasource.replica-urls:}") List<String> replicaUrls,
+            @Value("${config.datasource.replica-username:}") String replicaUsername,
+            @Value("${config.datasource.replica-password:}") String replicaPassword,
+            @Value("${config.datasource.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        HikariDataSource primary = pool(environment, "primary",
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword(),
+                properties.determineDriverClassName());
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                replicas.add(pool(environment, "replica-" + replicas.size(), url.trim(),
+                        replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername,
+                        replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword,
+                        properties.determineDriverClassName()));
+            }
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow);
+    }
+
+    /**
+     * Exposes the routing data source to JPA and JDBC behind a proxy that only takes a connection
+     * when the first statement runs. The routing decision then sees the transaction's read-only flag,
+     * and transactions answered without a query, such as snapshot reads, never borrow a connection.
+     *
+     * @param routingDataSource The routing data source
+     * @return The data source used by the application
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource pool(Environment environment, String name, String url, String username,
+                                         String password, String driverClassName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("config-" + name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        return dataSource;
+    }
+}
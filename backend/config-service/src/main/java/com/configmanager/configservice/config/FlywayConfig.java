@@ -0,0 +1,44 @@
+package com.configmanager.configservice.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Migration configuration for the application.
+ * The account tables are mapped through the shared user module, which ships their migrations. They are
+ * applied before the configuration migrations under the history table the user service migrates them
+ * with; Flyway locks that table, so whichever service starts first applies them and the other finds them done.
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Location of the account migrations in the user module.
+     */
+    static final String USER_MIGRATIONS = "classpath:db/users";
+
+    /**
+     * History table of the account migrations, shared with the user service.
+     */
+    static final String USER_HISTORY_TABLE = "flyway_schema_history_users";
+
+    /**
+     * Migrates the account tables, then the configuration tables.
+     *
+     * @return The migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .locations(USER_MIGRATIONS)
+                    .table(USER_HISTORY_TABLE)
+                    .load()
+                    .migrate();
+            flyway.migrate();
+        };
+    }
+}
@@ -1,20 +1,57 @@
 package com.configmanager.configservice.controller;
 
+import com.configmanager.configservice.dto.BatchGetRequest;
+import com.configmanager.configservice.dto.BatchGetResponse;
+import com.configmanager.configservice.dto.BulkUpsertRequest;
+import com.configmanager.configservice.dto.BulkUpsertResponse;
+import com.configmanager.configservice.dto.ChangeSet;
+import com.configmanager.configservice.dto.ConfigurationHistoryPage;
+import com.configmanager.configservice.dto.ConfigurationKeyPage;
+import com.configmanager.configservice.dto.ConfigurationPage;
+import com.configmanager.configservice.dto.OverlayContext;
+import com.configmanager.configservice.dto.OverlayRequest;
+import com.configmanager.configservice.dto.ResolvedConfiguration;
+import com.configmanager.configservice.exception.KeyAccessDeniedException;
 import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.model.ConfigurationOverlay;
+import com.configmanager.configservice.model.ConfigurationOverlay.Scope;
+import com.configmanager.configservice.security.KeyAccess;
+import com.configmanager.configservice.security.KeyPermissionService;
+import com.configmanager.configservice.service.ConfigurationBulkService;
+import com.configmanager.configservice.service.ConfigurationExportService;
+import com.configmanager.configservice.service.ConfigurationHistoryService;
+import com.configmanager.configservice.service.ConfigurationOverlayService;
 import com.configmanager.configservice.service.ConfigurationService;
+import com.configmanager.configservice.service.ConfigurationStreamService;
+import com.configmanager.configservice.service.ConfigurationWatchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 /**
  * REST controller for managing configurations.
  * Provides CRUD operations for configuration management.
- * All endpoints are under /api/configs base path.
+ * All endpoints are under /api/configs base path. Every endpoint checks the caller's key
+ * permissions: single-key reads and writes of a key without a grant are rejected with 403, and
+ * listings, exports and change feeds leave such keys out.
  */
 @RestController
 @RequestMapping("/api/configs")
@@ -28,38 +65,418 @@ public class ConfigurationController {
     private final ConfigurationService configurationService;
 
     /**
-     * Retrieves all configurations from the system.
+     * Service streaming the full configuration set.
+     */
+    private final ConfigurationExportService configurationExportService;
+
+    /**
+     * Service for batched writes of many configurations.
+     */
+    private final ConfigurationBulkService configurationBulkService;
+
+    /**
+     * Service parking long-poll watch requests.
+     */
+    private final ConfigurationWatchService configurationWatchService;
+
+    /**
+     * Service pushing committed changes to stream subscribers.
+     */
+    private final ConfigurationStreamService configurationStreamService;
+
+    /**
+     * Service reading earlier versions of configurations.
+     */
+    private final ConfigurationHistoryService configurationHistoryService;
+
+    /**
+     * Service managing overlays and resolving configurations for a context.
+     */
+    private final ConfigurationOverlayService configurationOverlayService;
+
+    /**
+     * Service resolving the key permissions of the caller.
+     */
+    private final KeyPermissionService keyPermissionService;
+
+    /**
+     * Upper bound for the page size accepted by the listing endpoint.
+     */
+    @Value("${config.pagination.max-limit:1000}")
+    private int maxPageLimit;
+
+    /**
+     * Upper bound for how long a watch request is parked.
+     */
+    @Value("${config.watch.max-timeout:60s}")
+    private Duration maxWatchTimeout;
+
+    /**
+     * Retrieves one page of configurations ordered by ID.
+     * Pass the returned nextCursor as afterId to fetch the following page.
+     * While the snapshot is loaded the page carries an ETag built from the snapshot revision, and a
+     * matching If-None-Match is answered with 304 before the page is read or serialized.
+     * Keys the caller may not read are skipped while the page is collected.
      *
-     * @return List of all configurations
+     * @param afterId ID of the last configuration of the previous page, omitted for the first page
+     * @param limit Maximum number of configurations to return, capped at the configured maximum
+     * @param request The current request, used for the conditional check
+     * @param authentication The current authenticated user
+     * @return The requested page of configurations, or null once a 304 has been sent
      */
     @GetMapping
-    @Operation(summary = "Get all configurations")
-    public ResponseEntity<List<Configuration>> getAllConfigurations() {
-        return ResponseEntity.ok(configurationService.getAllConfigurations());
+    @Operation(summary = "Get configurations page by page")
+    public ResponseEntity<ConfigurationPage> getAllConfigurations(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            WebRequest request,
+            Authentication authentication) {
+        int pageLimit = Math.max(1, Math.min(limit, maxPageLimit));
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        Optional<Long> revision = configurationService.getListingRevision();
+        if (revision.isEmpty()) {
+            return ResponseEntity.ok(configurationService.getConfigurationPage(afterId, pageLimit, access::canRead));
+        }
+        String etag = "\"" + listingVersion(revision.get(), access) + "-" + (afterId != null ? afterId : 0)
+            + "-" + pageLimit + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(configurationService.getConfigurationPage(afterId, pageLimit, access::canRead));
+    }
+
+    /**
+     * Retrieves one page of the configurations as they were at a past revision, ordered by key.
+     * Pass the returned nextKey as afterKey to fetch the following page. Each key is read with one
+     * index seek on the history, so the cost does not grow with the number of earlier versions.
+     * Keys the caller may not read are left out.
+     *
+     * @param asOfRevision The revision to read at
+     * @param afterKey Key of the last configuration of the previous page, omitted for the first page
+     * @param limit Maximum number of configurations to return, capped at the configured maximum
+     * @param authentication The current authenticated user
+     * @return The requested page of configuration summaries
+     */
+    @GetMapping(params = "asOfRevision")
+    @Operation(summary = "Get configurations as of a revision page by page")
+    public ResponseEntity<ConfigurationKeyPage> getConfigurationsAsOf(
+            @RequestParam long asOfRevision,
+            @RequestParam(required = false) String afterKey,
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
+        int pageLimit = Math.max(1, Math.min(limit, maxPageLimit));
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        return ResponseEntity.ok(
+            configurationHistoryService.getConfigurationsAsOf(asOfRevision, afterKey, pageLimit, access::canRead));
+    }
+
+    /**
+     * Retrieves one page of the configurations under a key namespace, ordered by key.
+     * Pass the returned nextKey as afterKey to fetch the following page. Like the full listing,
+     * the page carries an ETag built from the snapshot revision and the page parameters while the
+     * snapshot is loaded.
+     *
+     * @param prefix Key prefix selecting the namespace, for example "payments."
+     * @param afterKey Key of the last configuration of the previous page, omitted for the first page
+     * @param limit Maximum number of configurations to return, capped at the configured maximum
+     * @param request The current request, used for the conditional check
+     * @param authentication The current authenticated user
+     * @return The requested page of configurations, or null once a 304 has been sent
+     */
+    @GetMapping("/prefix/{prefix}")
+    @Operation(summary = "Get configurations under a key prefix page by page")
+    public ResponseEntity<ConfigurationKeyPage> getConfigurationsByPrefix(
+            @PathVariable String prefix,
+            @RequestParam(required = false) String afterKey,
+            @RequestParam(defaultValue = "100") int limit,
+            WebRequest request,
+            Authentication authentication) {
+        int pageLimit = Math.max(1, Math.min(limit, maxPageLimit));
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        Optional<Long> revision = configurationService.getListingRevision();
+        if (revision.isEmpty()) {
+            return ResponseEntity.ok(
+                configurationService.getConfigurationsByPrefix(prefix, afterKey, pageLimit, access::canRead));
+        }
+        String etag = "\"" + listingVersion(revision.get(), access) + "-" + etagPart(prefix) + "-"
+            + etagPart(afterKey != null ? afterKey : "") + "-" + pageLimit + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(configurationService.getConfigurationsByPrefix(prefix, afterKey, pageLimit, access::canRead));
+    }
+
+    /**
+     * Streams all configurations as a single JSON array.
+     * Rows are written as they are read from the database, so memory use stays flat
+     * regardless of the number of configurations.
+     *
+     * @param authentication The current authenticated user
+     * @return Streaming response body with all configurations the caller may read
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export all configurations as a streamed JSON array")
+    public ResponseEntity<StreamingResponseBody> exportConfigurations(Authentication authentication) {
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(outputStream -> configurationExportService.exportTo(outputStream, access::canRead));
+    }
+
+    /**
+     * Retrieves configurations changed after the given revision, including deletions.
+     * Pollers keep the returned revision and pass it back on their next call.
+     *
+     * @param sinceRevision Last revision already seen by the caller, 0 for everything
+     * @param limit Maximum number of changes to return, capped at the configured maximum
+     * @param authentication The current authenticated user
+     * @return The changes to keys the caller may read and the revision to resume from
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Get configurations changed since a revision")
+    public ResponseEntity<ChangeSet> getChanges(
+            @RequestParam(defaultValue = "0") long sinceRevision,
+            @RequestParam(defaultValue = "1000") int limit,
+            Authentication authentication) {
+        int pageLimit = Math.max(1, Math.min(limit, maxPageLimit));
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        return ResponseEntity.ok(configurationService.getChangesSince(sinceRevision, pageLimit).filter(access::canRead));
+    }
+
+    /**
+     * Waits until a configuration newer than the given revision is committed for a key or prefix.
+     * The request is held without a servlet thread and answered as soon as a matching change
+     * commits, or with an empty change set and the revision to resume from once the timeout elapses.
+     *
+     * @param key Key to watch; takes precedence over prefix
+     * @param prefix Key prefix to watch when no key is given; omitted watches every key
+     * @param sinceRevision Last revision already seen by the caller
+     * @param timeout Seconds to wait before answering with no changes, capped at the configured maximum
+     * @param authentication The current authenticated user
+     * @return The pending change set
+     */
+    @GetMapping("/watch")
+    @Operation(summary = "Wait for changes to a key or prefix after a revision")
+    public DeferredResult<ChangeSet> watch(
+            @RequestParam(required = false) String key,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "0") long sinceRevision,
+            @RequestParam(defaultValue = "30") long timeout,
+            Authentication authentication) {
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        if (key != null) {
+            checkRead(access, key);
+        }
+        Duration watchTimeout = Duration.ofSeconds(Math.max(1, Math.min(timeout, maxWatchTimeout.toSeconds())));
+        return configurationWatchService.watch(key, prefix, sinceRevision, watchTimeout, access::canRead);
+    }
+
+    /**
+     * Streams committed configuration changes as Server-Sent Events.
+     * Each event carries the configuration as data, its revision as ID and created, updated or
+     * deleted as event name. A reconnecting client passes the last event ID to receive the changes
+     * it missed; a reset event means it missed too many and should reload the full list.
+     *
+     * @param lastEventId Last event ID received, sent by reconnecting clients
+     * @param sinceRevision Revision to replay from when no Last-Event-ID header is sent
+     * @param authentication The current authenticated user
+     * @return The event stream of changes to keys the caller may read
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream configuration changes as Server-Sent Events")
+    public ResponseEntity<ResponseBodyEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long sinceRevision,
+            Authentication authentication) {
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        return ResponseEntity.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .header("Cache-Control", "no-cache")
+            .header("X-Accel-Buffering", "no")
+            .body(configurationStreamService.subscribe(
+                lastEventId != null ? lastEventId : sinceRevision, access::canRead));
     }
 
     /**
      * Retrieves a specific configuration by its ID.
      *
      * @param id The configuration ID
+     * @param authentication The current authenticated user
      * @return The requested configuration
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get configuration by ID")
-    public ResponseEntity<Configuration> getConfigurationById(@PathVariable Long id) {
-        return ResponseEntity.ok(configurationService.getConfigurationById(id));
+    public ResponseEntity<Configuration> getConfigurationById(@PathVariable Long id, Authentication authentication) {
+        Configuration configuration = configurationService.getConfigurationById(id);
+        checkRead(keyPermissionService.forAuthentication(authentication), configuration.getKey());
+        return withEtag(configuration);
     }
 
     /**
      * Retrieves a specific configuration by its key.
      *
      * @param key The configuration key
+     * @param authentication The current authenticated user
      * @return The requested configuration
      */
     @GetMapping("/key/{key}")
     @Operation(summary = "Get configuration by key")
-    public ResponseEntity<Configuration> getConfigurationByKey(@PathVariable String key) {
-        return ResponseEntity.ok(configurationService.getConfigurationByKey(key));
+    public ResponseEntity<Configuration> getConfigurationByKey(@PathVariable String key, Authentication authentication) {
+        checkRead(keyPermissionService.forAuthentication(authentication), key);
+        return withEtag(configurationService.getConfigurationByKey(key));
+    }
+
+    /**
+     * Retrieves the versions of a key with their values, newest first.
+     * Pass the returned nextBeforeRevision as beforeRevision to fetch older versions.
+     *
+     * @param key The configuration key
+     * @param beforeRevision Only versions before this revision are returned, omitted for the newest
+     * @param limit Maximum number of versions to return, capped at the configured maximum
+     * @param authentication The current authenticated user
+     * @return The requested page of versions
+     */
+    @GetMapping("/key/{key}/history")
+    @Operation(summary = "Get the version history of a configuration")
+    public ResponseEntity<ConfigurationHistoryPage> getConfigurationHistory(
+            @PathVariable String key,
+            @RequestParam(required = false) Long beforeRevision,
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
+        checkRead(keyPermissionService.forAuthentication(authentication), key);
+        int pageLimit = Math.max(1, Math.min(limit, maxPageLimit));
+        return ResponseEntity.ok(configurationHistoryService.getKeyHistory(key, beforeRevision, pageLimit));
+    }
+
+    /**
+     * Retrieves the overlays of a key.
+     *
+     * @param key The configuration key
+     * @param authentication The current authenticated user
+     * @return The overlays ordered by layer, then by name
+     */
+    @GetMapping("/key/{key}/overlays")
+    @Operation(summary = "Get the environment, region and instance overlays of a configuration")
+    public ResponseEntity<List<ConfigurationOverlay>> getOverlays(@PathVariable String key, Authentication authentication) {
+        checkRead(keyPermissionService.forAuthentication(authentication), key);
+        return ResponseEntity.ok(configurationOverlayService.getOverlays(key));
+    }
+
+    /**
+     * Creates or replaces the value of a key within one environment, region or instance.
+     *
+     * @param key The configuration key
+     * @param scope The layer: environment, region or instance
+     * @param scopeValue The environment, region or instance name
+     * @param request The value to use within the scope
+     * @param authentication The current authenticated user
+     * @return The written overlay
+     */
+    @PutMapping("/key/{key}/overlays/{scope}/{scopeValue}")
+    @Operation(summary = "Set the value of a configuration for an environment, region or instance")
+    public ResponseEntity<ConfigurationOverlay> setOverlay(
+            @PathVariable String key,
+            @PathVariable String scope,
+            @PathVariable String scopeValue,
+            @Valid @RequestBody OverlayRequest request,
+            Authentication authentication) {
+        checkWrite(keyPermissionService.forAuthentication(authentication), key);
+        return ResponseEntity.ok(configurationOverlayService.setOverlay(
+            key, parseScope(scope), scopeValue, request.getValue(), authentication.getName()));
+    }
+
+    /**
+     * Removes the value of a key within one environment, region or instance.
+     *
+     * @param key The configuration key
+     * @param scope The layer: environment, region or instance
+     * @param scopeValue The environment, region or instance name
+     * @param authentication The current authenticated user
+     * @return No content response
+     */
+    @DeleteMapping("/key/{key}/overlays/{scope}/{scopeValue}")
+    @Operation(summary = "Remove the value of a configuration for an environment, region or instance")
+    public ResponseEntity<Void> deleteOverlay(
+            @PathVariable String key,
+            @PathVariable String scope,
+            @PathVariable String scopeValue,
+            Authentication authentication) {
+        checkWrite(keyPermissionService.forAuthentication(authentication), key);
+        configurationOverlayService.deleteOverlay(key, parseScope(scope), scopeValue);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves the effective value of a key for a context.
+     * The most specific overlay matching the context wins: instance, then region, then environment,
+     * then the default value.
+     *
+     * @param key The configuration key
+     * @param environment Environment of the caller, if any
+     * @param region Region of the caller, if any
+     * @param instance Instance name of the caller, if any
+     * @param authentication The current authenticated user
+     * @return The resolved configuration
+     */
+    @GetMapping("/key/{key}/resolved")
+    @Operation(summary = "Get the effective value of a configuration for a context")
+    public ResponseEntity<ResolvedConfiguration> getResolvedConfiguration(
+            @PathVariable String key,
+            @RequestParam(required = false) String environment,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String instance,
+            Authentication authentication) {
+        checkRead(keyPermissionService.forAuthentication(authentication), key);
+        return ResponseEntity.ok(
+            configurationOverlayService.resolve(key, new OverlayContext(environment, region, instance)));
+    }
+
+    /**
+     * Retrieves the effective values of all configurations for a context, ordered by key.
+     * Keys the caller may not read are left out.
+     *
+     * @param environment Environment of the caller, if any
+     * @param region Region of the caller, if any
+     * @param instance Instance name of the caller, if any
+     * @param prefix Only keys starting with this prefix are returned
+     * @param authentication The current authenticated user
+     * @return The resolved configurations
+     */
+    @GetMapping("/resolved")
+    @Operation(summary = "Get the effective values of all configurations for a context")
+    public ResponseEntity<List<ResolvedConfiguration>> getResolvedConfigurations(
+            @RequestParam(required = false) String environment,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String instance,
+            @RequestParam(defaultValue = "") String prefix,
+            Authentication authentication) {
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        return ResponseEntity.ok(configurationOverlayService.resolveAll(
+            new OverlayContext(environment, region, instance), prefix, access::canRead));
+    }
+
+    /**
+     * Retrieves several configurations by key in one round trip.
+     * Keys that do not exist are listed as missing rather than producing a 404, and keys the
+     * caller may not read are listed as denied rather than producing a 403.
+     *
+     * @param request The keys to fetch
+     * @param authentication The current authenticated user
+     * @return Found configurations, missing keys and denied keys
+     */
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get multiple configurations by key")
+    public ResponseEntity<BatchGetResponse> getConfigurationsByKeys(
+            @Valid @RequestBody BatchGetRequest request,
+            Authentication authentication) {
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        return ResponseEntity.ok(configurationService.getConfigurationsByKeys(request.getKeys(), access::canRead));
     }
 
     /**
@@ -74,11 +491,32 @@ public class ConfigurationController {
     public ResponseEntity<Configuration> createConfiguration(
             @Valid @RequestBody Configuration configuration,
             Authentication authentication) {
+        checkWrite(keyPermissionService.forAuthentication(authentication), configuration.getKey());
         return ResponseEntity.ok(
             configurationService.createConfiguration(configuration, authentication.getName())
         );
     }
 
+    /**
+     * Creates or updates many configurations in one request, matched by key.
+     * Entries are written in chunked transactions using JDBC batches; entries whose key the caller
+     * may not write fail individually.
+     *
+     * @param request The configurations to write
+     * @param authentication The current authenticated user
+     * @return Per-entry results with created, updated and failed counts
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Create or update multiple configurations")
+    public ResponseEntity<BulkUpsertResponse> upsertConfigurations(
+            @Valid @RequestBody BulkUpsertRequest request,
+            Authentication authentication) {
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        return ResponseEntity.ok(
+            configurationBulkService.upsert(request.getEntries(), authentication.getName(), access::canWrite)
+        );
+    }
+
     /**
      * Updates an existing configuration.
      *
@@ -93,6 +531,10 @@ public class ConfigurationController {
             @PathVariable Long id,
             @Valid @RequestBody Configuration configuration,
             Authentication authentication) {
+        // A rename needs write access to both the current and the new key
+        KeyAccess access = keyPermissionService.forAuthentication(authentication);
+        checkWrite(access, configurationService.getConfigurationById(id).getKey());
+        checkWrite(access, configuration.getKey());
         return ResponseEntity.ok(
             configurationService.updateConfiguration(id, configuration, authentication.getName())
         );
@@ -102,12 +544,62 @@ public class ConfigurationController {
      * Deletes a configuration by its ID.
      *
      * @param id The configuration ID to delete
+     * @param authentication The current authenticated user
      * @return No content response
      */
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete configuration")
-    public ResponseEntity<Void> deleteConfiguration(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteConfiguration(@PathVariable Long id, Authentication authentication) {
+        checkWrite(keyPermissionService.forAuthentication(authentication),
+            configurationService.getConfigurationById(id).getKey());
         configurationService.deleteConfiguration(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Wraps a configuration in a response whose ETag is its revision.
+     * Every write assigns a new revision, so the tag changes exactly when the content does.
+     * Spring answers a matching If-None-Match with 304 without serializing the body.
+     */
+    private ResponseEntity<Configuration> withEtag(Configuration configuration) {
+        return ResponseEntity.ok()
+            .eTag("\"" + configuration.getRevision() + "\"")
+            .cacheControl(CacheControl.noCache())
+            .body(configuration);
+    }
+
+    /**
+     * Returns the part of a listing ETag that identifies the data behind it.
+     * A filtered listing also changes when grants change, so it includes the grants generation.
+     */
+    private String listingVersion(long revision, KeyAccess access) {
+        return access.isUnrestricted() ? String.valueOf(revision) : revision + "g" + keyPermissionService.getGeneration();
+    }
+
+    /**
+     * Encodes a request parameter for use inside an ETag, which may not contain quotes.
+     */
+    private static String etagPart(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Scope parseScope(String scope) {
+        try {
+            return Scope.valueOf(scope.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown scope " + scope + ", expected environment, region or instance");
+        }
+    }
+
+    private static void checkRead(KeyAccess access, String key) {
+        if (!access.canRead(key)) {
+            throw new KeyAccessDeniedException("Read access denied for key: " + key);
+        }
+    }
+
+    private static void checkWrite(KeyAccess access, String key) {
+        if (!access.canWrite(key)) {
+            throw new KeyAccessDeniedException("Write access denied for key: " + key);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.configmanager.configservice.controller;
+
+import com.configmanager.configservice.model.KeyGrant;
+import com.configmanager.configservice.security.KeyPermissionService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for managing key prefix grants.
+ * Restricted to administrators; grants take effect on this instance immediately and on
+ * other instances at their next grant refresh.
+ */
+@RestController
+@RequestMapping("/api/grants")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class KeyGrantController {
+
+    /**
+     * Service holding the grants.
+     */
+    private final KeyPermissionService keyPermissionService;
+
+    /**
+     * Lists all grants.
+     *
+     * @return The grants ordered by ID
+     */
+    @GetMapping
+    @Operation(summary = "List key prefix grants")
+    public ResponseEntity<List<KeyGrant>> getGrants() {
+        return ResponseEntity.ok(keyPermissionService.getGrants());
+    }
+
+    /**
+     * Grants a role or user access to a key prefix.
+     * Saving a grant for a principal and prefix that already have one changes its access.
+     *
+     * @param grant The grant to save
+     * @return The saved grant
+     */
+    @PostMapping
+    @Operation(summary = "Grant access to a key prefix")
+    public ResponseEntity<KeyGrant> saveGrant(@Valid @RequestBody KeyGrant grant) {
+        return ResponseEntity.ok(keyPermissionService.saveGrant(grant));
+    }
+
+    /**
+     * Removes a grant.
+     *
+     * @param id The grant ID
+     * @return No content response
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Remove a key prefix grant")
+    public ResponseEntity<Void> deleteGrant(@PathVariable Long id) {
+        keyPermissionService.deleteGrant(id);
+        return ResponseEntity.noContent().build();
+    }
+}
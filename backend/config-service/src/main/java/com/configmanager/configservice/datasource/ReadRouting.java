@@ -0,0 +1,45 @@
+package com.configmanager.configservice.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets code that must observe the latest committed state read from the primary even inside a
+ * read-only transaction. Used where a lagging replica would lose an update outright rather than
+ * just return it late, such as answering a watcher woken by a commit or filling a cache.
+ * Only connections acquired while the supplier runs are affected.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Runs reads against the primary.
+     *
+     * @param reads The reads to run
+     * @param <T> The result type
+     * @return The result of the reads
+     */
+    public static <T> T fromPrimary(Supplier<T> reads) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the current thread is inside {@link #fromPrimary(Supplier)}.
+     *
+     * @return true if reads must go to the primary
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.configmanager.configservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for fetching several configurations by key in one request.
+ */
+@Data
+public class BatchGetRequest {
+    /**
+     * Keys of the configurations to fetch.
+     * Must contain between 1 and 1000 non-blank keys; duplicates are ignored.
+     */
+    @NotEmpty(message = "At least one key is required")
+    @Size(max = 1000, message = "At most 1000 keys can be fetched at once")
+    private List<@NotBlank(message = "Keys must not be blank") String> keys;
+}
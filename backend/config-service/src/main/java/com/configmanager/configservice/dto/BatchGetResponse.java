@@ -0,0 +1,33 @@
+package com.configmanager.configservice.dto;
+
+import com.configmanager.configservice.model.Configuration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the result of a multi-key lookup.
+ * Keys that do not exist are reported in the missing list, and keys the caller may not read in
+ * the denied list, instead of failing the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResponse {
+    /**
+     * Configurations found, in the order their keys were requested.
+     */
+    private List<Configuration> found;
+
+    /**
+     * Requested keys for which no configuration exists.
+     */
+    private List<String> missing;
+
+    /**
+     * Requested keys the caller has no read grant for.
+     */
+    private List<String> denied;
+}
@@ -0,0 +1,23 @@
+package com.configmanager.configservice.dto;
+
+import com.configmanager.configservice.model.Configuration;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for creating or updating many configurations in one request.
+ * Entries are matched to existing configurations by key.
+ */
+@Data
+public class BulkUpsertRequest {
+    /**
+     * Configurations to create or update.
+     * Invalid entries are reported individually instead of rejecting the whole request.
+     */
+    @NotEmpty(message = "At least one entry is required")
+    @Size(max = 10000, message = "At most 10000 entries can be written at once")
+    private List<Configuration> entries;
+}
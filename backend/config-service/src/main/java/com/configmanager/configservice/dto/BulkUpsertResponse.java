@@ -0,0 +1,36 @@
+package com.configmanager.configservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the result of a bulk upsert.
+ * Contains one result per submitted entry, in submission order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpsertResponse {
+    /**
+     * Number of configurations created.
+     */
+    private int created;
+
+    /**
+     * Number of configurations updated.
+     */
+    private int updated;
+
+    /**
+     * Number of entries that could not be written.
+     */
+    private int failed;
+
+    /**
+     * Per-entry results, in the order the entries were submitted.
+     */
+    private List<BulkUpsertResult> results;
+}
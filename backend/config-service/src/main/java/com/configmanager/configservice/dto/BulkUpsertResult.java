@@ -0,0 +1,43 @@
+package com.configmanager.configservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) describing the outcome for one entry of a bulk upsert.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpsertResult {
+
+    /**
+     * Outcome of a single bulk upsert entry.
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+
+    /**
+     * Key of the entry.
+     */
+    private String key;
+
+    /**
+     * ID of the written configuration, null if the entry failed.
+     */
+    private Long id;
+
+    /**
+     * Outcome of the entry.
+     */
+    private Status status;
+
+    /**
+     * Reason for the failure, null on success.
+     */
+    private String message;
+}
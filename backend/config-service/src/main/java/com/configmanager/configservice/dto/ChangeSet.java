@@ -0,0 +1,49 @@
+package com.configmanager.configservice.dto;
+
+import com.configmanager.configservice.model.Configuration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Data Transfer Object (DTO) for the configurations changed since a given revision.
+ * Deleted configurations are included as tombstones with the deleted flag set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSet {
+    /**
+     * Changed configurations in ascending revision order.
+     */
+    private List<Configuration> changes;
+
+    /**
+     * Revision to pass as sinceRevision on the next call.
+     */
+    private long revision;
+
+    /**
+     * Whether more changes are available beyond this response.
+     */
+    private boolean hasMore;
+
+    /**
+     * Returns the change set holding only the changes to keys the caller may see.
+     * The revision and hasMore flag are kept, so the caller resumes after the hidden changes too.
+     *
+     * @param visible Filter deciding which keys the caller may see
+     * @return This change set if every change is visible, otherwise a filtered copy
+     */
+    public ChangeSet filter(Predicate<String> visible) {
+        if (changes.stream().allMatch(configuration -> visible.test(configuration.getKey()))) {
+            return this;
+        }
+        return new ChangeSet(
+            changes.stream().filter(configuration -> visible.test(configuration.getKey())).toList(),
+            revision, hasMore);
+    }
+}
@@ -0,0 +1,27 @@
+package com.configmanager.configservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for one page of the history of a configuration key.
+ * Versions are ordered newest first; older ones are requested with the returned cursor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationHistoryPage {
+    /**
+     * Versions on this page, in descending revision order.
+     */
+    private List<ConfigurationVersion> items;
+
+    /**
+     * Cursor to pass as beforeRevision to fetch older versions.
+     * Null when this page reaches the first version.
+     */
+    private Long nextBeforeRevision;
+}
@@ -0,0 +1,27 @@
+package com.configmanager.configservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for one page of configurations ordered by key.
+ * The next page is requested with the returned key cursor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationKeyPage {
+    /**
+     * Summaries of the configurations on this page, in ascending key order.
+     */
+    private List<ConfigurationSummary> items;
+
+    /**
+     * Cursor to pass as afterKey to fetch the next page.
+     * Null when this is the last page.
+     */
+    private String nextKey;
+}
@@ -0,0 +1,27 @@
+package com.configmanager.configservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for one page of a keyset-paginated configuration listing.
+ * Pages are ordered by configuration ID; the next page is requested with the returned cursor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationPage {
+    /**
+     * Summaries of the configurations on this page, in ascending ID order.
+     */
+    private List<ConfigurationSummary> items;
+
+    /**
+     * Cursor to pass as afterId to fetch the next page.
+     * Null when this is the last page.
+     */
+    private Long nextCursor;
+}
@@ -0,0 +1,81 @@
+package com.configmanager.configservice.dto;
+
+import com.configmanager.configservice.model.Configuration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) describing a configuration without its value.
+ * Returned by listings so large values are only transferred when fetched by key or ID;
+ * the size and hash tell clients how big a value is and whether it changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationSummary {
+    /**
+     * Unique identifier of the configuration.
+     */
+    private Long id;
+
+    /**
+     * Unique key of the configuration.
+     */
+    private String key;
+
+    /**
+     * Optional description of the configuration's purpose.
+     */
+    private String description;
+
+    /**
+     * Size of the value in bytes when encoded as UTF-8.
+     */
+    private Integer valueSize;
+
+    /**
+     * Hex-encoded SHA-256 digest of the value.
+     */
+    private String valueHash;
+
+    /**
+     * Username of the user who created the configuration.
+     */
+    private String createdBy;
+
+    /**
+     * Username of the user who last modified the configuration.
+     */
+    private String lastModifiedBy;
+
+    /**
+     * Global revision of the last write to the configuration.
+     */
+    private Long revision;
+
+    /**
+     * Timestamp when the configuration was created.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Timestamp when the configuration was last updated.
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * Creates the summary of a loaded configuration.
+     *
+     * @param configuration The configuration
+     * @return Its summary
+     */
+    public static ConfigurationSummary of(Configuration configuration) {
+        return new ConfigurationSummary(configuration.getId(), configuration.getKey(), configuration.getDescription(),
+            configuration.getValueSize(), configuration.getValueHash(), configuration.getCreatedBy(),
+            configuration.getLastModifiedBy(), configuration.getRevision(), configuration.getCreatedAt(),
+            configuration.getUpdatedAt());
+    }
+}
@@ -0,0 +1,65 @@
+package com.configmanager.configservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for one historical version of a configuration key.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationVersion {
+    /**
+     * ID of the configuration that was written.
+     */
+    private Long configurationId;
+
+    /**
+     * The configuration key.
+     */
+    private String key;
+
+    /**
+     * Revision of the write.
+     */
+    private long revision;
+
+    /**
+     * Whether the key was deleted or renamed away by this write.
+     */
+    private boolean deleted;
+
+    /**
+     * Value after the write, or null for deletions.
+     */
+    private String value;
+
+    /**
+     * Size of the value in bytes, or null for deletions.
+     */
+    private Integer valueSize;
+
+    /**
+     * Hex-encoded SHA-256 digest of the value, or null for deletions.
+     */
+    private String valueHash;
+
+    /**
+     * Description after the write.
+     */
+    private String description;
+
+    /**
+     * Username of the user who made the write.
+     */
+    private String modifiedBy;
+
+    /**
+     * Timestamp of the write.
+     */
+    private LocalDateTime modifiedAt;
+}
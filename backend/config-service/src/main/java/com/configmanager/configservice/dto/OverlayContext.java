@@ -0,0 +1,41 @@
+package com.configmanager.configservice.dto;
+
+import com.configmanager.configservice.model.ConfigurationOverlay.Scope;
+
+/**
+ * Context a configuration value is resolved for.
+ * Any part may be null, in which case overlays of that layer do not apply.
+ *
+ * @param environment Environment name, such as "prod"
+ * @param region Region name, such as "eu-west-1"
+ * @param instance Instance name
+ */
+public record OverlayContext(String environment, String region, String instance) {
+
+    /**
+     * Creates a context, treating blank names as absent.
+     */
+    public OverlayContext {
+        environment = blankToNull(environment);
+        region = blankToNull(region);
+        instance = blankToNull(instance);
+    }
+
+    /**
+     * Returns the name this context has in a layer.
+     *
+     * @param scope The layer
+     * @return The name, or null if the context has none in that layer
+     */
+    public String valueFor(Scope scope) {
+        return switch (scope) {
+            case ENVIRONMENT -> environment;
+            case REGION -> region;
+            case INSTANCE -> instance;
+        };
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
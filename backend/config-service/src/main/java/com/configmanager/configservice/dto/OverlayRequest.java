@@ -0,0 +1,20 @@
+package com.configmanager.configservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for setting the value of an overlay.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverlayRequest {
+    /**
+     * Value used instead of the default within the scope.
+     */
+    @NotNull(message = "Value is required")
+    private String value;
+}
@@ -0,0 +1,39 @@
+package com.configmanager.configservice.dto;
+
+import com.configmanager.configservice.model.ConfigurationOverlay.Scope;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for the effective value of a configuration in one context.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolvedConfiguration {
+    /**
+     * The configuration key.
+     */
+    private String key;
+
+    /**
+     * The effective value.
+     */
+    private String value;
+
+    /**
+     * Layer the value comes from, or null if it is the default value.
+     */
+    private Scope scope;
+
+    /**
+     * Name of the environment, region or instance the value comes from, or null for the default value.
+     */
+    private String scopeValue;
+
+    /**
+     * Revision of the write that set the effective value.
+     */
+    private long revision;
+}
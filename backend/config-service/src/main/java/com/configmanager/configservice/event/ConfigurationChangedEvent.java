@@ -0,0 +1,68 @@
+package com.configmanager.configservice.event;
+
+import com.configmanager.configservice.model.Configuration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Event published by the configuration service whenever a configuration is written.
+ * Listeners receive it after the surrounding transaction commits, so they only ever
+ * observe committed data. Writes committed by other instances are published again on this
+ * instance as remote events, outside any transaction, once they are read from the change log.
+ */
+@Getter
+@AllArgsConstructor
+public class ConfigurationChangedEvent {
+
+    /**
+     * Kind of write that produced this event.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Kind of write that produced this event.
+     */
+    private final ChangeType type;
+
+    /**
+     * Detached copy of the configuration as it was committed.
+     * For deletions this is the state of the configuration before it was removed.
+     */
+    private final Configuration configuration;
+
+    /**
+     * Key the configuration had before the write.
+     * Differs from the current key only when an update renamed the configuration.
+     */
+    private final String previousKey;
+
+    /**
+     * Whether the write was committed by another instance.
+     * Listeners that record writes, rather than react to them, ignore remote events.
+     */
+    private final boolean remote;
+
+    /**
+     * Creates an event for a write committed by this instance.
+     *
+     * @param type Kind of write
+     * @param configuration Detached copy of the configuration as it was committed
+     * @param previousKey Key the configuration had before the write
+     */
+    public ConfigurationChangedEvent(ChangeType type, Configuration configuration, String previousKey) {
+        this(type, configuration, previousKey, false);
+    }
+
+    /**
+     * Checks whether the write changed the configuration key.
+     *
+     * @return true if the configuration was renamed, false otherwise
+     */
+    public boolean isRenamed() {
+        return previousKey != null && !previousKey.equals(configuration.getKey());
+    }
+}
@@ -0,0 +1,20 @@
+package com.configmanager.configservice.event;
+
+import com.configmanager.configservice.model.ConfigurationOverlay;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Event published whenever an overlay is written or removed.
+ * Listeners receive it after the surrounding transaction commits. Other instances pick the write up
+ * from the overlays table by revision.
+ */
+@Getter
+@AllArgsConstructor
+public class ConfigurationOverlayChangedEvent {
+
+    /**
+     * Detached copy of the overlay as it was committed; removed overlays are marked as deleted.
+     */
+    private final ConfigurationOverlay overlay;
+}
@@ -0,0 +1,16 @@
+package com.configmanager.configservice.exception;
+
+/**
+ * Exception thrown when the caller has no grant covering the configuration key it reads or writes.
+ */
+public class KeyAccessDeniedException extends RuntimeException {
+
+    /**
+     * Constructs a new key access denied exception with the specified detail message.
+     *
+     * @param message The detail message
+     */
+    public KeyAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.configmanager.configservice.exception;
+
+/**
+ * Exception thrown when a watch or change stream request cannot be accepted because the instance
+ * already holds the maximum number of parked watchers or open streams.
+ */
+public class TooManyWatchersException extends RuntimeException {
+
+    /**
+     * Constructs a new too many watchers exception with the specified detail message.
+     *
+     * @param message The detail message
+     */
+    public TooManyWatchersException(String message) {
+        super(message);
+    }
+}
@@ -1,20 +1,38 @@
 package com.configmanager.configservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.Length;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 /**
  * Entity representing a configuration in the system.
  * Stores key-value pairs with metadata like creation and modification timestamps.
+ * Deleted configurations are kept as tombstones so delta-sync clients learn about the deletion;
+ * entity queries only ever see live rows.
+ * Values may be many kilobytes, so listings read a {@link com.configmanager.configservice.dto.ConfigurationSummary}
+ * with the size and hash of the value instead of the value itself.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "configurations")
+@Table(name = "configurations", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_configurations_key_deleted_revision", columnNames = {"`key`", "deleted_revision"})
+}, indexes = {
+    @Index(name = "idx_configurations_revision", columnList = "revision")
+})
+@SQLRestriction("deleted = false")
 public class Configuration {
     
     /**
@@ -26,19 +44,35 @@ public class Configuration {
 
     /**
      * Unique key for the configuration.
-     * Must not be blank and must be unique across all configurations.
+     * Must not be blank and must be unique across all live configurations; tombstones keep their key.
      */
     @NotBlank(message = "Key is required")
-    @Column(unique = true, name = "`key`", nullable = false)
+    @Column(name = "`key`", nullable = false)
     private String key;
 
     /**
      * Value associated with the configuration key.
-     * Must not be null.
+     * Must not be null. Stored as a binary large object, compressed above a size threshold.
      */
-    @Column(nullable = false)
+    @Convert(converter = ConfigurationValueConverter.class)
+    @Column(nullable = false, length = Length.LONG32)
     private String value;
 
+    /**
+     * Size of the value in bytes when encoded as UTF-8, before compression.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "value_size")
+    private Integer valueSize;
+
+    /**
+     * Hex-encoded SHA-256 digest of the UTF-8 encoded value.
+     * Lets clients detect a changed value without downloading it.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "value_hash", length = 64)
+    private String valueHash;
+
     /**
      * Optional description of the configuration's purpose.
      */
@@ -56,6 +90,29 @@ public class Configuration {
     @Column(name = "last_modified_by")
     private String lastModifiedBy;
 
+    /**
+     * Global revision of the last write to this configuration.
+     * Revisions come from a single counter, so they order all writes across configurations.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(nullable = false)
+    private Long revision = 0L;
+
+    /**
+     * Whether this row is a tombstone left behind by a deletion.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(nullable = false)
+    private boolean deleted;
+
+    /**
+     * Revision of the deletion for a tombstone, 0 for a live configuration.
+     * Part of the key's unique constraint, so a deleted key can be created again while its tombstone stays.
+     */
+    @JsonIgnore
+    @Column(name = "deleted_revision", nullable = false)
+    private long deletedRevision;
+
     /**
      * Timestamp when the configuration was created.
      */
@@ -68,6 +125,49 @@ public class Configuration {
     @Column(name = "updated_at")
     private java.time.LocalDateTime updatedAt;
 
+    /**
+     * Creates a detached copy of this configuration.
+     * Used wherever a configuration is shared outside the persistence context.
+     *
+     * @return A new configuration with the same field values
+     */
+    public Configuration copy() {
+        Configuration copy = new Configuration();
+        copy.setId(id);
+        copy.setKey(key);
+        copy.setValue(value);
+        copy.setValueSize(valueSize);
+        copy.setValueHash(valueHash);
+        copy.setDescription(description);
+        copy.setCreatedBy(createdBy);
+        copy.setLastModifiedBy(lastModifiedBy);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        copy.setRevision(revision);
+        copy.setDeleted(deleted);
+        copy.setDeletedRevision(deletedRevision);
+        return copy;
+    }
+
+    /**
+     * Recomputes the size and hash of the value.
+     * Called before every write, including the JDBC batch writes.
+     */
+    public void describeValue() {
+        if (value == null) {
+            valueSize = null;
+            valueHash = null;
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        valueSize = bytes.length;
+        try {
+            valueHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * Sets creation and update timestamps when persisting.
      */
@@ -75,6 +175,7 @@ public class Configuration {
     protected void onCreate() {
         createdAt = java.time.LocalDateTime.now();
         updatedAt = createdAt;
+        describeValue();
     }
 
     /**
@@ -83,5 +184,6 @@ public class Configuration {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = java.time.LocalDateTime.now();
+        describeValue();
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.configmanager.configservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity counting how often a configuration key has been read, across all instances.
+ * Instances add their local counts periodically; a starting instance warms its cache with the keys
+ * read most often.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "configuration_access_stats", indexes = {
+    @Index(name = "idx_configuration_access_stats_hits", columnList = "hits")
+})
+public class ConfigurationAccessStat {
+
+    /**
+     * The configuration key that was read.
+     */
+    @Id
+    @Column(name = "`key`")
+    private String key;
+
+    /**
+     * Number of reads of the key.
+     */
+    @Column(nullable = false)
+    private long hits;
+
+    /**
+     * End of the last period in which the key was read.
+     */
+    @Column(name = "last_accessed_at", nullable = false)
+    private LocalDateTime lastAccessedAt;
+}
@@ -0,0 +1,75 @@
+package com.configmanager.configservice.model;
+
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity announcing one committed configuration write to the other instances.
+ * Rows are appended in the writing transaction and read by every instance in ID order, so each
+ * instance can bring its local caches up to date with writes handled elsewhere. Rows are short-lived:
+ * they are purged once older than the retention period.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "configuration_change_log", indexes = {
+    @Index(name = "idx_configuration_change_log_created_at", columnList = "created_at")
+})
+public class ConfigurationChangeLog {
+
+    /**
+     * Position of the row in the log.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the instance that committed the write.
+     */
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    /**
+     * ID of the configuration that was written.
+     */
+    @Column(name = "configuration_id", nullable = false)
+    private Long configurationId;
+
+    /**
+     * Key the configuration had after the write.
+     */
+    @Column(name = "`key`", nullable = false)
+    private String key;
+
+    /**
+     * Key the configuration had before the write.
+     */
+    @Column(name = "previous_key")
+    private String previousKey;
+
+    /**
+     * Kind of write.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    /**
+     * Revision of the write.
+     */
+    @Column(nullable = false)
+    private Long revision;
+
+    /**
+     * Time of the write, used for the lag metric and the purge.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,87 @@
+package com.configmanager.configservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording one write to a configuration key.
+ * Rows are only ever appended. The value itself is stored once per distinct content in
+ * {@link ConfigurationValue} and referenced by its hash, so rewriting a large value that did not
+ * change, or reverting to an earlier one, adds no value bytes. The unique index on key and
+ * revision lets the latest version of a key at any revision be found with a single index seek.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "configuration_history", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_configuration_history_key_revision", columnNames = {"`key`", "revision"})
+}, indexes = {
+    @Index(name = "idx_configuration_history_revision", columnList = "revision")
+})
+public class ConfigurationHistory {
+
+    /**
+     * Unique identifier of the history row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the configuration that was written.
+     */
+    @Column(name = "configuration_id", nullable = false)
+    private Long configurationId;
+
+    /**
+     * Key the configuration had after the write.
+     */
+    @Column(name = "`key`", nullable = false)
+    private String key;
+
+    /**
+     * Revision of the write.
+     */
+    @Column(nullable = false)
+    private Long revision;
+
+    /**
+     * Whether the write deleted the key, either by deleting or by renaming the configuration.
+     */
+    @Column(nullable = false)
+    private boolean deleted;
+
+    /**
+     * Size of the value in bytes, or null for deletions.
+     */
+    @Column(name = "value_size")
+    private Integer valueSize;
+
+    /**
+     * Hash of the value, referencing {@link ConfigurationValue}, or null for deletions.
+     */
+    @Column(name = "value_hash", length = 64)
+    private String valueHash;
+
+    /**
+     * Description after the write.
+     */
+    private String description;
+
+    /**
+     * Username of the user who made the write.
+     */
+    @Column(name = "modified_by")
+    private String modifiedBy;
+
+    /**
+     * Timestamp of the write.
+     */
+    @Column(name = "modified_at")
+    private LocalDateTime modifiedAt;
+}
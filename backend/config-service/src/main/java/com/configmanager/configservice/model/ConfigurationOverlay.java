@@ -0,0 +1,104 @@
+package com.configmanager.configservice.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity overriding the value of a configuration within one scope, such as an environment or a region.
+ * The configuration row itself is the default layer. For a given context the effective value is taken
+ * from the most specific matching overlay: instance before region before environment before the default.
+ * Removed overlays are kept as tombstones so every instance learns about the removal by revision.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "configuration_overlays", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_configuration_overlays_key_scope", columnNames = {"`key`", "scope", "scope_value"})
+}, indexes = {
+    @Index(name = "idx_configuration_overlays_revision", columnList = "revision")
+})
+public class ConfigurationOverlay {
+
+    /**
+     * Layer an overlay belongs to, in increasing order of precedence.
+     */
+    public enum Scope {
+        ENVIRONMENT,
+        REGION,
+        INSTANCE
+    }
+
+    /**
+     * Unique identifier for the overlay.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Key of the configuration the overlay applies to.
+     */
+    @Column(name = "`key`", nullable = false)
+    private String key;
+
+    /**
+     * Layer of the overlay.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Scope scope;
+
+    /**
+     * Name of the environment, region or instance the overlay applies to.
+     */
+    @Column(name = "scope_value", nullable = false, length = 64)
+    private String scopeValue;
+
+    /**
+     * Value used instead of the default within the scope.
+     */
+    @Convert(converter = ConfigurationValueConverter.class)
+    @Column(nullable = false, length = Length.LONG32)
+    private String value;
+
+    /**
+     * Username of the user who last wrote the overlay.
+     */
+    @Column(name = "last_modified_by")
+    private String lastModifiedBy;
+
+    /**
+     * Revision of the last write, drawn from the same sequence as configuration writes.
+     */
+    @Column(nullable = false)
+    private long revision;
+
+    /**
+     * Whether this row is a tombstone left behind by a removal.
+     */
+    @JsonIgnore
+    @Column(nullable = false)
+    private boolean deleted;
+
+    /**
+     * Timestamp of the last write.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Creates a detached copy of this overlay.
+     *
+     * @return A new overlay with the same field values
+     */
+    public ConfigurationOverlay copy() {
+        return new ConfigurationOverlay(id, key, scope, scopeValue, value, lastModifiedBy, revision, deleted, updatedAt);
+    }
+}
@@ -0,0 +1,33 @@
+package com.configmanager.configservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+/**
+ * Entity storing each distinct configuration value once, addressed by its SHA-256 hash.
+ * History rows reference values by hash, so identical values share one row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "configuration_values")
+public class ConfigurationValue {
+
+    /**
+     * Hex-encoded SHA-256 digest of the UTF-8 encoded value.
+     */
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    /**
+     * The value, compressed above a size threshold.
+     */
+    @Convert(converter = ConfigurationValueConverter.class)
+    @Column(nullable = false, length = Length.LONG32)
+    private String value;
+}
@@ -0,0 +1,87 @@
+package com.configmanager.configservice.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores configuration values as bytes, gzip-compressing values above a size threshold.
+ * Compressed values are recognized by the gzip magic number when read. Valid UTF-8 text never
+ * starts with those two bytes, so values written before compression existed, and small values,
+ * are read back unchanged. Also used by the JDBC code paths that bypass the persistence context.
+ */
+@Converter
+public class ConfigurationValueConverter implements AttributeConverter<String, byte[]> {
+
+    /**
+     * Values whose UTF-8 encoding exceeds this many bytes are compressed.
+     * Smaller values rarely shrink enough to pay for the compression overhead.
+     */
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String value) {
+        return encode(value);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        return decode(column);
+    }
+
+    /**
+     * Encodes a value for storage.
+     *
+     * @param value The value, or null
+     * @return The UTF-8 bytes, compressed when above the threshold, or null for a null value
+     */
+    public static byte[] encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= COMPRESSION_THRESHOLD) {
+            return bytes;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Keep the plain bytes if the value does not compress
+        return compressed.size() < bytes.length ? compressed.toByteArray() : bytes;
+    }
+
+    /**
+     * Decodes a stored value.
+     *
+     * @param column The stored bytes, or null
+     * @return The value, or null for a null column
+     */
+    public static String decode(byte[] column) {
+        if (column == null) {
+            return null;
+        }
+        if (column.length < 2 || (column[0] & 0xff) != GZIP_MAGIC_FIRST || (column[1] & 0xff) != GZIP_MAGIC_SECOND) {
+            return new String(column, StandardCharsets.UTF_8);
+        }
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(column))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.configmanager.configservice.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity granting a role or a user access to every configuration key under a prefix.
+ * A grant on "payments." covers "payments.timeout" and "payments.retry.max"; an empty prefix
+ * covers every key. Write access implies read access.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "key_grants", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_key_grants_principal_prefix", columnNames = {"principal_type", "principal", "prefix"})
+})
+public class KeyGrant {
+
+    /**
+     * Kind of principal a grant applies to.
+     */
+    public enum PrincipalType {
+        ROLE,
+        USER
+    }
+
+    /**
+     * Access level granted on the keys under the prefix.
+     */
+    public enum Access {
+        READ,
+        WRITE
+    }
+
+    /**
+     * Unique identifier for the grant.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Whether the principal is a role or a username.
+     */
+    @NotNull(message = "Principal type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "principal_type", nullable = false, length = 8)
+    private PrincipalType principalType;
+
+    /**
+     * Role without the "ROLE_" prefix, such as "USER", or a username.
+     */
+    @NotBlank(message = "Principal is required")
+    @Column(nullable = false)
+    private String principal;
+
+    /**
+     * Key prefix the grant covers; a trailing "*" is accepted and ignored.
+     */
+    @NotNull(message = "Prefix is required")
+    @Column(nullable = false)
+    private String prefix;
+
+    /**
+     * Access granted on the keys under the prefix.
+     */
+    @NotNull(message = "Access is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Access access;
+}
@@ -0,0 +1,31 @@
+package com.configmanager.configservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity holding the global revision counter for configuration writes.
+ * The table has a single row; writers lock it to draw the next revision, which makes
+ * revisions commit in increasing order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revision_counter")
+public class RevisionCounter {
+
+    /**
+     * Identifier of the counter row.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Last revision handed out.
+     */
+    @Column(nullable = false)
+    private Long revision;
+}
@@ -0,0 +1,43 @@
+package com.configmanager.configservice.repository;
+
+import com.configmanager.configservice.model.ConfigurationOverlay;
+import com.configmanager.configservice.model.ConfigurationOverlay.Scope;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ConfigurationOverlay entity operations.
+ * Unlike configurations, overlay queries see tombstones unless they ask for live rows only.
+ */
+public interface ConfigurationOverlayRepository extends JpaRepository<ConfigurationOverlay, Long> {
+
+    /**
+     * Finds the overlay, live or removed, of a key within one scope.
+     *
+     * @param key The configuration key
+     * @param scope The layer
+     * @param scopeValue The environment, region or instance name
+     * @return Optional containing the overlay row if one was ever written
+     */
+    Optional<ConfigurationOverlay> findByKeyAndScopeAndScopeValue(String key, Scope scope, String scopeValue);
+
+    /**
+     * Finds the live overlays of a key.
+     *
+     * @param key The configuration key
+     * @return The overlays in no particular order
+     */
+    List<ConfigurationOverlay> findByKeyAndDeletedFalse(String key);
+
+    /**
+     * Finds overlays and tombstones written after the given revision, in revision order.
+     *
+     * @param revision The last revision the caller has already seen
+     * @param pageable Page size; only the first page is ever requested
+     * @return Changed overlays, with removed ones marked as such
+     */
+    List<ConfigurationOverlay> findByRevisionGreaterThanOrderByRevision(long revision, Pageable pageable);
+}
@@ -1,15 +1,30 @@
 package com.configmanager.configservice.repository;
 
+import com.configmanager.configservice.dto.ConfigurationSummary;
 import com.configmanager.configservice.model.Configuration;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for Configuration entity operations.
  * Provides CRUD operations and custom queries for configurations.
+ * Derived queries only see live configurations; the native queries below also read tombstones.
+ * Listing queries select summaries so the value column is never read for them.
  */
 public interface ConfigurationRepository extends JpaRepository<Configuration, Long> {
-    
+
+    /**
+     * Selects the summary of a configuration without its value.
+     */
+    String SUMMARY = "SELECT new com.configmanager.configservice.dto.ConfigurationSummary(c.id, c.key, c.description,"
+            + " c.valueSize, c.valueHash, c.createdBy, c.lastModifiedBy, c.revision, c.createdAt, c.updatedAt)"
+            + " FROM Configuration c";
+
     /**
      * Finds a configuration by its unique key.
      *
@@ -18,6 +33,23 @@ public interface ConfigurationRepository extends JpaRepository<Configuration, Lo
      */
     Optional<Configuration> findByKey(String key);
 
+    /**
+     * Finds all configurations whose key is in the given collection, using a single IN query.
+     *
+     * @param keys The configuration keys to search for
+     * @return Configurations found; keys without a configuration are simply absent
+     */
+    List<Configuration> findByKeyIn(Collection<String> keys);
+
+    /**
+     * Returns the IDs of all live configurations in ascending order.
+     * Used to split a full load into chunks that are read in parallel.
+     *
+     * @return IDs of all configurations
+     */
+    @Query("SELECT c.id FROM Configuration c ORDER BY c.id")
+    List<Long> findAllIds();
+
     /**
      * Checks if a configuration with the given key exists.
      *
@@ -25,4 +57,76 @@ public interface ConfigurationRepository extends JpaRepository<Configuration, Lo
      * @return true if configuration exists, false otherwise
      */
     boolean existsByKey(String key);
+
+    /**
+     * Finds summaries of configurations with an ID greater than the given cursor, in ascending ID order.
+     * Used for keyset pagination so each page is an index range scan on the primary key.
+     *
+     * @param id The ID of the last configuration already returned
+     * @param pageable Page size; only the first page is ever requested
+     * @return Summaries of the configurations following the cursor
+     */
+    @Query(SUMMARY + " WHERE c.id > :id ORDER BY c.id")
+    List<ConfigurationSummary> findSummariesAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Finds summaries of configurations with a key inside the given range, in ascending key order.
+     * Callers pass a prefix and its upper bound so the unique index on key is read as a range scan.
+     *
+     * @param prefix Inclusive lower bound of the key range
+     * @param afterKey Exclusive lower bound for pagination; pass an empty string for the first page
+     * @param prefixEnd Exclusive upper bound of the key range
+     * @param pageable Page size; only the first page is ever requested
+     * @return Summaries of the configurations in the range following the cursor
+     */
+    @Query(SUMMARY + " WHERE c.key >= :prefix AND c.key > :afterKey AND c.key < :prefixEnd ORDER BY c.key")
+    List<ConfigurationSummary> findSummariesByKeyRange(@Param("prefix") String prefix,
+                                                       @Param("afterKey") String afterKey,
+                                                       @Param("prefixEnd") String prefixEnd, Pageable pageable);
+
+    /**
+     * Finds live configurations and tombstones written after the given revision, in revision order.
+     *
+     * @param revision The last revision the caller has already seen
+     * @param pageable Page size; only the first page is ever requested
+     * @return Changed configurations, with deleted ones marked as such
+     */
+    @Query(value = "SELECT * FROM configurations WHERE revision > :revision ORDER BY revision",
+           nativeQuery = true)
+    List<Configuration> findChangesSince(@Param("revision") long revision, Pageable pageable);
+
+    /**
+     * Finds the configuration and tombstones for a key written after the given revision, in revision order.
+     *
+     * @param key The configuration key
+     * @param revision The last revision the caller has already seen
+     * @return The changed rows, or an empty list if the key is unchanged
+     */
+    @Query(value = "SELECT * FROM configurations WHERE `key` = :key AND revision > :revision ORDER BY revision",
+           nativeQuery = true)
+    List<Configuration> findKeyChangesSince(@Param("key") String key, @Param("revision") long revision);
+
+    /**
+     * Finds live configurations and tombstones in a key range written after the given revision,
+     * in revision order. Callers pass the prefix and its upper bound so the key index can be used.
+     *
+     * @param prefix Inclusive lower bound of the key range
+     * @param prefixEnd Exclusive upper bound of the key range
+     * @param revision The last revision the caller has already seen
+     * @param pageable Page size; only the first page is ever requested
+     * @return Changed configurations, with deleted ones marked as such
+     */
+    @Query(value = "SELECT * FROM configurations WHERE `key` >= :prefix AND `key` < :prefixEnd"
+                   + " AND revision > :revision ORDER BY revision",
+           nativeQuery = true)
+    List<Configuration> findPrefixChangesSince(@Param("prefix") String prefix, @Param("prefixEnd") String prefixEnd,
+                                               @Param("revision") long revision, Pageable pageable);
+
+    /**
+     * Returns the highest revision stored, including tombstones.
+     *
+     * @return The highest revision, or 0 if the table is empty
+     */
+    @Query(value = "SELECT COALESCE(MAX(revision), 0) FROM configurations", nativeQuery = true)
+    long findMaxRevision();
 }
\ No newline at end of file
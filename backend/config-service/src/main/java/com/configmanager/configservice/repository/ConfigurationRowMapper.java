@@ -0,0 +1,47 @@
+package com.configmanager.configservice.repository;
+
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.model.ConfigurationValueConverter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Maps rows of the configurations table to detached Configuration instances.
+ * Used by the JDBC code paths that bypass the persistence context.
+ */
+public class ConfigurationRowMapper implements RowMapper<Configuration> {
+
+    /**
+     * Column list matching the order expected by {@link #mapRow(ResultSet, int)}.
+     */
+    public static final String COLUMNS =
+            "id, `key`, value, value_size, value_hash, description, created_by, last_modified_by, created_at, updated_at,"
+                    + " revision, deleted";
+
+    @Override
+    public Configuration mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Configuration configuration = new Configuration();
+        configuration.setId(rs.getLong("id"));
+        configuration.setKey(rs.getString("key"));
+        configuration.setValue(ConfigurationValueConverter.decode(rs.getBytes("value")));
+        int valueSize = rs.getInt("value_size");
+        configuration.setValueSize(rs.wasNull() ? null : valueSize);
+        configuration.setValueHash(rs.getString("value_hash"));
+        configuration.setDescription(rs.getString("description"));
+        configuration.setCreatedBy(rs.getString("created_by"));
+        configuration.setLastModifiedBy(rs.getString("last_modified_by"));
+        configuration.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        configuration.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        configuration.setRevision(rs.getLong("revision"));
+        configuration.setDeleted(rs.getBoolean("deleted"));
+        return configuration;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.configmanager.configservice.repository;
+
+import com.configmanager.configservice.model.KeyGrant;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for key prefix grants.
+ * The table is small and read as a whole whenever grants are reloaded.
+ */
+public interface KeyGrantRepository extends JpaRepository<KeyGrant, Long> {
+
+    /**
+     * Finds the grant of a principal on a prefix.
+     *
+     * @param principalType Whether the principal is a role or a user
+     * @param principal The role or username
+     * @param prefix The normalized prefix
+     * @return Optional containing the grant if one exists
+     */
+    Optional<KeyGrant> findByPrincipalTypeAndPrincipalAndPrefix(
+            KeyGrant.PrincipalType principalType, String principal, String prefix);
+}
@@ -0,0 +1,26 @@
+package com.configmanager.configservice.repository;
+
+import com.configmanager.configservice.model.RevisionCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the global revision counter.
+ */
+public interface RevisionCounterRepository extends JpaRepository<RevisionCounter, Long> {
+
+    /**
+     * Loads the counter row and locks it until the current transaction ends.
+     *
+     * @param id The counter row ID
+     * @return Optional containing the locked counter if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from RevisionCounter c where c.id = :id")
+    Optional<RevisionCounter> findForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,162 @@
+package com.configmanager.configservice.security;
+
+import com.configmanager.configservice.model.KeyGrant;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiled key permissions of one principal.
+ * The prefixes of all grants are merged into a character trie whose nodes hold the strongest
+ * access granted by a prefix ending there. A check walks the key through the trie once and stops
+ * as soon as it leaves the trie or write access is reached, so it costs at most one step per
+ * character of the key and never touches the database. Instances are immutable and thread-safe.
+ */
+public final class KeyAccess {
+
+    private static final int NONE = 0;
+
+    private static final int READ = 1;
+
+    private static final int WRITE = 2;
+
+    /**
+     * Access to every key, used when permissions are disabled and for administrators.
+     */
+    public static final KeyAccess UNRESTRICTED = new KeyAccess(new Node(WRITE, new char[0], new Node[0]));
+
+    /**
+     * Access to no key.
+     */
+    public static final KeyAccess DENIED = new KeyAccess(new Node(NONE, new char[0], new Node[0]));
+
+    private final Node root;
+
+    private KeyAccess(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles grants into a trie.
+     *
+     * @param grants The grants of a principal, including those of its roles
+     * @return The compiled access
+     */
+    public static KeyAccess compile(Collection<KeyGrant> grants) {
+        Builder root = new Builder();
+        for (KeyGrant grant : grants) {
+            Builder node = root;
+            for (char c : normalizePrefix(grant.getPrefix()).toCharArray()) {
+                node = node.children.computeIfAbsent(c, ignored -> new Builder());
+            }
+            node.access = Math.max(node.access, grant.getAccess() == KeyGrant.Access.WRITE ? WRITE : READ);
+        }
+        return new KeyAccess(root.build(NONE));
+    }
+
+    /**
+     * Strips the optional trailing wildcard of a grant prefix, so "payments.*" and "payments."
+     * cover the same keys and "*" covers every key.
+     *
+     * @param prefix The prefix as entered
+     * @return The prefix without wildcard
+     */
+    public static String normalizePrefix(String prefix) {
+        return prefix.endsWith("*") ? prefix.substring(0, prefix.length() - 1) : prefix;
+    }
+
+    /**
+     * Checks whether the key may be read.
+     *
+     * @param key The configuration key
+     * @return true if a read or write grant covers the key
+     */
+    public boolean canRead(String key) {
+        return accessOf(key) >= READ;
+    }
+
+    /**
+     * Checks whether the key may be created, updated or deleted.
+     *
+     * @param key The configuration key
+     * @return true if a write grant covers the key
+     */
+    public boolean canWrite(String key) {
+        return accessOf(key) == WRITE;
+    }
+
+    /**
+     * Checks whether every key may be written, in which case callers can skip filtering.
+     *
+     * @return true if a write grant covers every key
+     */
+    public boolean isUnrestricted() {
+        return root.access == WRITE;
+    }
+
+    private int accessOf(String key) {
+        Node node = root;
+        int access = node.access;
+        for (int i = 0; i < key.length() && access < WRITE; i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                break;
+            }
+            access = Math.max(access, node.access);
+        }
+        return access;
+    }
+
+    /**
+     * An immutable trie node; children are kept in parallel arrays sorted by character.
+     */
+    private static final class Node {
+
+        private final int access;
+
+        private final char[] labels;
+
+        private final Node[] children;
+
+        Node(int access, char[] labels, Node[] children) {
+            this.access = access;
+            this.labels = labels;
+            this.children = children;
+        }
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    /**
+     * A mutable trie node used while compiling.
+     */
+    private static final class Builder {
+
+        private final Map<Character, Builder> children = new TreeMap<>();
+
+        private int access = NONE;
+
+        /**
+         * Builds the immutable node, dropping subtrees that cannot grant more than an ancestor.
+         */
+        Node build(int inherited) {
+            int effective = Math.max(access, inherited);
+            if (effective == WRITE) {
+                return new Node(access, new char[0], new Node[0]);
+            }
+            char[] labels = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build(effective);
+            }
+            return new Node(access, labels, nodes);
+        }
+    }
+}
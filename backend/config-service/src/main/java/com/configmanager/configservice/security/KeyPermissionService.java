@@ -0,0 +1,202 @@
+package com.configmanager.configservice.security;
+
+import com.configmanager.configservice.model.KeyGrant;
+import com.configmanager.configservice.repository.KeyGrantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service resolving the key permissions of the caller.
+ * All grants are held in memory and compiled into a {@link KeyAccess} trie at most once per
+ * principal and set of roles, so requests check keys without querying the database. Grants are
+ * reloaded when changed through this instance and periodically to pick up changes made through
+ * other instances; a reload that finds different grants discards every compiled trie.
+ * Callers with the ADMIN role, and every caller while permissions are disabled, may access all keys.
+ */
+@Slf4j
+@Service
+public class KeyPermissionService {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    private final KeyGrantRepository keyGrantRepository;
+
+    private final boolean enabled;
+
+    private final long cacheSize;
+
+    private volatile GrantTable table;
+
+    /**
+     * Creates the permission service.
+     *
+     * @param keyGrantRepository Repository the grants are loaded from
+     * @param enabled Whether grants are enforced; when false every caller may access every key
+     * @param cacheSize Maximum number of compiled tries kept
+     */
+    public KeyPermissionService(
+            KeyGrantRepository keyGrantRepository,
+            @Value("${config.permissions.enabled:false}") boolean enabled,
+            @Value("${config.permissions.cache-size:10000}") long cacheSize) {
+        this.keyGrantRepository = keyGrantRepository;
+        this.enabled = enabled;
+        this.cacheSize = cacheSize;
+        this.table = new GrantTable(List.of(), 0, cacheSize);
+    }
+
+    /**
+     * Returns the key permissions of an authenticated caller.
+     *
+     * @param authentication The current authentication
+     * @return The compiled access of the caller
+     */
+    public KeyAccess forAuthentication(Authentication authentication) {
+        if (!enabled) {
+            return KeyAccess.UNRESTRICTED;
+        }
+        if (authentication == null) {
+            return KeyAccess.DENIED;
+        }
+        Set<String> roles = new TreeSet<>();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                roles.add(name.substring(ROLE_PREFIX.length()));
+            }
+        }
+        if (roles.contains(ADMIN_ROLE)) {
+            return KeyAccess.UNRESTRICTED;
+        }
+        GrantTable current = table;
+        return current.compiled.get(new Principal(authentication.getName(), Set.copyOf(roles)), current::compile);
+    }
+
+    /**
+     * Returns a number that changes whenever the loaded grants change.
+     * Responses filtered by permissions include it in their ETag.
+     *
+     * @return The grants generation
+     */
+    public long getGeneration() {
+        return table.generation;
+    }
+
+    /**
+     * Returns all grants currently loaded, ordered by ID.
+     *
+     * @return The loaded grants
+     */
+    public List<KeyGrant> getGrants() {
+        return table.grants;
+    }
+
+    /**
+     * Grants a principal access to a key prefix, replacing the access of an existing grant
+     * for the same principal and prefix.
+     *
+     * @param grant The grant to save
+     * @return The saved grant
+     */
+    public KeyGrant saveGrant(KeyGrant grant) {
+        grant.setPrefix(KeyAccess.normalizePrefix(grant.getPrefix()));
+        KeyGrant saved = keyGrantRepository
+            .findByPrincipalTypeAndPrincipalAndPrefix(grant.getPrincipalType(), grant.getPrincipal(), grant.getPrefix())
+            .map(existing -> {
+                existing.setAccess(grant.getAccess());
+                return keyGrantRepository.save(existing);
+            })
+            .orElseGet(() -> {
+                grant.setId(null);
+                return keyGrantRepository.save(grant);
+            });
+        refresh();
+        return saved;
+    }
+
+    /**
+     * Removes a grant.
+     *
+     * @param id The ID of the grant to remove
+     */
+    public void deleteGrant(Long id) {
+        keyGrantRepository.deleteById(id);
+        refresh();
+    }
+
+    /**
+     * Reloads the grants, discarding compiled permissions if they changed.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${config.permissions.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        List<KeyGrant> grants;
+        try {
+            grants = List.copyOf(keyGrantRepository.findAll(Sort.by("id")));
+        } catch (RuntimeException e) {
+            log.warn("Could not reload key grants, keeping {} loaded grants", table.grants.size(), e);
+            return;
+        }
+        if (!grants.equals(table.grants)) {
+            table = new GrantTable(grants, table.generation + 1, cacheSize);
+            log.info("Loaded {} key grants", grants.size());
+        }
+    }
+
+    /**
+     * A caller identified by username and roles, which together determine its grants.
+     */
+    private record Principal(String username, Set<String> roles) {
+    }
+
+    /**
+     * One version of the grants, indexed by principal, with the tries compiled from it.
+     * Replacing the table discards the tries compiled from the previous grants at once.
+     */
+    private static final class GrantTable {
+
+        private final List<KeyGrant> grants;
+
+        private final long generation;
+
+        private final Map<String, List<KeyGrant>> byRole = new HashMap<>();
+
+        private final Map<String, List<KeyGrant>> byUser = new HashMap<>();
+
+        private final Cache<Principal, KeyAccess> compiled;
+
+        GrantTable(List<KeyGrant> grants, long generation, long cacheSize) {
+            this.grants = grants;
+            this.generation = generation;
+            for (KeyGrant grant : grants) {
+                Map<String, List<KeyGrant>> index = grant.getPrincipalType() == KeyGrant.PrincipalType.ROLE ? byRole : byUser;
+                index.computeIfAbsent(grant.getPrincipal(), principal -> new ArrayList<>()).add(grant);
+            }
+            this.compiled = Caffeine.newBuilder().maximumSize(cacheSize).build();
+        }
+
+        KeyAccess compile(Principal principal) {
+            List<KeyGrant> applicable = new ArrayList<>(byUser.getOrDefault(principal.username(), List.of()));
+            for (String role : principal.roles()) {
+                applicable.addAll(byRole.getOrDefault(role, List.of()));
+            }
+            return applicable.isEmpty() ? KeyAccess.DENIED : KeyAccess.compile(applicable);
+        }
+    }
+}
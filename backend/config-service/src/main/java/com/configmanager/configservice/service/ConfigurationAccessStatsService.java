@@ -0,0 +1,123 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.cache.ConfigurationCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service recording which configuration keys are read most, across all instances.
+ * The {@link ConfigurationCache} counts reads by key; the counts are periodically added to the
+ * configuration_access_stats table, so an instance starting after a deploy knows which keys to load
+ * before it takes traffic. Keys not read within the retention period are dropped.
+ */
+@Slf4j
+@Service
+public class ConfigurationAccessStatsService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO configuration_access_stats (`key`, hits, last_accessed_at) VALUES (?, ?, ?)"
+                    + " ON DUPLICATE KEY UPDATE hits = hits + ?, last_accessed_at = ?";
+
+    private static final String HOTTEST_SQL =
+            "SELECT `key` FROM configuration_access_stats ORDER BY hits DESC LIMIT :limit";
+
+    private static final String PURGE_SQL = "DELETE FROM configuration_access_stats WHERE last_accessed_at < :cutoff";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ConfigurationCache configurationCache;
+
+    private final boolean enabled;
+
+    private final Duration retention;
+
+    /**
+     * Creates the access stats service.
+     *
+     * @param jdbcTemplate Template used to read and write the stats
+     * @param configurationCache Cache counting the reads
+     * @param enabled Whether read counts are stored
+     * @param retention Time after which keys that were not read are dropped
+     */
+    public ConfigurationAccessStatsService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ConfigurationCache configurationCache,
+            @Value("${config.warmup.access-stats.enabled:true}") boolean enabled,
+            @Value("${config.warmup.access-stats.retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.configurationCache = configurationCache;
+        this.enabled = enabled;
+        this.retention = retention;
+    }
+
+    /**
+     * Adds the reads counted since the previous flush to the stored counts.
+     * Keys are written in sorted order so instances flushing at the same time lock rows in the same order.
+     *
+     * @return Number of keys written
+     */
+    @Scheduled(fixedDelayString = "${config.warmup.access-stats.flush-interval-ms:60000}")
+    public int flush() {
+        if (!enabled) {
+            return 0;
+        }
+        Map<String, Long> counts = new TreeMap<>(configurationCache.drainAccessCounts());
+        if (counts.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, hits) -> rows.add(new Object[]{key, hits, now, hits, now}));
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, rows);
+        return rows.size();
+    }
+
+    /**
+     * Returns the keys read most often, most read first.
+     *
+     * @param limit Maximum number of keys returned
+     * @return The most read keys
+     */
+    public List<String> findHottestKeys(int limit) {
+        return jdbcTemplate.queryForList(HOTTEST_SQL, Map.of("limit", limit), String.class);
+    }
+
+    /**
+     * Drops the keys that were not read within the retention period.
+     *
+     * @return Number of keys dropped
+     */
+    @Scheduled(fixedDelayString = "${config.warmup.access-stats.purge-interval-ms:3600000}")
+    public int purge() {
+        if (!enabled) {
+            return 0;
+        }
+        return jdbcTemplate.update(PURGE_SQL,
+                Map.of("cutoff", Timestamp.valueOf(LocalDateTime.now().minus(retention))));
+    }
+
+    /**
+     * Stores the reads counted since the last flush before the instance stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (DataAccessException e) {
+            log.warn("Could not store configuration access stats", e);
+        }
+    }
+}
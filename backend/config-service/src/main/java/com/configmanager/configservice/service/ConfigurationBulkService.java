@@ -0,0 +1,220 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.dto.BulkUpsertResponse;
+import com.configmanager.configservice.dto.BulkUpsertResult;
+import com.configmanager.configservice.dto.BulkUpsertResult.Status;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.model.ConfigurationValueConverter;
+import com.configmanager.configservice.repository.ConfigurationRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Service for writing large numbers of configurations at once.
+ * Entries are written in chunks, each in its own transaction. Every chunk looks up existing keys
+ * with one query and writes inserts and updates as JDBC batches, bypassing the per-entity
+ * IDENTITY inserts that prevent Hibernate from batching.
+ * Keys are matched the way the case-insensitive key column compares them, so entries differing only
+ * in case address the same configuration.
+ */
+@Slf4j
+@Service
+public class ConfigurationBulkService {
+
+    private static final String SELECT_IDS_SQL =
+            "SELECT id, `key` FROM configurations WHERE `key` IN (:keys) AND deleted = false";
+
+    private static final String SELECT_ROWS_SQL =
+            "SELECT " + ConfigurationRowMapper.COLUMNS + " FROM configurations WHERE `key` IN (:keys) AND deleted = false";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO configurations (`key`, value, value_size, value_hash, description, created_by, last_modified_by,"
+                    + " created_at, updated_at, revision, deleted, deleted_revision)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, 0)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE configurations SET value = ?, value_size = ?, value_hash = ?, description = ?, last_modified_by = ?,"
+                    + " updated_at = ?, revision = ? WHERE id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final RevisionService revisionService;
+
+    private final int chunkSize;
+
+    private final ConfigurationRowMapper rowMapper = new ConfigurationRowMapper();
+
+    /**
+     * Creates the bulk service.
+     *
+     * @param jdbcTemplate Template used for lookups and batched writes
+     * @param transactionTemplate Template used to run each chunk in its own transaction
+     * @param eventPublisher Publisher for change events of written configurations
+     * @param revisionService Service reserving one revision per written entry
+     * @param chunkSize Number of entries written per transaction
+     */
+    public ConfigurationBulkService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            RevisionService revisionService,
+            @Value("${config.bulk.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.revisionService = revisionService;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates or updates the given configurations, matching existing ones by key.
+     * Entries with a blank key or missing value fail individually. When a key appears more than
+     * once, in any case, the last entry wins and earlier ones are reported as failed. An entry whose
+     * key differs in case from a stored key updates that configuration. A failing chunk is rolled
+     * back as a whole without affecting other chunks.
+     *
+     * @param entries The configurations to write
+     * @param username The username of the modifier
+     * @return Per-entry results in submission order
+     */
+    public BulkUpsertResponse upsert(List<Configuration> entries, String username) {
+        return upsert(entries, username, key -> true);
+    }
+
+    /**
+     * Creates or updates the given configurations, failing the entries whose key the caller may not write.
+     *
+     * @param entries The configurations to write
+     * @param username The username of the modifier
+     * @param writable Filter deciding which keys the caller may write
+     * @return Per-entry results in submission order
+     */
+    public BulkUpsertResponse upsert(List<Configuration> entries, String username, Predicate<String> writable) {
+        BulkUpsertResult[] results = new BulkUpsertResult[entries.size()];
+        Map<String, Integer> lastIndexByKey = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Configuration entry = entries.get(i);
+            if (entry.getKey() == null || entry.getKey().isBlank()) {
+                results[i] = failed(entry.getKey(), "Key is required");
+            } else if (entry.getValue() == null) {
+                results[i] = failed(entry.getKey(), "Value is required");
+            } else if (!writable.test(entry.getKey())) {
+                results[i] = failed(entry.getKey(), "Access denied");
+            } else {
+                Integer previous = lastIndexByKey.put(normalize(entry.getKey()), i);
+                if (previous != null) {
+                    results[previous] = failed(entry.getKey(), "Superseded by a later entry with the same key");
+                }
+            }
+        }
+
+        List<Integer> pending = new ArrayList<>(lastIndexByKey.values());
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeChunk(chunk, entries, username, results));
+            } catch (DataAccessException e) {
+                log.warn("Bulk upsert chunk of {} entries failed", chunk.size(), e);
+                for (Integer index : chunk) {
+                    results[index] = failed(entries.get(index).getKey(), e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        int created = 0;
+        int updated = 0;
+        for (BulkUpsertResult result : results) {
+            if (result.getStatus() == Status.CREATED) {
+                created++;
+            } else if (result.getStatus() == Status.UPDATED) {
+                updated++;
+            }
+        }
+        return new BulkUpsertResponse(created, updated, results.length - created - updated, List.of(results));
+    }
+
+    /**
+     * Writes one chunk inside the current transaction.
+     */
+    private void writeChunk(List<Integer> chunk, List<Configuration> entries, String username,
+                            BulkUpsertResult[] results) {
+        // Keyed by normalized key: the database may return a stored key in a different case
+        Map<String, Integer> indexByKey = new HashMap<>();
+        List<String> chunkKeys = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            indexByKey.put(normalize(entries.get(index).getKey()), index);
+            chunkKeys.add(entries.get(index).getKey());
+        }
+        Map<String, Object> keys = Map.of("keys", chunkKeys);
+
+        long revision = revisionService.reserve(chunk.size());
+        Map<String, Long> existingIds = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_SQL, keys, rs -> {
+            existingIds.put(normalize(rs.getString("key")), rs.getLong("id"));
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Integer index : chunk) {
+            Configuration entry = entries.get(index);
+            entry.describeValue();
+            byte[] value = ConfigurationValueConverter.encode(entry.getValue());
+            Long id = existingIds.get(normalize(entry.getKey()));
+            if (id == null) {
+                inserts.add(new Object[]{entry.getKey(), value, entry.getValueSize(), entry.getValueHash(),
+                        entry.getDescription(), username, username, now, now, revision++});
+            } else {
+                updates.add(new Object[]{value, entry.getValueSize(), entry.getValueHash(), entry.getDescription(),
+                        username, now, revision++, id});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_SQL, updates);
+        }
+
+        // Read the chunk back to learn generated IDs and publish exactly what was written
+        for (Configuration written : jdbcTemplate.query(SELECT_ROWS_SQL, keys, rowMapper)) {
+            String normalized = normalize(written.getKey());
+            boolean existed = existingIds.containsKey(normalized);
+            results[indexByKey.get(normalized)] = new BulkUpsertResult(
+                    written.getKey(), written.getId(), existed ? Status.UPDATED : Status.CREATED, null);
+            eventPublisher.publishEvent(new ConfigurationChangedEvent(
+                    existed ? ChangeType.UPDATED : ChangeType.CREATED, written, written.getKey()));
+        }
+    }
+
+    /**
+     * Returns the form of a key used to match entries and rows, following the key column's collation.
+     */
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private static BulkUpsertResult failed(String key, String message) {
+        return new BulkUpsertResult(key, null, Status.FAILED, message);
+    }
+}
@@ -0,0 +1,373 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.cache.ConfigurationCache;
+import com.configmanager.configservice.cache.ConfigurationOverlayResolver;
+import com.configmanager.configservice.cache.PendingRevisionTracker;
+import com.configmanager.configservice.cache.ConfigurationSnapshotStore;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.model.ConfigurationChangeLog;
+import com.configmanager.configservice.repository.ConfigurationRowMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service keeping the local state of every instance coherent with writes committed on other instances.
+ * Every write appends a row to the configuration_change_log table in the writing transaction. Each
+ * instance polls the log for rows after the last ID it has seen, an index range scan on the primary key,
+ * reloads the configurations written by other instances and republishes them as remote
+ * {@link ConfigurationChangedEvent}s, so the snapshot, cache, watches and streams apply them like
+ * local writes.
+ *
+ * <p>Writers hold the revision counter lock until they commit, so log IDs become visible in order and
+ * the tailer never passes over a row that commits later. An instance that could not poll for longer
+ * than the retention period may have missed purged rows and reloads its state instead.
+ */
+@Slf4j
+@Service
+@DependsOn("entityManagerFactory")
+public class ConfigurationChangeLogService implements MeterBinder {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO configuration_change_log (origin, configuration_id, `key`, previous_key, change_type, revision,"
+                    + " created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String TAIL_SQL =
+            "SELECT id, origin, configuration_id, `key`, previous_key, change_type, revision, created_at"
+                    + " FROM configuration_change_log WHERE id > :afterId ORDER BY id LIMIT :limit";
+
+    private static final String POSITION_SQL = "SELECT COALESCE(MAX(id), 0) FROM configuration_change_log";
+
+    private static final String PURGE_SQL = "DELETE FROM configuration_change_log WHERE created_at < :cutoff";
+
+    private static final String SELECT_CONFIGURATIONS_SQL =
+            "SELECT " + ConfigurationRowMapper.COLUMNS + " FROM configurations WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConfigurationSnapshotStore snapshotStore;
+
+    private final ConfigurationCache configurationCache;
+
+    private final ConfigurationOverlayResolver overlayResolver;
+
+    private final PendingRevisionTracker pendingRevisions;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final Duration retention;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final ConfigurationRowMapper rowMapper = new ConfigurationRowMapper();
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private final AtomicLong applied = new AtomicLong();
+
+    private long lastSeenId = -1;
+
+    private long lastPolledAt;
+
+    /**
+     * Creates the change log service.
+     *
+     * @param jdbcTemplate Template used to append to and read the log
+     * @param eventPublisher Publisher used to republish remote writes
+     * @param snapshotStore Store reloaded when this instance fell too far behind
+     * @param configurationCache Cache cleared when this instance fell too far behind
+     * @param overlayResolver Resolved views cleared when this instance fell too far behind
+     * @param pendingRevisions Tracker told which writes are read but not published yet
+     * @param enabled Whether writes are logged and the log is tailed
+     * @param batchSize Maximum number of log rows read per query
+     * @param retention Age after which log rows are purged
+     */
+    public ConfigurationChangeLogService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ConfigurationSnapshotStore snapshotStore,
+            ConfigurationCache configurationCache,
+            ConfigurationOverlayResolver overlayResolver,
+            PendingRevisionTracker pendingRevisions,
+            @Value("${config.changelog.enabled:true}") boolean enabled,
+            @Value("${config.changelog.batch-size:500}") int batchSize,
+            @Value("${config.changelog.retention:1h}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.snapshotStore = snapshotStore;
+        this.configurationCache = configurationCache;
+        this.overlayResolver = overlayResolver;
+        this.pendingRevisions = pendingRevisions;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Returns the ID this instance writes into the origin column of its log rows.
+     *
+     * @return The instance ID
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Starts tailing at the current end of the log.
+     * Runs before the snapshot is loaded, so writes committed in between are applied twice at worst.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                lastSeenId = jdbcTemplate.getJdbcTemplate().queryForObject(POSITION_SQL, Long.class);
+                lastPolledAt = System.currentTimeMillis();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read change log position, will start on the first successful poll", e);
+        }
+    }
+
+    /**
+     * Queues a log row for a write of this instance, appended with the rest of its transaction's rows
+     * just before it commits.
+     *
+     * @param event The write, published inside its transaction
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (!enabled || event.isRemote()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(List.of(event));
+            return;
+        }
+        PendingRows pending = (PendingRows) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRows();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    /**
+     * Applies the writes other instances committed since the last poll.
+     * Runs outside a transaction, so the log is always read from the primary.
+     *
+     * @return Number of remote writes applied
+     */
+    @Scheduled(fixedDelayString = "${config.changelog.poll-interval-ms:500}")
+    public synchronized int poll() {
+        if (!enabled) {
+            return 0;
+        }
+        if (lastSeenId < 0 || System.currentTimeMillis() - lastPolledAt > retention.toMillis()) {
+            resync();
+            return 0;
+        }
+        int count = 0;
+        LocalDateTime newest = null;
+        List<ConfigurationChangeLog> rows;
+        do {
+            rows = jdbcTemplate.query(TAIL_SQL,
+                    new MapSqlParameterSource("afterId", lastSeenId).addValue("limit", batchSize),
+                    (rs, rowNum) -> new ConfigurationChangeLog(
+                            rs.getLong("id"),
+                            rs.getString("origin"),
+                            rs.getLong("configuration_id"),
+                            rs.getString("key"),
+                            rs.getString("previous_key"),
+                            ChangeType.valueOf(rs.getString("change_type")),
+                            rs.getLong("revision"),
+                            rs.getTimestamp("created_at").toLocalDateTime()));
+            if (!rows.isEmpty()) {
+                count += apply(rows);
+                ConfigurationChangeLog last = rows.get(rows.size() - 1);
+                lastSeenId = last.getId();
+                newest = last.getCreatedAt();
+            }
+        } while (rows.size() == batchSize);
+        lagMillis.set(newest != null ? Math.max(0, Duration.between(newest, LocalDateTime.now()).toMillis()) : 0);
+        lastPolledAt = System.currentTimeMillis();
+        applied.addAndGet(count);
+        return count;
+    }
+
+    /**
+     * Deletes log rows older than the retention period.
+     *
+     * @return Number of rows deleted
+     */
+    @Scheduled(fixedDelayString = "${config.changelog.purge-interval-ms:60000}")
+    public int purge() {
+        if (!enabled) {
+            return 0;
+        }
+        int purged = jdbcTemplate.update(PURGE_SQL,
+                Map.of("cutoff", Timestamp.valueOf(LocalDateTime.now().minus(retention))));
+        if (purged > 0) {
+            log.debug("Purged {} change log rows", purged);
+        }
+        return purged;
+    }
+
+    /**
+     * Registers the lag and applied-writes metrics.
+     *
+     * @param registry The meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("config.changelog.lag", lagMillis, AtomicLong::get)
+            .description("Milliseconds between the newest change log row read and the poll that read it")
+            .baseUnit("milliseconds")
+            .register(registry);
+        FunctionCounter.builder("config.changelog.applied", applied, AtomicLong::get)
+            .description("Number of writes of other instances applied from the change log")
+            .register(registry);
+    }
+
+    /**
+     * Republishes the writes of other instances among the given log rows, in log order.
+     * A row whose configuration has been written again since is skipped, since the later row carries
+     * the newer state; a rename among them is still announced as a deletion of the previous key.
+     */
+    private int apply(List<ConfigurationChangeLog> rows) {
+        Set<Long> ids = new LinkedHashSet<>();
+        long oldest = Long.MAX_VALUE;
+        for (ConfigurationChangeLog row : rows) {
+            if (!origin.equals(row.getOrigin())) {
+                ids.add(row.getConfigurationId());
+                oldest = Math.min(oldest, row.getRevision());
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // A local deletion may commit between reading a configuration and publishing it
+        pendingRevisions.hold(this, oldest);
+        try {
+            return publishCurrent(rows, ids);
+        } finally {
+            pendingRevisions.release(this);
+        }
+    }
+
+    /**
+     * Reads the configurations written by other instances and publishes those still at the logged revision.
+     */
+    private int publishCurrent(List<ConfigurationChangeLog> rows, Set<Long> ids) {
+        Map<Long, Configuration> current = new HashMap<>();
+        jdbcTemplate.query(SELECT_CONFIGURATIONS_SQL, Map.of("ids", ids), rowMapper)
+            .forEach(configuration -> current.put(configuration.getId(), configuration));
+        int count = 0;
+        for (ConfigurationChangeLog row : rows) {
+            if (origin.equals(row.getOrigin())) {
+                continue;
+            }
+            Configuration configuration = current.get(row.getConfigurationId());
+            if (configuration != null && row.getRevision().equals(configuration.getRevision())) {
+                publish(row.getChangeType(), configuration.copy(), row.getPreviousKey());
+            } else if (row.getPreviousKey() != null && !row.getPreviousKey().equals(row.getKey())) {
+                publish(ChangeType.DELETED, tombstone(row, row.getPreviousKey()), row.getPreviousKey());
+            } else {
+                continue;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void publish(ChangeType type, Configuration configuration, String previousKey) {
+        eventPublisher.publishEvent(new ConfigurationChangedEvent(type, configuration, previousKey, true));
+    }
+
+    private static Configuration tombstone(ConfigurationChangeLog row, String key) {
+        Configuration configuration = new Configuration();
+        configuration.setId(row.getConfigurationId());
+        configuration.setKey(key);
+        configuration.setRevision(row.getRevision());
+        configuration.setDeleted(true);
+        return configuration;
+    }
+
+    /**
+     * Reloads local state after this instance may have missed log rows, and continues from the end of the log.
+     */
+    private void resync() {
+        long position = jdbcTemplate.getJdbcTemplate().queryForObject(POSITION_SQL, Long.class);
+        configurationCache.invalidateAll();
+        overlayResolver.invalidateAll();
+        if (snapshotStore.current().isPresent()) {
+            snapshotStore.load();
+        }
+        lastSeenId = position;
+        lastPolledAt = System.currentTimeMillis();
+        log.info("Reloaded configurations after falling behind the change log, continuing at {}", position);
+    }
+
+    private void append(List<ConfigurationChangedEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (ConfigurationChangedEvent event : events) {
+            Configuration configuration = event.getConfiguration();
+            rows.add(new Object[]{origin, configuration.getId(), configuration.getKey(), event.getPreviousKey(),
+                    event.getType().name(), configuration.getRevision(), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Log rows of one transaction, appended as a single batch before it commits.
+     */
+    private class PendingRows implements TransactionSynchronization {
+
+        private final List<ConfigurationChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            append(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ConfigurationChangeLogService.this);
+        }
+    }
+}
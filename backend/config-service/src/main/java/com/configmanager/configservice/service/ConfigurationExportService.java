@@ -0,0 +1,123 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRowMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Predicate;
+
+/**
+ * Service streaming the full configurations table as a JSON array.
+ * Rows are read through a forward-only JDBC cursor and written to the output as they
+ * arrive, so memory use does not grow with the size of the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConfigurationExportService {
+
+    /**
+     * Fetch size used for drivers that honour it as a batch size.
+     */
+    private static final int FETCH_SIZE = 500;
+
+    /**
+     * Number of rows written between explicit flushes of the output.
+     */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private static final String EXPORT_SQL =
+            "SELECT " + ConfigurationRowMapper.COLUMNS + " FROM configurations WHERE deleted = false ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes all configurations to the given stream as a JSON array, ordered by ID.
+     *
+     * @param outputStream The stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    public void exportTo(OutputStream outputStream) throws IOException {
+        exportTo(outputStream, key -> true);
+    }
+
+    /**
+     * Writes the configurations whose key passes the filter to the given stream as a JSON array,
+     * ordered by ID. Hidden rows are skipped as they are read.
+     *
+     * @param outputStream The stream to write to
+     * @param visible Filter deciding which keys the caller may see
+     * @throws IOException if writing to the stream fails
+     */
+    public void exportTo(OutputStream outputStream, Predicate<String> visible) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            jdbcTemplate.query(this::prepareCursor, new JsonRowWriter(generator, visible));
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Prepares a forward-only, read-only statement.
+     * MySQL Connector/J only streams rows one at a time when the fetch size is Integer.MIN_VALUE;
+     * otherwise it buffers the whole result set in memory.
+     */
+    private PreparedStatement prepareCursor(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(
+                EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+        return statement;
+    }
+
+    /**
+     * Writes each row to the JSON generator as soon as it is read.
+     * Counts rows itself because streaming result sets do not support getRow().
+     */
+    private static class JsonRowWriter implements RowCallbackHandler {
+
+        private final ConfigurationRowMapper rowMapper = new ConfigurationRowMapper();
+
+        private final JsonGenerator generator;
+
+        private final Predicate<String> visible;
+
+        private int rowCount;
+
+        JsonRowWriter(JsonGenerator generator, Predicate<String> visible) {
+            this.generator = generator;
+            this.visible = visible;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Configuration configuration = rowMapper.mapRow(rs, rowCount++);
+            if (!visible.test(configuration.getKey())) {
+                return;
+            }
+            try {
+                generator.writeObject(configuration);
+                if (rowCount % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.dto.ConfigurationHistoryPage;
+import com.configmanager.configservice.dto.ConfigurationKeyPage;
+import com.configmanager.configservice.dto.ConfigurationSummary;
+import com.configmanager.configservice.dto.ConfigurationVersion;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.model.ConfigurationValueConverter;
+import com.configmanager.configservice.repository.ConfigurationRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Service keeping the append-only history of configuration writes and answering point-in-time reads.
+ * Every write published as a {@link ConfigurationChangedEvent} is appended inside the writing
+ * transaction; the versions of one transaction are written as a single JDBC batch just before it
+ * commits. Values are deduplicated by hash, so only new content adds value bytes.
+ *
+ * <p>A point-in-time read groups the history by key on the (key, revision) index: for every key the
+ * latest revision not after the requested one is found with one index seek, and only that row is read.
+ */
+@Slf4j
+@Service
+public class ConfigurationHistoryService {
+
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private static final String INSERT_VERSION_SQL =
+            "INSERT INTO configuration_history (configuration_id, `key`, revision, deleted, value_size, value_hash,"
+                    + " description, modified_by, modified_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_VALUE_HASHES_SQL =
+            "SELECT hash FROM configuration_values WHERE hash IN (:hashes)";
+
+    private static final String INSERT_VALUE_SQL =
+            "INSERT INTO configuration_values (hash, value) VALUES (?, ?)";
+
+    private static final String VERSION_COLUMNS =
+            "h.configuration_id, h.`key`, h.revision, h.deleted, h.value_size, h.value_hash, h.description,"
+                    + " h.modified_by, h.modified_at";
+
+    private static final String KEY_HISTORY_SQL =
+            "SELECT " + VERSION_COLUMNS + ", v.value FROM configuration_history h"
+                    + " LEFT JOIN configuration_values v ON v.hash = h.value_hash"
+                    + " WHERE h.`key` = :key AND h.revision < :beforeRevision ORDER BY h.revision DESC LIMIT :limit";
+
+    private static final String AS_OF_SQL =
+            "SELECT " + VERSION_COLUMNS + " FROM ("
+                    + "SELECT `key`, MAX(revision) AS revision FROM configuration_history"
+                    + " WHERE `key` > :afterKey AND revision <= :asOfRevision"
+                    + " GROUP BY `key` ORDER BY `key` LIMIT :limit) latest"
+                    + " JOIN configuration_history h ON h.`key` = latest.`key` AND h.revision = latest.revision"
+                    + " ORDER BY h.`key`";
+
+    private static final String HISTORY_EMPTY_SQL =
+            "SELECT COUNT(*) FROM (SELECT 1 FROM configuration_history LIMIT 1) any_row";
+
+    private static final String BACKFILL_SQL =
+            "SELECT " + ConfigurationRowMapper.COLUMNS + " FROM configurations WHERE id > :afterId ORDER BY id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final RevisionService revisionService;
+
+    private final ConfigurationRowMapper rowMapper = new ConfigurationRowMapper();
+
+    /**
+     * Creates the history service.
+     *
+     * @param jdbcTemplate Template used for batched appends and history queries
+     * @param transactionTemplate Template used to backfill the history at startup
+     * @param revisionService Service whose counter lock serializes the backfill with writes
+     */
+    public ConfigurationHistoryService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            RevisionService revisionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.revisionService = revisionService;
+    }
+
+    /**
+     * Queues the versions produced by a write for the current transaction.
+     * A rename also records the deletion of the previous key at the same revision. Writes of other
+     * instances are recorded by the instance that committed them.
+     *
+     * @param event The write, published inside its transaction
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        Configuration configuration = event.getConfiguration();
+        List<Configuration> versions = pendingVersions();
+        versions.add(configuration);
+        if (event.isRenamed()) {
+            Configuration removed = configuration.copy();
+            removed.setKey(event.getPreviousKey());
+            removed.setDeleted(true);
+            versions.add(removed);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(versions);
+        }
+    }
+
+    /**
+     * Retrieves the versions of a key, newest first.
+     *
+     * @param key The configuration key
+     * @param beforeRevision Only versions before this revision are returned; null starts at the newest
+     * @param limit Maximum number of versions to return
+     * @return The versions with values, and the cursor for older ones
+     */
+    @Transactional(readOnly = true)
+    public ConfigurationHistoryPage getKeyHistory(String key, Long beforeRevision, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("beforeRevision", beforeRevision != null ? beforeRevision : Long.MAX_VALUE)
+                .addValue("limit", limit + 1);
+        List<ConfigurationVersion> versions = jdbcTemplate.query(KEY_HISTORY_SQL, params, (rs, rowNum) -> {
+            ConfigurationVersion version = toVersion(rs);
+            version.setValue(ConfigurationValueConverter.decode(rs.getBytes("value")));
+            return version;
+        });
+        if (versions.size() <= limit) {
+            return new ConfigurationHistoryPage(versions, null);
+        }
+        List<ConfigurationVersion> page = versions.subList(0, limit);
+        return new ConfigurationHistoryPage(page, page.get(limit - 1).getRevision());
+    }
+
+    /**
+     * Retrieves one page of summaries of the configurations as they were at the given revision, in key order.
+     * Keys deleted at that revision, and keys the caller may not see, are left out; further keys are
+     * read until the page is full or none are left, so a short page is always the last one.
+     *
+     * @param asOfRevision The revision to read at
+     * @param afterKey The key of the last configuration already returned, or null for the first page
+     * @param limit Maximum number of configurations on the page
+     * @param visible Filter deciding which keys the caller may see
+     * @return The requested page with the cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public ConfigurationKeyPage getConfigurationsAsOf(long asOfRevision, String afterKey, int limit,
+                                                      Predicate<String> visible) {
+        // Collect one extra configuration to find out whether another page follows
+        List<ConfigurationVersion> versions = new ArrayList<>();
+        String cursor = afterKey != null ? afterKey : "";
+        while (versions.size() <= limit) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("asOfRevision", asOfRevision)
+                    .addValue("afterKey", cursor)
+                    .addValue("limit", limit + 1);
+            List<ConfigurationVersion> rows = jdbcTemplate.query(AS_OF_SQL, params, (rs, rowNum) -> toVersion(rs));
+            rows.stream()
+                    .filter(version -> !version.isDeleted() && visible.test(version.getKey()))
+                    .limit(limit + 1 - versions.size())
+                    .forEach(versions::add);
+            if (rows.size() <= limit) {
+                break;
+            }
+            cursor = rows.get(rows.size() - 1).getKey();
+        }
+        boolean hasMore = versions.size() > limit;
+        List<ConfigurationVersion> page = hasMore ? versions.subList(0, limit) : versions;
+        String nextKey = hasMore ? page.get(limit - 1).getKey() : null;
+        List<ConfigurationSummary> items = page.stream()
+                .map(version -> new ConfigurationSummary(version.getConfigurationId(), version.getKey(),
+                        version.getDescription(), version.getValueSize(), version.getValueHash(), null,
+                        version.getModifiedBy(), version.getRevision(), null, version.getModifiedAt()))
+                .toList();
+        return new ConfigurationKeyPage(items, nextKey);
+    }
+
+    /**
+     * Seeds an empty history with the current state of every configuration and tombstone, so
+     * point-in-time reads work for configurations last written before history was recorded.
+     * Holds the revision counter lock, so no write interleaves and no other instance backfills twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            Integer seeded = transactionTemplate.execute(status -> {
+                revisionService.reserve(0);
+                Long empty = jdbcTemplate.getJdbcTemplate().queryForObject(HISTORY_EMPTY_SQL, Long.class);
+                if (empty == null || empty > 0) {
+                    return 0;
+                }
+                int count = 0;
+                long afterId = 0;
+                List<Configuration> chunk;
+                do {
+                    chunk = jdbcTemplate.query(BACKFILL_SQL,
+                            Map.of("afterId", afterId, "limit", BACKFILL_CHUNK_SIZE), rowMapper);
+                    if (!chunk.isEmpty()) {
+                        append(chunk);
+                        afterId = chunk.get(chunk.size() - 1).getId();
+                        count += chunk.size();
+                    }
+                } while (chunk.size() == BACKFILL_CHUNK_SIZE);
+                return count;
+            });
+            if (seeded != null && seeded > 0) {
+                log.info("Seeded configuration history with {} current versions", seeded);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not seed configuration history", e);
+        }
+    }
+
+    /**
+     * Returns the versions queued in the current transaction, registering the batch write on first use.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Configuration> pendingVersions() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new ArrayList<>();
+        }
+        List<Configuration> pending = (List<Configuration>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Configuration> versions = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, versions);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    append(versions);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ConfigurationHistoryService.this);
+                }
+            });
+            pending = versions;
+        }
+        return pending;
+    }
+
+    /**
+     * Appends versions to the history, storing values not stored before.
+     */
+    private void append(List<Configuration> versions) {
+        if (versions.isEmpty()) {
+            return;
+        }
+        Map<String, String> newValues = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>(versions.size());
+        for (Configuration version : versions) {
+            Configuration described = version.copy();
+            String hash = null;
+            if (!described.isDeleted()) {
+                described.describeValue();
+                hash = described.getValueHash();
+                newValues.putIfAbsent(hash, described.getValue());
+            }
+            LocalDateTime modifiedAt = described.getUpdatedAt() != null ? described.getUpdatedAt() : LocalDateTime.now();
+            rows.add(new Object[]{described.getId(), described.getKey(), described.getRevision(), described.isDeleted(),
+                    described.isDeleted() ? null : described.getValueSize(), hash, described.getDescription(),
+                    described.getLastModifiedBy(), modifiedAt});
+        }
+        if (!newValues.isEmpty()) {
+            // Writers hold the revision counter lock, so no other transaction inserts the same hash meanwhile
+            Set<String> stored = new HashSet<>(jdbcTemplate.queryForList(
+                    SELECT_VALUE_HASHES_SQL, Map.of("hashes", newValues.keySet()), String.class));
+            List<Object[]> values = new ArrayList<>();
+            newValues.forEach((hash, value) -> {
+                if (!stored.contains(hash)) {
+                    values.add(new Object[]{hash, ConfigurationValueConverter.encode(value)});
+                }
+            });
+            if (!values.isEmpty()) {
+                jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_VALUE_SQL, values);
+            }
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_VERSION_SQL, rows);
+    }
+
+    private static ConfigurationVersion toVersion(ResultSet rs) throws SQLException {
+        int valueSize = rs.getInt("value_size");
+        Integer size = rs.wasNull() ? null : valueSize;
+        Timestamp modifiedAt = rs.getTimestamp("modified_at");
+        return new ConfigurationVersion(rs.getLong("configuration_id"), rs.getString("key"), rs.getLong("revision"),
+                rs.getBoolean("deleted"), null, size, rs.getString("value_hash"), rs.getString("description"),
+                rs.getString("modified_by"), modifiedAt != null ? modifiedAt.toLocalDateTime() : null);
+    }
+}
@@ -0,0 +1,190 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.cache.ConfigurationOverlayResolver;
+import com.configmanager.configservice.dto.OverlayContext;
+import com.configmanager.configservice.dto.ResolvedConfiguration;
+import com.configmanager.configservice.event.ConfigurationOverlayChangedEvent;
+import com.configmanager.configservice.exception.ConfigurationNotFoundException;
+import com.configmanager.configservice.model.ConfigurationOverlay;
+import com.configmanager.configservice.model.ConfigurationOverlay.Scope;
+import com.configmanager.configservice.repository.ConfigurationOverlayRepository;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Service managing overlays and reading configurations as resolved for a context.
+ * Overlay writes draw their revision from the same sequence as configuration writes and are
+ * published after commit, so resolved views are updated for the changed key only. Resolved reads
+ * never touch the database once the context's view has been built.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConfigurationOverlayService {
+
+    /**
+     * Maximum length of an environment, region or instance name.
+     */
+    static final int MAX_SCOPE_VALUE_LENGTH = 64;
+
+    private final ConfigurationOverlayRepository overlayRepository;
+
+    private final ConfigurationRepository configurationRepository;
+
+    private final ConfigurationOverlayResolver overlayResolver;
+
+    private final RevisionService revisionService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Retrieves the live overlays of a key.
+     *
+     * @param key The configuration key
+     * @return The overlays ordered by layer, then by name
+     */
+    @Transactional(readOnly = true)
+    public List<ConfigurationOverlay> getOverlays(String key) {
+        return overlayRepository.findByKeyAndDeletedFalse(key).stream()
+            .sorted(Comparator.comparing(ConfigurationOverlay::getScope)
+                .thenComparing(ConfigurationOverlay::getScopeValue))
+            .toList();
+    }
+
+    /**
+     * Creates or replaces the overlay of a key within one scope.
+     *
+     * @param key The configuration key
+     * @param scope The layer
+     * @param scopeValue The environment, region or instance name
+     * @param value The value used within the scope
+     * @param username The username of the writer
+     * @return The written overlay
+     * @throws ConfigurationNotFoundException if the configuration does not exist
+     * @throws IllegalArgumentException if the name is blank or too long
+     */
+    @Transactional
+    public ConfigurationOverlay setOverlay(String key, Scope scope, String scopeValue, String value, String username) {
+        validateScopeValue(scopeValue);
+        // Taking the revision first serializes writers, so a concurrent first write of the same overlay is seen here
+        long revision = revisionService.next();
+        if (!configurationRepository.existsByKey(key)) {
+            throw new ConfigurationNotFoundException("Configuration not found with key: " + key);
+        }
+        ConfigurationOverlay overlay = overlayRepository.findByKeyAndScopeAndScopeValue(key, scope, scopeValue)
+            .orElseGet(ConfigurationOverlay::new);
+        overlay.setKey(key);
+        overlay.setScope(scope);
+        overlay.setScopeValue(scopeValue);
+        overlay.setValue(value);
+        overlay.setLastModifiedBy(username);
+        overlay.setRevision(revision);
+        overlay.setDeleted(false);
+        overlay.setUpdatedAt(LocalDateTime.now());
+        ConfigurationOverlay saved = overlayRepository.save(overlay);
+        eventPublisher.publishEvent(new ConfigurationOverlayChangedEvent(saved.copy()));
+        return saved;
+    }
+
+    /**
+     * Removes the overlay of a key within one scope.
+     * The row is kept as a tombstone carrying the removal revision so other instances learn about it.
+     *
+     * @param key The configuration key
+     * @param scope The layer
+     * @param scopeValue The environment, region or instance name
+     * @throws ConfigurationNotFoundException if no such overlay exists
+     */
+    @Transactional
+    public void deleteOverlay(String key, Scope scope, String scopeValue) {
+        long revision = revisionService.next();
+        ConfigurationOverlay overlay = overlayRepository.findByKeyAndScopeAndScopeValue(key, scope, scopeValue)
+            .filter(existing -> !existing.isDeleted())
+            .orElseThrow(() -> new ConfigurationNotFoundException(
+                "Overlay not found for key " + key + " in " + scope + " " + scopeValue));
+        overlay.setDeleted(true);
+        overlay.setRevision(revision);
+        overlay.setUpdatedAt(LocalDateTime.now());
+        ConfigurationOverlay saved = overlayRepository.save(overlay);
+        eventPublisher.publishEvent(new ConfigurationOverlayChangedEvent(saved.copy()));
+    }
+
+    /**
+     * Removes every overlay of a key deleted or renamed by a configuration write in the current transaction.
+     * The overlays become tombstones at the write's revision, so they are neither applied to a configuration
+     * created later under the same key nor left behind on other instances.
+     *
+     * @param key The key that no longer names the configuration
+     * @param revision The revision of the configuration write
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeOverlays(String key, long revision) {
+        LocalDateTime now = LocalDateTime.now();
+        for (ConfigurationOverlay overlay : overlayRepository.findByKeyAndDeletedFalse(key)) {
+            overlay.setDeleted(true);
+            overlay.setRevision(revision);
+            overlay.setUpdatedAt(now);
+            ConfigurationOverlay saved = overlayRepository.save(overlay);
+            eventPublisher.publishEvent(new ConfigurationOverlayChangedEvent(saved.copy()));
+        }
+    }
+
+    /**
+     * Retrieves the effective value of a configuration in a context.
+     *
+     * @param key The configuration key
+     * @param context The context to resolve for
+     * @return The resolved configuration
+     * @throws ConfigurationNotFoundException if the configuration does not exist
+     * @throws IllegalArgumentException if a name of the context is too long
+     */
+    public ResolvedConfiguration resolve(String key, OverlayContext context) {
+        validateContext(context);
+        return overlayResolver.resolve(key, context)
+            .orElseThrow(() -> new ConfigurationNotFoundException("Configuration not found with key: " + key));
+    }
+
+    /**
+     * Retrieves the effective values of the configurations in a context.
+     *
+     * @param context The context to resolve for
+     * @param prefix Only keys starting with this prefix are returned; empty for all keys
+     * @param visible Predicate telling which keys the caller may read
+     * @return The resolved configurations ordered by key
+     * @throws IllegalArgumentException if a name of the context is too long
+     */
+    public List<ResolvedConfiguration> resolveAll(OverlayContext context, String prefix, Predicate<String> visible) {
+        validateContext(context);
+        return overlayResolver.resolveAll(context).stream()
+            .filter(resolved -> resolved.getKey().startsWith(prefix) && visible.test(resolved.getKey()))
+            .sorted(Comparator.comparing(ResolvedConfiguration::getKey))
+            .toList();
+    }
+
+    private static void validateContext(OverlayContext context) {
+        for (Scope scope : Scope.values()) {
+            String name = context.valueFor(scope);
+            if (name != null) {
+                validateScopeValue(name);
+            }
+        }
+    }
+
+    private static void validateScopeValue(String scopeValue) {
+        if (scopeValue == null || scopeValue.isBlank()) {
+            throw new IllegalArgumentException("Scope value is required");
+        }
+        if (scopeValue.length() > MAX_SCOPE_VALUE_LENGTH) {
+            throw new IllegalArgumentException(
+                "Scope value must be at most " + MAX_SCOPE_VALUE_LENGTH + " characters");
+        }
+    }
+}
@@ -1,17 +1,42 @@
 package com.configmanager.configservice.service;
 
+import com.configmanager.configservice.cache.ConfigurationCache;
+import com.configmanager.configservice.cache.ConfigurationSnapshot;
+import com.configmanager.configservice.cache.ConfigurationSnapshotStore;
+import com.configmanager.configservice.datasource.ReadRouting;
+import com.configmanager.configservice.dto.BatchGetResponse;
+import com.configmanager.configservice.dto.ChangeSet;
+import com.configmanager.configservice.dto.ConfigurationKeyPage;
+import com.configmanager.configservice.dto.ConfigurationPage;
+import com.configmanager.configservice.dto.ConfigurationSummary;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
 import com.configmanager.configservice.model.Configuration;
 import com.configmanager.configservice.repository.ConfigurationRepository;
 import com.configmanager.configservice.exception.ConfigurationNotFoundException;
 import com.configmanager.configservice.exception.DuplicateKeyException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Service layer for managing configuration entities.
  * Provides business logic for CRUD operations on configurations.
+ * Reads are served from the {@link ConfigurationSnapshotStore} once it is loaded, falling back to
+ * {@link ConfigurationCache} and the database before that. Every write publishes a
+ * {@link ConfigurationChangedEvent} that updates both after commit.
+ * Read methods run in read-only transactions, which are served by a replica when replicas are
+ * configured. Cache misses are still loaded from the primary, so a lagging replica can never leave
+ * a stale entry in the cache for its whole lifetime.
  */
 @Service
 @RequiredArgsConstructor
@@ -19,13 +44,163 @@ public class ConfigurationService {
 
     private final ConfigurationRepository configurationRepository;
 
+    private final ConfigurationCache configurationCache;
+
+    private final ConfigurationSnapshotStore snapshotStore;
+
+    private final RevisionService revisionService;
+
+    private final ConfigurationOverlayService overlayService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Retrieves all configurations from the system.
      *
      * @return List of all configurations
      */
+    @Transactional(readOnly = true)
     public List<Configuration> getAllConfigurations() {
-        return configurationRepository.findAll();
+        return snapshotStore.current()
+            .map(ConfigurationSnapshot::findAll)
+            .orElseGet(configurationRepository::findAll);
+    }
+
+    /**
+     * Returns the revision of the data served by the listing, if it is known without a query.
+     * The listing is unchanged as long as this revision is unchanged.
+     *
+     * @return Optional containing the snapshot revision, or empty if no snapshot is loaded
+     */
+    public Optional<Long> getListingRevision() {
+        return snapshotStore.current().map(ConfigurationSnapshot::getRevision);
+    }
+
+    /**
+     * Retrieves one page of configuration summaries ordered by ID, starting after the given cursor.
+     * Values are left out; fetch a configuration by key or ID to read its value.
+     *
+     * @param afterId The ID of the last configuration already returned, or null for the first page
+     * @param limit Maximum number of configurations on the page
+     * @return The requested page with the cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public ConfigurationPage getConfigurationPage(Long afterId, int limit) {
+        return getConfigurationPage(afterId, limit, key -> true);
+    }
+
+    /**
+     * Retrieves one page of the configurations the caller may see, ordered by ID.
+     * Hidden keys are skipped while the page is collected; without a snapshot further rows are read
+     * until the page is full or no rows are left, so a short page is always the last one.
+     *
+     * @param afterId The ID of the last configuration already returned, or null for the first page
+     * @param limit Maximum number of configurations on the page
+     * @param visible Filter deciding which keys the caller may see
+     * @return The requested page with the cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public ConfigurationPage getConfigurationPage(Long afterId, int limit, Predicate<String> visible) {
+        // Fetch one extra row to find out whether another page follows
+        Optional<ConfigurationSnapshot> snapshot = snapshotStore.current();
+        List<ConfigurationSummary> items = snapshot.isPresent()
+            ? summarize(snapshot.get().findAfterId(afterId, limit + 1, visible))
+            : findAfterId(afterId != null ? afterId : 0L, limit + 1, visible);
+        boolean hasMore = items.size() > limit;
+        List<ConfigurationSummary> page = hasMore ? items.subList(0, limit) : items;
+        Long nextCursor = hasMore ? page.get(limit - 1).getId() : null;
+        return new ConfigurationPage(page, nextCursor);
+    }
+
+    /**
+     * Reads summaries following an ID from the database until the given number passed the filter
+     * or no rows are left.
+     */
+    private List<ConfigurationSummary> findAfterId(long afterId, int count, Predicate<String> visible) {
+        List<ConfigurationSummary> matches = new ArrayList<>();
+        long cursor = afterId;
+        while (true) {
+            List<ConfigurationSummary> rows = configurationRepository.findSummariesAfterId(
+                cursor, PageRequest.of(0, count));
+            for (ConfigurationSummary row : rows) {
+                if (visible.test(row.getKey())) {
+                    matches.add(row);
+                    if (matches.size() == count) {
+                        return matches;
+                    }
+                }
+            }
+            if (rows.size() < count) {
+                return matches;
+            }
+            cursor = rows.get(rows.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Retrieves one page of summaries of the configurations whose key starts with the given prefix,
+     * in key order. Values are left out; use the batch lookup to read the values of a namespace.
+     *
+     * @param prefix The key prefix, for example "payments." for the payments namespace
+     * @param afterKey The key of the last configuration already returned, or null for the first page
+     * @param limit Maximum number of configurations on the page
+     * @return The requested page with the cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public ConfigurationKeyPage getConfigurationsByPrefix(String prefix, String afterKey, int limit) {
+        return getConfigurationsByPrefix(prefix, afterKey, limit, key -> true);
+    }
+
+    /**
+     * Retrieves one page of the configurations under a prefix that the caller may see, in key order.
+     * Hidden keys are skipped in the same pass that checks the prefix; without a snapshot further rows
+     * are read until the page is full or the range is exhausted, so a short page is always the last one.
+     *
+     * @param prefix The key prefix, for example "payments." for the payments namespace
+     * @param afterKey The key of the last configuration already returned, or null for the first page
+     * @param limit Maximum number of configurations on the page
+     * @param visible Filter deciding which keys the caller may see
+     * @return The requested page with the cursor for the next one
+     */
+    @Transactional(readOnly = true)
+    public ConfigurationKeyPage getConfigurationsByPrefix(String prefix, String afterKey, int limit,
+                                                          Predicate<String> visible) {
+        // Fetch one extra row to find out whether another page follows
+        Optional<ConfigurationSnapshot> snapshot = snapshotStore.current();
+        List<ConfigurationSummary> rows = snapshot.isPresent()
+            ? summarize(snapshot.get().findByPrefix(prefix, afterKey, limit + 1, visible))
+            : findByKeyRange(prefix, afterKey != null ? afterKey : "", limit + 1, visible);
+        boolean hasMore = rows.size() > limit;
+        List<ConfigurationSummary> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextKey = hasMore ? items.get(limit - 1).getKey() : null;
+        return new ConfigurationKeyPage(items, nextKey);
+    }
+
+    /**
+     * Reads summaries under a prefix from the database until the given number passed the filters
+     * or the key range is exhausted.
+     */
+    private List<ConfigurationSummary> findByKeyRange(String prefix, String afterKey, int count,
+                                                      Predicate<String> visible) {
+        List<ConfigurationSummary> matches = new ArrayList<>();
+        String cursor = afterKey;
+        while (true) {
+            List<ConfigurationSummary> rows = configurationRepository.findSummariesByKeyRange(
+                prefix, cursor, prefix + Character.MAX_VALUE, PageRequest.of(0, count));
+            for (ConfigurationSummary row : rows) {
+                // The database collation may compare case-insensitively, so re-check the prefix exactly
+                if (row.getKey().startsWith(prefix) && visible.test(row.getKey())) {
+                    matches.add(row);
+                    if (matches.size() == count) {
+                        return matches;
+                    }
+                }
+            }
+            if (rows.size() < count) {
+                return matches;
+            }
+            cursor = rows.get(rows.size() - 1).getKey();
+        }
     }
 
     /**
@@ -35,8 +210,14 @@ public class ConfigurationService {
      * @return The requested configuration
      * @throws ConfigurationNotFoundException if configuration not found
      */
+    @Transactional(readOnly = true)
     public Configuration getConfigurationById(Long id) {
-        return configurationRepository.findById(id)
+        Optional<ConfigurationSnapshot> snapshot = snapshotStore.current();
+        Optional<Configuration> configuration = snapshot.isPresent()
+            ? snapshot.get().findById(id)
+            : configurationCache.getById(id,
+                missed -> ReadRouting.fromPrimary(() -> configurationRepository.findById(missed)));
+        return configuration
             .orElseThrow(() -> new ConfigurationNotFoundException("Configuration not found with id: " + id));
     }
 
@@ -47,11 +228,134 @@ public class ConfigurationService {
      * @return The requested configuration
      * @throws ConfigurationNotFoundException if configuration not found
      */
+    @Transactional(readOnly = true)
     public Configuration getConfigurationByKey(String key) {
-        return configurationRepository.findByKey(key)
+        Optional<ConfigurationSnapshot> snapshot = snapshotStore.current();
+        Optional<Configuration> configuration = snapshot.isPresent()
+            ? snapshot.get().findByKey(key)
+            : configurationCache.getByKey(key,
+                missed -> ReadRouting.fromPrimary(() -> configurationRepository.findByKey(missed)));
+        return configuration
             .orElseThrow(() -> new ConfigurationNotFoundException("Configuration not found with key: " + key));
     }
 
+    /**
+     * Retrieves several configurations by key in one call.
+     * Served from the snapshot when loaded; otherwise cache misses are fetched with a single IN query.
+     *
+     * @param keys The keys of the configurations to retrieve
+     * @return The configurations found, in request order, and the keys that do not exist
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse getConfigurationsByKeys(Collection<String> keys) {
+        return getConfigurationsByKeys(keys, key -> true);
+    }
+
+    /**
+     * Retrieves several configurations by key in one call, skipping the keys the caller may not read.
+     *
+     * @param keys The keys of the configurations to retrieve
+     * @param visible Filter deciding which keys the caller may see
+     * @return The configurations found, in request order, the keys that do not exist and the keys denied
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse getConfigurationsByKeys(Collection<String> keys, Predicate<String> visible) {
+        Collection<String> uniqueKeys = new LinkedHashSet<>();
+        List<String> denied = new ArrayList<>();
+        for (String key : keys) {
+            if (visible.test(key)) {
+                uniqueKeys.add(key);
+            } else if (!denied.contains(key)) {
+                denied.add(key);
+            }
+        }
+        Optional<ConfigurationSnapshot> snapshot = snapshotStore.current();
+        List<Configuration> found = new ArrayList<>(uniqueKeys.size());
+        List<String> missing = new ArrayList<>();
+        if (snapshot.isPresent()) {
+            for (String key : uniqueKeys) {
+                snapshot.get().findByKey(key).ifPresentOrElse(found::add, () -> missing.add(key));
+            }
+        } else {
+            Map<String, Configuration> loaded =
+                configurationCache.getAllByKeys(uniqueKeys,
+                    missed -> ReadRouting.fromPrimary(() -> configurationRepository.findByKeyIn(missed)));
+            for (String key : uniqueKeys) {
+                Configuration configuration = loaded.get(key);
+                if (configuration != null) {
+                    found.add(configuration);
+                } else {
+                    missing.add(key);
+                }
+            }
+        }
+        return new BatchGetResponse(found, missing, denied);
+    }
+
+    /**
+     * Retrieves configurations written after the given revision, including deletion tombstones.
+     * Clients pass the returned revision back on their next call to receive only newer changes.
+     *
+     * @param sinceRevision The last revision the caller has already seen
+     * @param limit Maximum number of changes to return
+     * @return The changes in revision order and the revision to resume from
+     */
+    @Transactional(readOnly = true)
+    public ChangeSet getChangesSince(long sinceRevision, int limit) {
+        List<Configuration> changes = configurationRepository.findChangesSince(
+            sinceRevision, PageRequest.of(0, limit + 1));
+        return toChangeSet(changes, sinceRevision, limit);
+    }
+
+    /**
+     * Retrieves the oldest change of the given key after the given revision, including its deletion.
+     * A key deleted and created again has both rows; the returned revision leads to the next one.
+     *
+     * @param key The configuration key
+     * @param sinceRevision Last revision already seen by the caller
+     * @return The change, if any, and the revision to resume from
+     */
+    @Transactional(readOnly = true)
+    public ChangeSet getKeyChangesSince(String key, long sinceRevision) {
+        return toChangeSet(configurationRepository.findKeyChangesSince(key, sinceRevision), sinceRevision, 1);
+    }
+
+    /**
+     * Retrieves configurations whose key starts with the given prefix and that changed after the
+     * given revision, including deletions.
+     *
+     * @param prefix The key prefix; an empty prefix matches every key
+     * @param sinceRevision Last revision already seen by the caller
+     * @param limit Maximum number of changes to return
+     * @return The changes in revision order and the revision to resume from
+     */
+    @Transactional(readOnly = true)
+    public ChangeSet getPrefixChangesSince(String prefix, long sinceRevision, int limit) {
+        if (prefix.isEmpty()) {
+            return getChangesSince(sinceRevision, limit);
+        }
+        // The database collation may compare case-insensitively, so re-check the prefix exactly
+        List<Configuration> changes = configurationRepository.findPrefixChangesSince(
+                prefix, prefix + Character.MAX_VALUE, sinceRevision, PageRequest.of(0, limit + 1))
+            .stream()
+            .filter(configuration -> configuration.getKey().startsWith(prefix))
+            .toList();
+        return toChangeSet(changes, sinceRevision, limit);
+    }
+
+    private static List<ConfigurationSummary> summarize(List<Configuration> configurations) {
+        return configurations.stream().map(ConfigurationSummary::of).toList();
+    }
+
+    private ChangeSet toChangeSet(List<Configuration> changes, long sinceRevision, int limit) {
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        long revision = changes.isEmpty() ? sinceRevision : changes.get(changes.size() - 1).getRevision();
+        return new ChangeSet(changes, revision, hasMore);
+    }
+
     /**
      * Creates a new configuration.
      *
@@ -62,16 +366,24 @@ public class ConfigurationService {
      */
     @Transactional
     public Configuration createConfiguration(Configuration configuration, String username) {
+        long revision = revisionService.next();
         if (configurationRepository.existsByKey(configuration.getKey())) {
             throw new DuplicateKeyException("Configuration with key '" + configuration.getKey() + "' already exists");
         }
+        configuration.setRevision(revision);
+        configuration.setDeleted(false);
+        configuration.setDeletedRevision(0);
         configuration.setCreatedBy(username);
         configuration.setLastModifiedBy(username);
-        return configurationRepository.save(configuration);
+        Configuration saved = configurationRepository.save(configuration);
+        publishChange(ChangeType.CREATED, saved, saved.getKey());
+        return saved;
     }
 
     /**
      * Updates an existing configuration.
+     * Renaming removes the overlays of the previous key, so they never apply to a configuration created
+     * under that key later.
      *
      * @param id The ID of the configuration to update
      * @param configuration The new configuration data
@@ -82,9 +394,13 @@ public class ConfigurationService {
      */
     @Transactional
     public Configuration updateConfiguration(Long id, Configuration configuration, String username) {
-        Configuration existingConfig = getConfigurationById(id);
-        
-        if (!existingConfig.getKey().equals(configuration.getKey()) 
+        long revision = revisionService.next();
+        // Load from the repository rather than the cache so cached instances are never modified
+        Configuration existingConfig = configurationRepository.findById(id)
+            .orElseThrow(() -> new ConfigurationNotFoundException("Configuration not found with id: " + id));
+        String previousKey = existingConfig.getKey();
+
+        if (!existingConfig.getKey().equals(configuration.getKey())
             && configurationRepository.existsByKey(configuration.getKey())) {
             throw new DuplicateKeyException("Configuration with key '" + configuration.getKey() + "' already exists");
         }
@@ -93,21 +409,50 @@ public class ConfigurationService {
         existingConfig.setValue(configuration.getValue());
         existingConfig.setDescription(configuration.getDescription());
         existingConfig.setLastModifiedBy(username);
-        
-        return configurationRepository.save(existingConfig);
+        existingConfig.setRevision(revision);
+        if (!previousKey.equals(configuration.getKey())) {
+            overlayService.removeOverlays(previousKey, revision);
+        }
+
+        Configuration saved = configurationRepository.save(existingConfig);
+        // Flush so the published copy carries the timestamp set by @PreUpdate
+        configurationRepository.flush();
+        publishChange(ChangeType.UPDATED, saved, previousKey);
+        return saved;
     }
 
     /**
      * Deletes a configuration by its ID.
+     * The row is kept as a tombstone carrying the deletion revision so that
+     * delta-sync clients can remove the configuration too. Tombstones are never removed, so a client
+     * that catches up after the key has been created again still sees this configuration deleted.
+     * The overlays of the key are removed at the same revision.
      *
      * @param id The ID of the configuration to delete
      * @throws ConfigurationNotFoundException if configuration not found
      */
     @Transactional
     public void deleteConfiguration(Long id) {
-        if (!configurationRepository.existsById(id)) {
-            throw new ConfigurationNotFoundException("Configuration not found with id: " + id);
-        }
-        configurationRepository.deleteById(id);
+        long revision = revisionService.next();
+        Configuration existingConfig = configurationRepository.findById(id)
+            .orElseThrow(() -> new ConfigurationNotFoundException("Configuration not found with id: " + id));
+        existingConfig.setDeleted(true);
+        existingConfig.setDeletedRevision(revision);
+        existingConfig.setRevision(revision);
+        configurationRepository.save(existingConfig);
+        configurationRepository.flush();
+        overlayService.removeOverlays(existingConfig.getKey(), revision);
+        publishChange(ChangeType.DELETED, existingConfig, existingConfig.getKey());
+    }
+
+    /**
+     * Publishes a change event carrying a detached copy of the written configuration.
+     *
+     * @param type The kind of write
+     * @param configuration The written configuration
+     * @param previousKey The key before the write
+     */
+    private void publishChange(ChangeType type, Configuration configuration, String previousKey) {
+        eventPublisher.publishEvent(new ConfigurationChangedEvent(type, configuration.copy(), previousKey));
     }
-}
\ No newline at end of file
+}
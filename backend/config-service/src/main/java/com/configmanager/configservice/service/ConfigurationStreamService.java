@@ -0,0 +1,405 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.datasource.ReadRouting;
+import com.configmanager.configservice.dto.ChangeSet;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.exception.TooManyWatchersException;
+import com.configmanager.configservice.model.Configuration;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Service pushing committed configuration changes to Server-Sent Events subscribers.
+ * Each change is serialized once into a complete SSE frame and the same bytes are queued for
+ * every subscriber. Every subscriber has a bounded queue drained by a small writer pool; a
+ * subscriber whose queue is full has fallen behind and is disconnected, so slow clients never
+ * block the writing transaction or hold an unbounded backlog. A write that has not returned within
+ * the write timeout belongs to a stalled client: the subscriber is dropped and the pool gets a
+ * thread in place of the blocked one until the container gives up on the write.
+ */
+@Slf4j
+@Service
+public class ConfigurationStreamService implements MeterBinder {
+
+    private static final Frame HEARTBEAT = new Frame(0, null, ":\n\n".getBytes(StandardCharsets.UTF_8));
+
+    private static final long STALLED = Long.MIN_VALUE;
+
+    private static final Frame RESET = new Frame(0, null, "event: reset\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8));
+
+    private final ConfigurationService configurationService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor writers;
+
+    private final int maxSubscribers;
+
+    private final int bufferSize;
+
+    private final int replayLimit;
+
+    private final Duration timeout;
+
+    private final Duration writeTimeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger open = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Creates the stream service.
+     *
+     * @param configurationService Service used to replay changes missed while disconnected
+     * @param objectMapper Mapper used to serialize each change once
+     * @param maxSubscribers Maximum number of open streams
+     * @param bufferSize Number of undelivered frames a subscriber may fall behind before it is dropped
+     * @param writerThreads Number of threads writing frames to subscribers
+     * @param replayLimit Maximum number of missed changes replayed on reconnect
+     * @param timeout Time after which a stream is closed and the client reconnects
+     * @param writeTimeout Time a single write may block before its subscriber is dropped
+     */
+    @Autowired
+    public ConfigurationStreamService(
+            ConfigurationService configurationService,
+            ObjectMapper objectMapper,
+            @Value("${config.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${config.stream.buffer-size:256}") int bufferSize,
+            @Value("${config.stream.writer-threads:4}") int writerThreads,
+            @Value("${config.pagination.max-limit:1000}") int replayLimit,
+            @Value("${config.stream.timeout:30m}") Duration timeout,
+            @Value("${config.stream.write-timeout:10s}") Duration writeTimeout) {
+        this(configurationService, objectMapper, maxSubscribers, bufferSize, replayLimit, timeout, writeTimeout,
+            Executors.newFixedThreadPool(writerThreads, new CustomizableThreadFactory("config-stream-")));
+    }
+
+    ConfigurationStreamService(ConfigurationService configurationService, ObjectMapper objectMapper,
+                               int maxSubscribers, int bufferSize, int replayLimit, Duration timeout,
+                               Duration writeTimeout, Executor writers) {
+        this.configurationService = configurationService;
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.replayLimit = replayLimit;
+        this.timeout = timeout;
+        this.writeTimeout = writeTimeout;
+        this.writers = writers;
+    }
+
+    /**
+     * Opens a new stream.
+     * When a revision is given, changes after it are replayed before live changes so a reconnecting
+     * client does not miss anything; if more changes were missed than can be replayed, a reset event
+     * tells the client to reload instead.
+     *
+     * @param sinceRevision Last revision the client has seen, or null to receive live changes only
+     * @return The emitter to return from the controller
+     * @throws TooManyWatchersException if the maximum number of open streams is reached
+     */
+    public ResponseBodyEmitter subscribe(Long sinceRevision) {
+        return subscribe(sinceRevision, key -> true);
+    }
+
+    /**
+     * Opens a new stream that only receives changes to keys passing the filter.
+     *
+     * @param sinceRevision Last revision the client has seen, or null to receive live changes only
+     * @param visible Filter deciding which keys the caller may see
+     * @return The emitter to return from the controller
+     * @throws TooManyWatchersException if the maximum number of open streams is reached
+     */
+    public ResponseBodyEmitter subscribe(Long sinceRevision, Predicate<String> visible) {
+        if (open.incrementAndGet() > maxSubscribers) {
+            open.decrementAndGet();
+            throw new TooManyWatchersException("Too many open change streams, retry later");
+        }
+        Subscriber subscriber = new Subscriber(createEmitter(timeout), bufferSize, visible);
+        subscriber.emitter.onCompletion(() -> detach(subscriber));
+        subscriber.emitter.onTimeout(() -> close(subscriber));
+        subscriber.emitter.onError(e -> close(subscriber));
+
+        // Hold back live frames until the replay has been written, then skip the ones it covered
+        subscriber.draining.set(true);
+        subscribers.add(subscriber);
+        try {
+            write(subscriber, HEARTBEAT);
+            if (sinceRevision != null) {
+                replay(subscriber, sinceRevision);
+            }
+        } catch (IOException e) {
+            close(subscriber);
+            return subscriber.emitter;
+        } catch (RuntimeException e) {
+            close(subscriber);
+            throw e;
+        }
+        subscriber.draining.set(false);
+        scheduleDrain(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Queues a committed change for every subscriber.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Configuration configuration = event.getConfiguration();
+        broadcast(frame(event.getType().name().toLowerCase(), configuration));
+    }
+
+    /**
+     * Sends a comment line to every subscriber so idle connections stay open through proxies
+     * and dead ones are detected.
+     */
+    @Scheduled(fixedDelayString = "${config.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeat() {
+        broadcast(HEARTBEAT);
+    }
+
+    /**
+     * Drops subscribers whose current write has been blocked longer than the write timeout.
+     * The blocked writer thread is replaced so the remaining subscribers keep being served; the
+     * stalled stream is completed once the container fails or finishes the write.
+     */
+    @Scheduled(fixedDelayString = "${config.stream.write-check-interval-ms:1000}")
+    public void expireStalledWrites() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.writeStarted.get();
+            if (started != 0 && started != STALLED && now - started > writeTimeout.toNanos()
+                    && subscriber.writeStarted.compareAndSet(started, STALLED)) {
+                log.debug("Dropping change stream subscriber whose write is blocked for more than {}", writeTimeout);
+                dropped.incrementAndGet();
+                detach(subscriber);
+                resizeWriters(1);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return The number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Registers subscriber and dropped-subscriber metrics.
+     *
+     * @param registry The meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("config.stream.subscribers", subscribers, Set::size)
+            .description("Number of open change streams")
+            .register(registry);
+        FunctionCounter.builder("config.stream.dropped", dropped, AtomicLong::get)
+            .description("Number of change streams dropped for falling behind or stalling")
+            .register(registry);
+    }
+
+    /**
+     * Stops the writer threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writers instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    ResponseBodyEmitter createEmitter(Duration timeout) {
+        return new ResponseBodyEmitter(timeout.toMillis());
+    }
+
+    private void replay(Subscriber subscriber, long sinceRevision) throws IOException {
+        // Replay from the primary: live frames of commits a replica has not applied yet may already have passed
+        ChangeSet changes = ReadRouting.fromPrimary(
+                () -> configurationService.getChangesSince(sinceRevision, replayLimit));
+        if (changes.isHasMore()) {
+            write(subscriber, RESET);
+        } else {
+            for (Configuration configuration : changes.filter(subscriber.visible).getChanges()) {
+                write(subscriber, frame(configuration.isDeleted() ? "deleted" : "updated", configuration));
+            }
+        }
+        subscriber.replayedRevision = changes.getRevision();
+    }
+
+    private Frame frame(String eventName, Configuration configuration) {
+        long revision = configuration.getRevision() != null ? configuration.getRevision() : 0;
+        try {
+            String data = objectMapper.writeValueAsString(configuration);
+            String frame = "id: " + revision + "\nevent: " + eventName + "\ndata: " + data + "\n\n";
+            return new Frame(revision, configuration.getKey(), frame.getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize configuration " + configuration.getId(), e);
+        }
+    }
+
+    private void broadcast(Frame frame) {
+        for (Subscriber subscriber : subscribers) {
+            if (frame.key != null && !subscriber.visible.test(frame.key)) {
+                continue;
+            }
+            if (subscriber.queue.offer(frame)) {
+                scheduleDrain(subscriber);
+            } else {
+                // The writer pool is already draining this subscriber; it completes the stream
+                log.debug("Dropping change stream subscriber with {} undelivered frames", bufferSize);
+                dropped.incrementAndGet();
+                detach(subscriber);
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Frame frame;
+            while (!subscriber.closed && (frame = subscriber.queue.poll()) != null) {
+                if (frame.revision > 0 && frame.revision <= subscriber.replayedRevision) {
+                    continue;
+                }
+                write(subscriber, frame);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The container reports the failed write to the emitter, which then completes
+            detach(subscriber);
+            return;
+        }
+        if (subscriber.closed) {
+            subscriber.emitter.complete();
+            return;
+        }
+        subscriber.draining.set(false);
+        scheduleDrain(subscriber);
+    }
+
+    /**
+     * Writes a frame, recording when the write started so a blocked write can be detected. If the
+     * write was given up on while blocked, the thread that replaced this one is retired again.
+     */
+    private void write(Subscriber subscriber, Frame frame) throws IOException {
+        subscriber.writeStarted.set(System.nanoTime());
+        try {
+            subscriber.emitter.send(frame.bytes, MediaType.TEXT_EVENT_STREAM);
+        } finally {
+            if (subscriber.writeStarted.getAndSet(0) == STALLED) {
+                resizeWriters(-1);
+            }
+        }
+    }
+
+    private void resizeWriters(int delta) {
+        if (writers instanceof ThreadPoolExecutor pool) {
+            synchronized (pool) {
+                // The core size may never exceed the maximum, so grow the maximum first and shrink it last
+                if (delta > 0) {
+                    pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                    pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                } else {
+                    pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                    pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops delivering to a subscriber and frees its slot; only the first call for a subscriber frees it.
+     */
+    private void detach(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            open.decrementAndGet();
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        detach(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    /**
+     * A serialized SSE frame; heartbeats and resets have revision 0 and no key.
+     */
+    private record Frame(long revision, String key, byte[] bytes) {
+    }
+
+    /**
+     * An open stream and the frames not yet written to it.
+     */
+    private static final class Subscriber {
+
+        private final ResponseBodyEmitter emitter;
+
+        private final BlockingQueue<Frame> queue;
+
+        private final Predicate<String> visible;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /**
+         * Time the write in progress started, 0 when idle, or STALLED once the write was given up on.
+         */
+        private final AtomicLong writeStarted = new AtomicLong();
+
+        private volatile boolean closed;
+
+        /**
+         * Revision up to which changes were replayed, used to skip live changes already written.
+         */
+        private volatile long replayedRevision;
+
+        Subscriber(ResponseBodyEmitter emitter, int bufferSize, Predicate<String> visible) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+            this.visible = visible;
+        }
+    }
+}
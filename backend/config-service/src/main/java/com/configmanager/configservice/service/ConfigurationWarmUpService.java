@@ -0,0 +1,176 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.cache.ConfigurationCache;
+import com.configmanager.configservice.cache.ConfigurationSnapshotStore;
+import com.configmanager.configservice.datasource.ReadRouting;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Service loading configurations into memory before the instance takes traffic.
+ * With the snapshot enabled, every configuration is read into the snapshot; otherwise the keys read
+ * most often across all instances, as recorded by {@link ConfigurationAccessStatsService}, are read
+ * into the {@link ConfigurationCache}. Rows are read in chunks on several threads, all from the primary.
+ *
+ * <p>The warm-up runs while the {@link ApplicationReadyEvent} is handled, and Spring Boot only reports
+ * the readiness state ACCEPTING_TRAFFIC once all listeners of that event have returned, so a readiness
+ * probe keeps the instance out of rotation until the warm-up has finished. A failed warm-up is logged
+ * and reads fall back to the database.
+ */
+@Slf4j
+@Service
+public class ConfigurationWarmUpService implements MeterBinder {
+
+    private final ConfigurationRepository configurationRepository;
+
+    private final ConfigurationSnapshotStore snapshotStore;
+
+    private final ConfigurationCache configurationCache;
+
+    private final ConfigurationAccessStatsService accessStatsService;
+
+    private final boolean enabled;
+
+    private final int hotKeys;
+
+    private final int chunkSize;
+
+    private final int parallelism;
+
+    private final AtomicLong durationMillis = new AtomicLong();
+
+    private final AtomicLong entries = new AtomicLong();
+
+    /**
+     * Creates the warm-up service.
+     *
+     * @param configurationRepository Repository the configurations are read from
+     * @param snapshotStore Store loaded with every configuration when enabled
+     * @param configurationCache Cache loaded with the most read keys when the snapshot is disabled
+     * @param accessStatsService Service telling which keys are read most
+     * @param enabled Whether configurations are read in parallel chunks; when disabled the snapshot
+     *                is still loaded, with a single query
+     * @param hotKeys Number of most read keys loaded into the cache
+     * @param chunkSize Number of configurations read per query
+     * @param parallelism Number of queries run at once
+     */
+    public ConfigurationWarmUpService(
+            ConfigurationRepository configurationRepository,
+            ConfigurationSnapshotStore snapshotStore,
+            ConfigurationCache configurationCache,
+            ConfigurationAccessStatsService accessStatsService,
+            @Value("${config.warmup.enabled:true}") boolean enabled,
+            @Value("${config.warmup.hot-keys:${config.cache.maximum-size:10000}}") int hotKeys,
+            @Value("${config.warmup.chunk-size:500}") int chunkSize,
+            @Value("${config.warmup.parallelism:4}") int parallelism) {
+        this.configurationRepository = configurationRepository;
+        this.snapshotStore = snapshotStore;
+        this.configurationCache = configurationCache;
+        this.accessStatsService = accessStatsService;
+        this.enabled = enabled;
+        this.hotKeys = hotKeys;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Warms up once the application has started, before it reports being ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled && !snapshotStore.isEnabled()) {
+            return;
+        }
+        try {
+            warmUp();
+        } catch (RuntimeException e) {
+            log.warn("Could not warm up configurations, reads will use the database", e);
+        }
+    }
+
+    /**
+     * Loads the snapshot, or the most read keys into the cache when the snapshot is disabled.
+     *
+     * @return Number of configurations loaded
+     */
+    public int warmUp() {
+        long start = System.nanoTime();
+        int loaded;
+        if (!enabled) {
+            loaded = snapshotStore.load();
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                loaded = snapshotStore.isEnabled()
+                    ? snapshotStore.load(() -> loadInChunks(configurationRepository.findAllIds(),
+                        configurationRepository::findAllById, executor))
+                    : preloadCache(executor);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        durationMillis.set(elapsed);
+        entries.set(loaded);
+        log.info("Warmed up {} configurations into the {} in {} ms",
+                loaded, snapshotStore.isEnabled() ? "snapshot" : "cache", elapsed);
+        return loaded;
+    }
+
+    /**
+     * Registers the warm-up duration and size metrics.
+     *
+     * @param registry The meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("config.warmup.duration", durationMillis, AtomicLong::get)
+            .description("Milliseconds the last warm-up took")
+            .baseUnit("milliseconds")
+            .register(registry);
+        Gauge.builder("config.warmup.entries", entries, AtomicLong::get)
+            .description("Number of configurations loaded by the last warm-up")
+            .register(registry);
+    }
+
+    private int preloadCache(ExecutorService executor) {
+        List<String> keys = accessStatsService.findHottestKeys(hotKeys);
+        List<Configuration> configurations = loadInChunks(keys, configurationRepository::findByKeyIn, executor);
+        configurationCache.preload(configurations);
+        return configurations.size();
+    }
+
+    /**
+     * Reads the configurations with the given IDs or keys, one chunk per query, on the executor threads.
+     */
+    private <T> List<Configuration> loadInChunks(List<T> ids, Function<List<T>, List<Configuration>> query,
+                                                 ExecutorService executor) {
+        List<CompletableFuture<List<Configuration>>> futures = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<T> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            // Routing is per thread, so every chunk asks for the primary itself
+            futures.add(CompletableFuture.supplyAsync(() -> ReadRouting.fromPrimary(() -> query.apply(chunk)), executor));
+        }
+        List<Configuration> configurations = new ArrayList<>(ids.size());
+        for (CompletableFuture<List<Configuration>> future : futures) {
+            configurations.addAll(future.join());
+        }
+        return configurations;
+    }
+}
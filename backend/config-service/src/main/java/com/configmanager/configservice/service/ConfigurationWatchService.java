@@ -0,0 +1,352 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.datasource.ReadRouting;
+import com.configmanager.configservice.dto.ChangeSet;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.exception.TooManyWatchersException;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Service parking long-poll watch requests until a matching configuration changes.
+ * Watchers are indexed by exact key and by prefix, so a committed write only looks up the
+ * watchers for its own key and the prefixes of that key. Parked requests are held as
+ * {@link DeferredResult}s and do not occupy a servlet thread while waiting.
+ */
+@Slf4j
+@Service
+public class ConfigurationWatchService implements MeterBinder {
+
+    private final ConfigurationService configurationService;
+
+    private final ConfigurationRepository configurationRepository;
+
+    private final Executor dispatcher;
+
+    private final int maxWatchers;
+
+    private final int limit;
+
+    private final Map<String, Set<Watcher>> keyWatchers = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Watcher>> prefixWatchers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger parked = new AtomicInteger();
+
+    /**
+     * Highest revision whose change event has been received by this instance.
+     */
+    private final AtomicLong committedRevision = new AtomicLong();
+
+    /**
+     * Whether committedRevision has been initialized from the database and can be trusted.
+     */
+    private volatile boolean revisionKnown;
+
+    /**
+     * Creates the watch service.
+     *
+     * @param configurationService Service used to look up changes for a watcher
+     * @param configurationRepository Repository used to read the current revision at startup
+     * @param maxWatchers Maximum number of requests parked at the same time
+     * @param dispatchThreads Number of threads completing woken watchers
+     * @param limit Maximum number of changes returned to a prefix watcher at once
+     */
+    @Autowired
+    public ConfigurationWatchService(
+            ConfigurationService configurationService,
+            ConfigurationRepository configurationRepository,
+            @Value("${config.watch.max-watchers:50000}") int maxWatchers,
+            @Value("${config.watch.dispatch-threads:2}") int dispatchThreads,
+            @Value("${config.pagination.max-limit:1000}") int limit) {
+        this(configurationService, configurationRepository, maxWatchers, limit,
+            Executors.newFixedThreadPool(dispatchThreads, new CustomizableThreadFactory("config-watch-")));
+    }
+
+    ConfigurationWatchService(ConfigurationService configurationService,
+                              ConfigurationRepository configurationRepository,
+                              int maxWatchers, int limit, Executor dispatcher) {
+        this.configurationService = configurationService;
+        this.configurationRepository = configurationRepository;
+        this.maxWatchers = maxWatchers;
+        this.limit = limit;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Reads the current revision so up-to-date watchers can be parked without a query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            committedRevision.accumulateAndGet(configurationRepository.findMaxRevision(), Math::max);
+            revisionKnown = true;
+        } catch (RuntimeException e) {
+            log.warn("Could not read current revision, every watch will query the database", e);
+        }
+    }
+
+    /**
+     * Parks a watch on a single key or on every key with the given prefix.
+     * Completes immediately when a matching change newer than the given revision already exists;
+     * otherwise completes on the next matching commit, or with no changes once the timeout elapses.
+     *
+     * @param key The key to watch, or null to watch a prefix
+     * @param prefix The key prefix to watch when no key is given; empty watches every key
+     * @param sinceRevision Last revision already seen by the caller
+     * @param timeout How long to park the request before answering with no changes
+     * @return The pending result
+     * @throws TooManyWatchersException if the maximum number of parked watchers is reached
+     */
+    public DeferredResult<ChangeSet> watch(String key, String prefix, long sinceRevision, Duration timeout) {
+        return watch(key, prefix, sinceRevision, timeout, visibleKey -> true);
+    }
+
+    /**
+     * Parks a watch that only sees changes to keys passing the filter.
+     * Changes to hidden keys neither wake the watcher nor appear in its result.
+     *
+     * @param key The key to watch, or null to watch a prefix
+     * @param prefix The key prefix to watch when no key is given; empty watches every key
+     * @param sinceRevision Last revision already seen by the caller
+     * @param timeout How long to park the request before answering with no changes
+     * @param visible Filter deciding which keys the caller may see
+     * @return The pending result
+     * @throws TooManyWatchersException if the maximum number of parked watchers is reached
+     */
+    public DeferredResult<ChangeSet> watch(String key, String prefix, long sinceRevision, Duration timeout,
+                                           Predicate<String> visible) {
+        if (parked.incrementAndGet() > maxWatchers) {
+            parked.decrementAndGet();
+            throw new TooManyWatchersException("Too many parked watchers, retry later");
+        }
+        Watcher watcher = key != null
+            ? new Watcher(key, false, sinceRevision, visible, new DeferredResult<>(timeout.toMillis()))
+            : new Watcher(prefix != null ? prefix : "", true, sinceRevision, visible,
+                new DeferredResult<>(timeout.toMillis()));
+        DeferredResult<ChangeSet> result = watcher.result;
+        result.onCompletion(() -> unregister(watcher));
+        result.onTimeout(() -> result.setResult(new ChangeSet(List.of(), watcher.verifiedRevision, false)));
+        register(watcher);
+
+        // Registering before reading the revision means a concurrent commit either wakes
+        // this watcher or is already reflected in the revision read here
+        long committed = committedRevision.get();
+        if (revisionKnown && sinceRevision >= committed) {
+            return result;
+        }
+        ChangeSet changes;
+        try {
+            changes = lookup(watcher).filter(visible);
+        } catch (RuntimeException e) {
+            // The result is never handed to the caller, so its completion callback would never run
+            watcher.claim();
+            unregister(watcher);
+            throw e;
+        }
+        if (!changes.getChanges().isEmpty()) {
+            if (watcher.claim()) {
+                result.setResult(changes);
+            }
+        } else if (revisionKnown) {
+            watcher.verifiedRevision = Math.max(sinceRevision, committed);
+        }
+        return result;
+    }
+
+    /**
+     * Wakes the watchers matching a committed change.
+     * Woken watchers are answered from the database on a dispatcher thread, one query per
+     * distinct key or prefix and revision, so the writing thread is not held up.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        Configuration configuration = event.getConfiguration();
+        if (configuration.getRevision() != null) {
+            committedRevision.accumulateAndGet(configuration.getRevision(), Math::max);
+        }
+        List<Watcher> woken = new ArrayList<>();
+        collect(configuration.getKey(), woken);
+        if (event.isRenamed()) {
+            collect(event.getPreviousKey(), woken);
+        }
+        if (!woken.isEmpty()) {
+            dispatcher.execute(() -> deliver(woken));
+        }
+    }
+
+    /**
+     * Returns the number of requests currently parked.
+     *
+     * @return The number of parked watchers
+     */
+    public int getParkedCount() {
+        return parked.get();
+    }
+
+    /**
+     * Registers the parked watcher gauge.
+     *
+     * @param registry The meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("config.watch.parked", parked, AtomicInteger::get)
+            .description("Number of parked watch requests")
+            .register(registry);
+    }
+
+    /**
+     * Stops the dispatcher threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void collect(String key, List<Watcher> woken) {
+        claimAll(keyWatchers.get(key), key, woken);
+        if (!prefixWatchers.isEmpty()) {
+            for (int end = 0; end <= key.length(); end++) {
+                claimAll(prefixWatchers.get(key.substring(0, end)), key, woken);
+            }
+        }
+    }
+
+    private static void claimAll(Set<Watcher> watchers, String key, List<Watcher> woken) {
+        if (watchers == null) {
+            return;
+        }
+        for (Watcher watcher : watchers) {
+            if (watcher.visible.test(key) && watcher.claim()) {
+                woken.add(watcher);
+            }
+        }
+    }
+
+    private void deliver(List<Watcher> woken) {
+        Map<WatchTarget, List<Watcher>> byTarget = new HashMap<>();
+        for (Watcher watcher : woken) {
+            byTarget.computeIfAbsent(watcher.target(), target -> new ArrayList<>()).add(watcher);
+        }
+        byTarget.forEach((target, watchers) -> {
+            try {
+                ChangeSet changes = lookup(watchers.get(0));
+                for (Watcher watcher : watchers) {
+                    watcher.result.setResult(changes.filter(watcher.visible));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not answer {} watchers of {}", watchers.size(), target.value(), e);
+                for (Watcher watcher : watchers) {
+                    watcher.result.setErrorResult(e);
+                }
+            }
+        });
+    }
+
+    private ChangeSet lookup(Watcher watcher) {
+        // Watchers are woken by a commit that a replica may not have applied yet
+        return ReadRouting.fromPrimary(() -> watcher.prefix
+            ? configurationService.getPrefixChangesSince(watcher.value, watcher.sinceRevision, limit)
+            : configurationService.getKeyChangesSince(watcher.value, watcher.sinceRevision));
+    }
+
+    private void register(Watcher watcher) {
+        index(watcher).compute(watcher.value, (value, watchers) -> {
+            Set<Watcher> set = watchers != null ? watchers : ConcurrentHashMap.newKeySet();
+            set.add(watcher);
+            return set;
+        });
+    }
+
+    private void unregister(Watcher watcher) {
+        index(watcher).computeIfPresent(watcher.value, (value, watchers) -> {
+            watchers.remove(watcher);
+            return watchers.isEmpty() ? null : watchers;
+        });
+        parked.decrementAndGet();
+    }
+
+    private Map<String, Set<Watcher>> index(Watcher watcher) {
+        return watcher.prefix ? prefixWatchers : keyWatchers;
+    }
+
+    /**
+     * Key or prefix and revision shared by watchers that can be answered with the same query.
+     */
+    private record WatchTarget(String value, boolean prefix, long sinceRevision) {
+    }
+
+    /**
+     * A parked watch request.
+     */
+    private static final class Watcher {
+
+        private final String value;
+
+        private final boolean prefix;
+
+        private final long sinceRevision;
+
+        private final Predicate<String> visible;
+
+        private final DeferredResult<ChangeSet> result;
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        /**
+         * Revision up to which no matching change exists, returned when the watch times out.
+         */
+        private volatile long verifiedRevision;
+
+        Watcher(String value, boolean prefix, long sinceRevision, Predicate<String> visible,
+                DeferredResult<ChangeSet> result) {
+            this.value = value;
+            this.prefix = prefix;
+            this.sinceRevision = sinceRevision;
+            this.visible = visible;
+            this.result = result;
+            this.verifiedRevision = sinceRevision;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        WatchTarget target() {
+            return new WatchTarget(value, prefix, sinceRevision);
+        }
+    }
+}
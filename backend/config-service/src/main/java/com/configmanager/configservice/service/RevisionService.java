@@ -0,0 +1,59 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.model.RevisionCounter;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import com.configmanager.configservice.repository.RevisionCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service handing out global, monotonically increasing revisions for configuration writes.
+ * The counter row stays locked until the writing transaction ends, so a later revision can
+ * never commit before an earlier one and readers of the change feed never skip a write.
+ */
+@Service
+@RequiredArgsConstructor
+public class RevisionService {
+
+    private static final Long COUNTER_ID = 1L;
+
+    private final RevisionCounterRepository revisionCounterRepository;
+
+    private final ConfigurationRepository configurationRepository;
+
+    /**
+     * Draws the next revision.
+     *
+     * @return The revision for the current write
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        return reserve(1);
+    }
+
+    /**
+     * Reserves a block of consecutive revisions.
+     *
+     * @param count Number of revisions to reserve
+     * @return The first revision of the block
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long reserve(int count) {
+        RevisionCounter counter = revisionCounterRepository.findForUpdate(COUNTER_ID)
+                .orElseGet(this::initialize);
+        long first = counter.getRevision() + 1;
+        counter.setRevision(counter.getRevision() + count);
+        return first;
+    }
+
+    /**
+     * Creates the counter row, continuing from the highest revision already stored.
+     */
+    private RevisionCounter initialize() {
+        revisionCounterRepository.saveAndFlush(
+                new RevisionCounter(COUNTER_ID, configurationRepository.findMaxRevision()));
+        return revisionCounterRepository.findForUpdate(COUNTER_ID).orElseThrow();
+    }
+}
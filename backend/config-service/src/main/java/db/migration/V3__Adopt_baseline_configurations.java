@@ -0,0 +1,100 @@
+package db.migration;
+
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.model.ConfigurationValueConverter;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finishes upgrading configurations created by the first release.
+ * The unique constraint on the key gets the name later migrations refer to, whatever ddl-auto=update
+ * called it, and the size and hash of values written before they were recorded are filled in.
+ */
+public class V3__Adopt_baseline_configurations extends BaseJavaMigration {
+
+    private static final String KEY_CONSTRAINT = "uk_configurations_key";
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String KEY_CONSTRAINTS_SQL =
+            "SELECT tc.constraint_name FROM information_schema.table_constraints tc"
+                    + " JOIN information_schema.key_column_usage kcu ON kcu.constraint_schema = tc.constraint_schema"
+                    + " AND kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name"
+                    + " WHERE tc.table_schema = SCHEMA() AND tc.table_name = 'configurations'"
+                    + " AND tc.constraint_type = 'UNIQUE'"
+                    + " GROUP BY tc.constraint_name HAVING COUNT(*) = 1 AND MAX(kcu.column_name) = 'key'";
+
+    private static final String UNDESCRIBED_SQL = "SELECT id, value FROM configurations WHERE value_hash IS NULL";
+
+    private static final String DESCRIBE_SQL = "UPDATE configurations SET value_size = ?, value_hash = ? WHERE id = ?";
+
+    /**
+     * Renames the key constraint and describes the stored values.
+     *
+     * @param context The migration context
+     * @throws Exception if a statement fails
+     */
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        nameKeyConstraint(connection);
+        describeValues(connection);
+    }
+
+    /**
+     * Replaces a generated name of the key's unique constraint. The named constraint is added before the
+     * generated one is dropped, so keys stay unique throughout.
+     */
+    private static void nameKeyConstraint(Connection connection) throws Exception {
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(KEY_CONSTRAINTS_SQL)) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        if (names.stream().anyMatch(KEY_CONSTRAINT::equalsIgnoreCase)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE configurations ADD CONSTRAINT " + KEY_CONSTRAINT + " UNIQUE (`key`)");
+            for (String name : names) {
+                statement.execute("ALTER TABLE configurations DROP CONSTRAINT `" + name + "`");
+            }
+        }
+    }
+
+    /**
+     * Fills in the size and hash of values written before they were recorded.
+     */
+    private static void describeValues(Connection connection) throws Exception {
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery(UNDESCRIBED_SQL);
+             PreparedStatement update = connection.prepareStatement(DESCRIBE_SQL)) {
+            int pending = 0;
+            while (rs.next()) {
+                Configuration configuration = new Configuration();
+                configuration.setValue(ConfigurationValueConverter.decode(rs.getBytes("value")));
+                configuration.describeValue();
+                update.setInt(1, configuration.getValueSize());
+                update.setString(2, configuration.getValueHash());
+                update.setLong(3, rs.getLong("id"));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+}
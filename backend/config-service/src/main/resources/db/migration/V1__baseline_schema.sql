@@ -0,0 +1,16 @@
+-- Configuration table as first released, when the schema was managed by ddl-auto=update.
+-- Created only if missing: databases from that release are baselined below this version and keep their
+-- table, which the following migrations then upgrade.
+
+CREATE TABLE IF NOT EXISTS configurations (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    `key` VARCHAR(255) NOT NULL,
+    value VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NULL,
+    created_by VARCHAR(255) NULL,
+    last_modified_by VARCHAR(255) NULL,
+    created_at DATETIME(6) NULL,
+    updated_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_configurations_key UNIQUE (`key`)
+);
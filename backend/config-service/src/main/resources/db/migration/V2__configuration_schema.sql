@@ -0,0 +1,65 @@
+-- Upgrades the first release's configuration table and adds the tables of revisions, grants, history and
+-- the change log.
+
+-- Values are stored as bytes, compressed when large; values written before are plain UTF-8 and read as they are
+ALTER TABLE configurations MODIFY value LONGBLOB NOT NULL;
+ALTER TABLE configurations ADD COLUMN value_size INT NULL;
+ALTER TABLE configurations ADD COLUMN value_hash VARCHAR(64) NULL;
+ALTER TABLE configurations ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE configurations ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Existing rows get distinct revisions in write order; the revision counter continues from the highest
+UPDATE configurations SET revision = id;
+
+CREATE INDEX idx_configurations_revision ON configurations (revision);
+
+CREATE TABLE revision_counter (
+    id BIGINT NOT NULL,
+    revision BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE key_grants (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    principal_type VARCHAR(8) NOT NULL,
+    principal VARCHAR(255) NOT NULL,
+    prefix VARCHAR(255) NOT NULL,
+    access VARCHAR(8) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_key_grants_principal_prefix UNIQUE (principal_type, principal, prefix)
+);
+
+CREATE TABLE configuration_history (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    configuration_id BIGINT NOT NULL,
+    `key` VARCHAR(255) NOT NULL,
+    revision BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    value_size INT NULL,
+    value_hash VARCHAR(64) NULL,
+    description VARCHAR(255) NULL,
+    modified_by VARCHAR(255) NULL,
+    modified_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_configuration_history_key_revision UNIQUE (`key`, revision),
+    INDEX idx_configuration_history_revision (revision)
+);
+
+CREATE TABLE configuration_values (
+    hash VARCHAR(64) NOT NULL,
+    value LONGBLOB NOT NULL,
+    PRIMARY KEY (hash)
+);
+
+CREATE TABLE configuration_change_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    origin VARCHAR(36) NOT NULL,
+    configuration_id BIGINT NOT NULL,
+    `key` VARCHAR(255) NOT NULL,
+    previous_key VARCHAR(255) NULL,
+    change_type VARCHAR(16) NOT NULL,
+    revision BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_configuration_change_log_created_at (created_at)
+);
@@ -0,0 +1,8 @@
+-- Read counts per key, used to pick the keys a starting instance loads into its cache
+CREATE TABLE configuration_access_stats (
+    `key` VARCHAR(255) NOT NULL,
+    hits BIGINT NOT NULL,
+    last_accessed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (`key`),
+    INDEX idx_configuration_access_stats_hits (hits)
+);
@@ -0,0 +1,15 @@
+-- Values of configurations overridden per environment, region or instance; removed overlays stay as tombstones
+CREATE TABLE configuration_overlays (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    `key` VARCHAR(255) NOT NULL,
+    scope VARCHAR(16) NOT NULL,
+    scope_value VARCHAR(64) NOT NULL,
+    value LONGBLOB NOT NULL,
+    last_modified_by VARCHAR(255) NULL,
+    revision BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    updated_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_configuration_overlays_key_scope UNIQUE (`key`, scope, scope_value),
+    INDEX idx_configuration_overlays_revision (revision)
+);
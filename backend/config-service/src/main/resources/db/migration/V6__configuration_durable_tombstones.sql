@@ -0,0 +1,8 @@
+-- Tombstones are kept when their key is created again, so clients catching up still see the deletion.
+-- Keys are unique among live rows (deleted_revision 0); each tombstone carries the revision it was deleted at.
+ALTER TABLE configurations ADD COLUMN deleted_revision BIGINT NOT NULL DEFAULT 0;
+
+UPDATE configurations SET deleted_revision = revision WHERE deleted = TRUE;
+
+ALTER TABLE configurations ADD CONSTRAINT uk_configurations_key_deleted_revision UNIQUE (`key`, deleted_revision);
+ALTER TABLE configurations DROP CONSTRAINT uk_configurations_key;
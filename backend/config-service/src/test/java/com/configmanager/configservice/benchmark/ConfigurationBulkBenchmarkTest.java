@@ -0,0 +1,80 @@
+package com.configmanager.configservice.benchmark;
+
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import com.configmanager.configservice.service.ConfigurationBulkService;
+import com.configmanager.configservice.service.ConfigurationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares loading configurations one request at a time with the bulk upsert path.
+ * Run with: mvn test -Pbenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("h2")
+class ConfigurationBulkBenchmarkTest {
+
+    private static final int ENTRY_COUNT = 5000;
+
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ConfigurationBulkService configurationBulkService;
+
+    @Autowired
+    private ConfigurationRepository configurationRepository;
+
+    @BeforeEach
+    void setUp() {
+        configurationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareOneByOneWithBulkUpsert() {
+        for (int round = 1; round <= ROUNDS; round++) {
+            configurationRepository.deleteAllInBatch();
+            long start = System.nanoTime();
+            for (Configuration entry : entries("single." + round)) {
+                configurationService.createConfiguration(entry, "benchmark");
+            }
+            long oneByOneMillis = (System.nanoTime() - start) / 1_000_000;
+
+            configurationRepository.deleteAllInBatch();
+            start = System.nanoTime();
+            configurationBulkService.upsert(entries("bulk." + round), "benchmark");
+            long bulkMillis = (System.nanoTime() - start) / 1_000_000;
+
+            log.info("round {}: {} entries one-by-one {} ms, bulk {} ms",
+                    round, ENTRY_COUNT, oneByOneMillis, bulkMillis);
+            assertEquals(ENTRY_COUNT, configurationRepository.count());
+        }
+    }
+
+    private List<Configuration> entries(String prefix) {
+        List<Configuration> entries = new ArrayList<>(ENTRY_COUNT);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Configuration configuration = new Configuration();
+            configuration.setKey(prefix + ".key" + i);
+            configuration.setValue("value-" + i);
+            configuration.setDescription("Benchmark entry " + i);
+            entries.add(configuration);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,73 @@
+package com.configmanager.configservice.cache;
+
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import com.configmanager.configservice.model.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConfigurationCache.
+ * Tests that commits reported out of order never replace a newer entry or bring back a deleted key.
+ */
+class ConfigurationCacheTest {
+
+    private ConfigurationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ConfigurationCache(100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void onConfigurationChanged_WhenOlderCommitArrivesLast_ShouldKeepTheNewerRevision() {
+        // Act
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, configuration("a.key", "new", 6L), "a.key"));
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, configuration("a.key", "old", 5L), "a.key"));
+
+        // Assert
+        assertEquals("new", cache.getByKey("a.key", key -> Optional.empty()).orElseThrow().getValue());
+        assertEquals("new", cache.getById(1L, id -> Optional.empty()).orElseThrow().getValue());
+    }
+
+    @Test
+    void onConfigurationChanged_WhenOlderCommitArrivesAfterDeletion_ShouldKeepTheKeyDeleted() {
+        // Arrange
+        Configuration loaded = configuration("a.key", "loaded", 5L);
+
+        // Act
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.DELETED, configuration("a.key", "old", 7L), "a.key"));
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, configuration("a.key", "old", 6L), "a.key"));
+
+        // Assert
+        assertTrue(cache.getByKey("a.key", key -> Optional.of(loaded)).isEmpty());
+        assertTrue(cache.getById(1L, id -> Optional.of(loaded)).isEmpty());
+        assertTrue(cache.getAllByKeys(List.of("a.key"), keys -> List.of(loaded)).isEmpty());
+    }
+
+    @Test
+    void onConfigurationChanged_WhenRenameArrivesFirst_ShouldNotServeTheOldKey() {
+        // Act
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, configuration("b.key", "renamed", 6L), "a.key"));
+        cache.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, configuration("a.key", "old", 5L), "a.key"));
+
+        // Assert
+        assertTrue(cache.getByKey("a.key", key -> Optional.empty()).isEmpty());
+        assertEquals("renamed", cache.getById(1L, id -> Optional.empty()).orElseThrow().getValue());
+    }
+
+    private static Configuration configuration(String key, String value, long revision) {
+        Configuration configuration = new Configuration();
+        configuration.setId(1L);
+        configuration.setKey(key);
+        configuration.setValue(value);
+        configuration.setRevision(revision);
+        return configuration;
+    }
+}
@@ -0,0 +1,181 @@
+package com.configmanager.configservice.cache;
+
+import com.configmanager.configservice.dto.OverlayContext;
+import com.configmanager.configservice.dto.ResolvedConfiguration;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import com.configmanager.configservice.event.ConfigurationOverlayChangedEvent;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.model.ConfigurationOverlay;
+import com.configmanager.configservice.model.ConfigurationOverlay.Scope;
+import com.configmanager.configservice.repository.ConfigurationOverlayRepository;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConfigurationOverlayResolver.
+ * Tests that the most specific overlay wins, that views are built once and updated per changed key,
+ * that names without overlays share a view, that writes arriving out of order do not replace newer ones
+ * and that removals are forgotten once no older change is pending.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConfigurationOverlayResolverTest {
+
+    private static final OverlayContext PROD_EU_A = new OverlayContext("prod", "eu", "a");
+
+    private static final OverlayContext PROD_US = new OverlayContext("prod", "us", null);
+
+    @Mock
+    private ConfigurationRepository configurationRepository;
+
+    @Mock
+    private ConfigurationOverlayRepository overlayRepository;
+
+    @Mock
+    private ConfigurationSnapshotStore snapshotStore;
+
+    private PendingRevisionTracker pendingRevisions;
+
+    private ConfigurationOverlayResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        when(snapshotStore.current()).thenReturn(Optional.empty());
+        when(configurationRepository.findAll()).thenReturn(List.of(configuration(1L, "a.key", "default", 1L)));
+        when(overlayRepository.findByRevisionGreaterThanOrderByRevision(anyLong(), any())).thenReturn(List.of(
+            overlay("a.key", Scope.ENVIRONMENT, "prod", "env", 2L),
+            overlay("a.key", Scope.REGION, "eu", "region", 3L)));
+        pendingRevisions = new PendingRevisionTracker();
+        resolver = new ConfigurationOverlayResolver(configurationRepository, overlayRepository, snapshotStore,
+            pendingRevisions, 10, 500);
+    }
+
+    @Test
+    void resolve_ShouldPreferTheMostSpecificOverlay() {
+        // Act
+        ResolvedConfiguration euA = resolver.resolve("a.key", PROD_EU_A).orElseThrow();
+        ResolvedConfiguration us = resolver.resolve("a.key", PROD_US).orElseThrow();
+        ResolvedConfiguration none = resolver.resolve("a.key", new OverlayContext(null, null, null)).orElseThrow();
+
+        // Assert
+        assertEquals("region", euA.getValue());
+        assertEquals(Scope.REGION, euA.getScope());
+        assertEquals("eu", euA.getScopeValue());
+        assertEquals("env", us.getValue());
+        assertEquals("default", none.getValue());
+        assertNull(none.getScope());
+        assertTrue(resolver.resolve("missing.key", PROD_EU_A).isEmpty());
+        verify(configurationRepository, times(1)).findAll();
+    }
+
+    @Test
+    void resolve_WhenNamesHaveNoOverlays_ShouldShareOneView() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        resolver.bindTo(registry);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            resolver.resolve("a.key", new OverlayContext("prod", "eu", "instance-" + i));
+        }
+        ResolvedConfiguration resolved = resolver.resolve("a.key", new OverlayContext("prod", "eu", "other")).orElseThrow();
+
+        // Assert
+        assertEquals("region", resolved.getValue());
+        assertEquals(1.0, registry.get("cache.size").tag("cache", "configurations.resolvedViews").gauge().value());
+    }
+
+    @Test
+    void onOverlayChanged_ShouldUpdateOnlyViewsWithinTheScope() {
+        // Arrange
+        resolver.resolve("a.key", PROD_EU_A);
+        resolver.resolve("a.key", PROD_US);
+
+        // Act
+        resolver.onOverlayChanged(new ConfigurationOverlayChangedEvent(overlay("a.key", Scope.INSTANCE, "a", "instance", 4L)));
+        ConfigurationOverlay removed = overlay("a.key", Scope.ENVIRONMENT, "prod", "env", 5L);
+        removed.setDeleted(true);
+        resolver.onOverlayChanged(new ConfigurationOverlayChangedEvent(removed));
+
+        // Assert
+        assertEquals("instance", resolver.resolve("a.key", PROD_EU_A).orElseThrow().getValue());
+        assertEquals("default", resolver.resolve("a.key", PROD_US).orElseThrow().getValue());
+    }
+
+    @Test
+    void onConfigurationChanged_ShouldUpdateDefaultsAndIgnoreStaleWrites() {
+        // Arrange
+        resolver.resolve("a.key", PROD_US);
+        Configuration renamed = configuration(1L, "b.key", "renamed", 6L);
+        Configuration stale = configuration(1L, "a.key", "stale", 4L);
+
+        // Act
+        resolver.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, renamed, "a.key"));
+        resolver.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, stale, "a.key"));
+
+        // Assert
+        assertTrue(resolver.resolve("a.key", PROD_US).isEmpty());
+        ResolvedConfiguration resolved = resolver.resolve("b.key", PROD_US).orElseThrow();
+        assertEquals("renamed", resolved.getValue());
+        assertEquals(6L, resolved.getRevision());
+        assertEquals(1, resolver.resolveAll(PROD_US).size());
+    }
+
+    @Test
+    void poll_WhenNoOlderChangeIsPending_ShouldForgetRemovals() {
+        // Arrange
+        Object pendingWriter = new Object();
+        resolver.resolve("a.key", PROD_US);
+        pendingRevisions.hold(pendingWriter, 4L);
+        resolver.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED,
+            configuration(1L, "b.key", "renamed", 6L), "a.key"));
+        ConfigurationOverlay removed = overlay("a.key", Scope.ENVIRONMENT, "prod", "env", 5L);
+        removed.setDeleted(true);
+        resolver.onOverlayChanged(new ConfigurationOverlayChangedEvent(removed));
+        resolver.poll();
+        assertEquals(2, resolver.getRememberedRemovals());
+
+        // Act
+        pendingRevisions.release(pendingWriter);
+        resolver.poll();
+
+        // Assert
+        assertEquals(0, resolver.getRememberedRemovals());
+        assertTrue(resolver.resolve("a.key", PROD_US).isEmpty());
+        assertEquals("renamed", resolver.resolve("b.key", PROD_US).orElseThrow().getValue());
+    }
+
+    private static Configuration configuration(Long id, String key, String value, long revision) {
+        Configuration configuration = new Configuration();
+        configuration.setId(id);
+        configuration.setKey(key);
+        configuration.setValue(value);
+        configuration.setRevision(revision);
+        return configuration;
+    }
+
+    private static ConfigurationOverlay overlay(String key, Scope scope, String scopeValue, String value, long revision) {
+        ConfigurationOverlay overlay = new ConfigurationOverlay();
+        overlay.setKey(key);
+        overlay.setScope(scope);
+        overlay.setScopeValue(scopeValue);
+        overlay.setValue(value);
+        overlay.setRevision(revision);
+        return overlay;
+    }
+}
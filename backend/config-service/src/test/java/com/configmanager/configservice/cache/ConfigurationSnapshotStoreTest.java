@@ -0,0 +1,164 @@
+package com.configmanager.configservice.cache;
+
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConfigurationSnapshotStore.
+ * Tests that snapshots are only published for committed transactions, that late changes cannot bring
+ * back a deleted configuration and that deletions are forgotten once no older change is pending.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConfigurationSnapshotStoreTest {
+
+    @Mock
+    private ConfigurationRepository configurationRepository;
+
+    private PendingRevisionTracker pendingRevisions;
+
+    private ConfigurationSnapshotStore snapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        when(configurationRepository.findAll()).thenReturn(Collections.emptyList());
+        pendingRevisions = new PendingRevisionTracker();
+        snapshotStore = new ConfigurationSnapshotStore(configurationRepository, pendingRevisions, true);
+        snapshotStore.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onConfigurationChanged_WhenTransactionCommits_ShouldPublishAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        snapshotStore.onConfigurationChanged(created(1L, "a.key"));
+        snapshotStore.onConfigurationChanged(created(2L, "b.key"));
+
+        // Assert
+        assertEquals(0, snapshotStore.current().orElseThrow().size());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        ConfigurationSnapshot snapshot = snapshotStore.current().orElseThrow();
+        assertEquals(2, snapshot.size());
+        assertTrue(snapshot.findByKey("b.key").isPresent());
+    }
+
+    @Test
+    void onConfigurationChanged_WhenTransactionRollsBack_ShouldDiscardChanges() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        snapshotStore.onConfigurationChanged(created(1L, "a.key"));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertEquals(0, snapshotStore.current().orElseThrow().size());
+        assertFalse(TransactionSynchronizationManager.hasResource(snapshotStore));
+    }
+
+    @Test
+    void onConfigurationChanged_WhenRenamed_ShouldReindexKey() {
+        // Arrange
+        snapshotStore.onConfigurationChanged(created(1L, "a.key"));
+        Configuration renamed = configuration(1L, "renamed.key");
+
+        // Act
+        snapshotStore.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, renamed, "a.key"));
+
+        // Assert
+        ConfigurationSnapshot snapshot = snapshotStore.current().orElseThrow();
+        assertFalse(snapshot.findByKey("a.key").isPresent());
+        assertEquals(1L, snapshot.findByKey("renamed.key").orElseThrow().getId());
+        assertTrue(snapshot.findByPrefix("a.", null, 10).isEmpty());
+        assertEquals(1, snapshot.findByPrefix("renamed.", null, 10).size());
+    }
+
+    @Test
+    void onConfigurationChanged_WhenStaleUpdateArrivesAfterDelete_ShouldNotResurrect() {
+        // Arrange
+        Object staleWriter = new Object();
+        Configuration deleted = configuration(1L, "a.key");
+        deleted.setRevision(3L);
+        snapshotStore.onConfigurationChanged(created(1L, "a.key"));
+        pendingRevisions.hold(staleWriter, 2L);
+        snapshotStore.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.DELETED, deleted, "a.key"));
+        Configuration stale = configuration(1L, "a.key");
+        stale.setRevision(2L);
+
+        // Act
+        snapshotStore.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, stale, "a.key"));
+        pendingRevisions.release(staleWriter);
+
+        // Assert
+        assertFalse(snapshotStore.current().orElseThrow().findByKey("a.key").isPresent());
+    }
+
+    @Test
+    void onConfigurationChanged_WhenNoOlderChangeIsPending_ShouldForgetDeletions() {
+        // Arrange
+        Object pendingWriter = new Object();
+        Configuration deleted = configuration(1L, "a.key");
+        deleted.setRevision(3L);
+        snapshotStore.onConfigurationChanged(created(1L, "a.key"));
+        pendingRevisions.hold(pendingWriter, 2L);
+        snapshotStore.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.DELETED, deleted, "a.key"));
+        assertEquals(1, snapshotStore.current().orElseThrow().getRememberedDeletions());
+        Configuration next = configuration(2L, "b.key");
+        next.setRevision(4L);
+
+        // Act
+        pendingRevisions.release(pendingWriter);
+        snapshotStore.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.CREATED, next, "b.key"));
+
+        // Assert
+        assertEquals(0, snapshotStore.current().orElseThrow().getRememberedDeletions());
+        assertFalse(snapshotStore.current().orElseThrow().findByKey("a.key").isPresent());
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private ConfigurationChangedEvent created(Long id, String key) {
+        return new ConfigurationChangedEvent(ChangeType.CREATED, configuration(id, key), key);
+    }
+
+    private Configuration configuration(Long id, String key) {
+        Configuration configuration = new Configuration();
+        configuration.setId(id);
+        configuration.setKey(key);
+        configuration.setValue("value");
+        return configuration;
+    }
+}
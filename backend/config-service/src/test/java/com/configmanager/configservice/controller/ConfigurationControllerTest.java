@@ -0,0 +1,345 @@
+package com.configmanager.configservice.controller;
+
+import com.configmanager.configservice.cache.ConfigurationOverlayResolver;
+import com.configmanager.configservice.cache.ConfigurationSnapshotStore;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationOverlayRepository;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import com.configmanager.configservice.service.ConfigurationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the conditional GET support of ConfigurationController.
+ * Tests that ETags follow revisions and that matching requests get 304 without a body,
+ * that listings describe values without returning them, and that earlier versions stay readable
+ * by key and by revision, that deletions stay visible to delta sync after the key is created again,
+ * and that overlays change the value resolved for matching contexts only and end with their configuration.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser
+class ConfigurationControllerTest {
+
+    private static final String TEST_USERNAME = "testUser";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ConfigurationRepository configurationRepository;
+
+    @Autowired
+    private ConfigurationOverlayRepository overlayRepository;
+
+    @Autowired
+    private ConfigurationSnapshotStore snapshotStore;
+
+    @Autowired
+    private ConfigurationOverlayResolver overlayResolver;
+
+    private Configuration created;
+
+    @BeforeEach
+    void setUp() {
+        configurationRepository.deleteAll();
+        overlayRepository.deleteAll();
+        snapshotStore.load();
+        Configuration configuration = new Configuration();
+        configuration.setKey("etag.key");
+        configuration.setValue("value");
+        created = configurationService.createConfiguration(configuration, TEST_USERNAME);
+    }
+
+    @Test
+    void getConfigurationByKey_WhenEtagMatches_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        String etag = "\"" + created.getRevision() + "\"";
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs/key/etag.key"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/api/configs/key/etag.key").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void getConfigurationByKey_WhenUpdated_ShouldReturnNewContent() throws Exception {
+        // Arrange
+        String etag = "\"" + created.getRevision() + "\"";
+        created.setValue("changed");
+        configurationService.updateConfiguration(created.getId(), created, TEST_USERNAME);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs/key/etag.key").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.value").value("changed"));
+    }
+
+    @Test
+    void getAllConfigurations_WhenEtagMatches_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/configs").param("limit", "10"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs").param("limit", "10").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/configs").param("limit", "20").header("If-None-Match", etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void getConfigurationsByPrefix_WhenCursorDiffers_ShouldNotMatchTheEtag() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/configs/prefix/etag.").param("limit", "10"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs/prefix/etag.").param("limit", "10").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/configs/prefix/etag.").param("afterKey", "etag.a").param("limit", "10")
+                .header("If-None-Match", etag))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/configs/prefix/etag.key").param("limit", "10").header("If-None-Match", etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllConfigurations_WhenValueIsLarge_ShouldListSummaryAndServeValueByKey() throws Exception {
+        // Arrange
+        String value = "x".repeat(20_000);
+        Configuration large = new Configuration();
+        large.setKey("large.key");
+        large.setValue(value);
+        configurationService.createConfiguration(large, TEST_USERNAME);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs").param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[1].key").value("large.key"))
+            .andExpect(jsonPath("$.items[1].valueSize").value(20_000))
+            .andExpect(jsonPath("$.items[1].valueHash").isString())
+            .andExpect(jsonPath("$.items[1]", not(hasKey("value"))));
+        mockMvc.perform(get("/api/configs/key/large.key"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.value").value(value));
+    }
+
+    @Test
+    void getConfigurationsByKeys_WhenKeyIsBlankOrNull_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/configs/batch-get")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"keys\": [\"etag.key\", \" \"]}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/configs/batch-get")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"keys\": [\"etag.key\", null]}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/configs/batch-get")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"keys\": [\"etag.key\"]}"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void getConfigurationHistory_WhenUpdatedAndDeleted_ShouldReturnVersionsNewestFirst() throws Exception {
+        // Arrange
+        Configuration configuration = new Configuration();
+        configuration.setKey("history.key");
+        configuration.setValue("first");
+        Configuration saved = configurationService.createConfiguration(configuration, TEST_USERNAME);
+        saved.setValue("second");
+        configurationService.updateConfiguration(saved.getId(), saved, TEST_USERNAME);
+        configurationService.deleteConfiguration(saved.getId());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs/key/history.key/history"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(3)))
+            .andExpect(jsonPath("$.items[0].deleted").value(true))
+            .andExpect(jsonPath("$.items[1].value").value("second"))
+            .andExpect(jsonPath("$.items[2].value").value("first"))
+            .andExpect(jsonPath("$.nextBeforeRevision").doesNotExist());
+        mockMvc.perform(get("/api/configs/key/history.key/history").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(2)))
+            .andExpect(jsonPath("$.nextBeforeRevision").value(saved.getRevision() + 1));
+    }
+
+    @Test
+    void getConfigurationsAsOf_WhenRevisionIsInThePast_ShouldReturnConfigurationsAsTheyWere() throws Exception {
+        // Arrange
+        Configuration first = new Configuration();
+        first.setKey("asof.a");
+        first.setValue("old");
+        Configuration savedFirst = configurationService.createConfiguration(first, TEST_USERNAME);
+        long asOfRevision = savedFirst.getRevision();
+        savedFirst.setValue("new");
+        configurationService.updateConfiguration(savedFirst.getId(), savedFirst, TEST_USERNAME);
+        Configuration second = new Configuration();
+        second.setKey("asof.b");
+        second.setValue("later");
+        configurationService.createConfiguration(second, TEST_USERNAME);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs").param("asOfRevision", String.valueOf(asOfRevision))
+                .param("afterKey", "asof.").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].key").value("asof.a"))
+            .andExpect(jsonPath("$.items[0].revision").value(asOfRevision))
+            .andExpect(jsonPath("$.items[1].key").value(not("asof.b")));
+    }
+
+    @Test
+    void getConfigurationsAsOf_WhenKeyWasRenamed_ShouldOnlyListTheKeyCurrentAtThatRevision() throws Exception {
+        // Arrange
+        Configuration configuration = new Configuration();
+        configuration.setKey("rename.from");
+        configuration.setValue("value");
+        Configuration saved = configurationService.createConfiguration(configuration, TEST_USERNAME);
+        saved.setKey("rename.to");
+        Configuration renamed = configurationService.updateConfiguration(saved.getId(), saved, TEST_USERNAME);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs").param("asOfRevision", String.valueOf(renamed.getRevision()))
+                .param("afterKey", "rename.").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].key").value("rename.to"))
+            .andExpect(jsonPath("$.nextKey").doesNotExist());
+        mockMvc.perform(get("/api/configs").param("asOfRevision", String.valueOf(saved.getRevision()))
+                .param("afterKey", "rename.").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].key").value("rename.from"));
+    }
+
+    @Test
+    void getConfigurationsAsOf_WhenEarlierKeysWereDeleted_ShouldStillFillThePage() throws Exception {
+        // Arrange
+        for (String key : List.of("gone.a", "gone.b")) {
+            Configuration configuration = new Configuration();
+            configuration.setKey(key);
+            configuration.setValue("value");
+            configurationService.deleteConfiguration(
+                configurationService.createConfiguration(configuration, TEST_USERNAME).getId());
+        }
+        Configuration live = new Configuration();
+        live.setKey("gone.c");
+        live.setValue("value");
+        Configuration saved = configurationService.createConfiguration(live, TEST_USERNAME);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs").param("asOfRevision", String.valueOf(saved.getRevision()))
+                .param("afterKey", "gone.").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(1)))
+            .andExpect(jsonPath("$.items[0].key").value("gone.c"));
+    }
+
+    @Test
+    void getChanges_WhenKeyDeletedAndCreatedAgain_ShouldStillReportTheDeletion() throws Exception {
+        // Arrange
+        long sinceRevision = created.getRevision();
+        configurationService.deleteConfiguration(created.getId());
+        Configuration configuration = new Configuration();
+        configuration.setKey("etag.key");
+        configuration.setValue("again");
+        Configuration recreated = configurationService.createConfiguration(configuration, TEST_USERNAME);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs/changes").param("sinceRevision", String.valueOf(sinceRevision)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes", hasSize(2)))
+            .andExpect(jsonPath("$.changes[0].id").value(created.getId()))
+            .andExpect(jsonPath("$.changes[0].deleted").value(true))
+            .andExpect(jsonPath("$.changes[1].id").value(recreated.getId()))
+            .andExpect(jsonPath("$.changes[1].value").value("again"))
+            .andExpect(jsonPath("$.revision").value(recreated.getRevision()));
+    }
+
+    @Test
+    void getResolvedConfiguration_WhenOverlaysSet_ShouldApplyTheMostSpecificMatch() throws Exception {
+        // Arrange
+        overlayResolver.invalidateAll();
+        mockMvc.perform(get("/api/configs/key/etag.key/resolved").param("environment", "prod"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.value").value("value"));
+        mockMvc.perform(put("/api/configs/key/etag.key/overlays/environment/prod")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"value\": \"prod value\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.scope").value("ENVIRONMENT"));
+        mockMvc.perform(put("/api/configs/key/etag.key/overlays/region/eu")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"value\": \"eu value\"}"))
+            .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs/key/etag.key/resolved").param("environment", "prod"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.value").value("prod value"))
+            .andExpect(jsonPath("$.scope").value("ENVIRONMENT"));
+        mockMvc.perform(get("/api/configs/resolved").param("environment", "prod").param("region", "eu"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].value").value("eu value"));
+        mockMvc.perform(delete("/api/configs/key/etag.key/overlays/region/eu"))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/configs/key/etag.key/resolved").param("environment", "prod").param("region", "eu"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.value").value("prod value"));
+        mockMvc.perform(get("/api/configs/key/etag.key/overlays"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(put("/api/configs/key/etag.key/overlays/galaxy/milky-way")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"value\": \"x\"}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/configs/resolved").param("instance", "i".repeat(65)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getResolvedConfiguration_WhenKeyDeletedAndCreatedAgain_ShouldNotApplyFormerOverlays() throws Exception {
+        // Arrange
+        overlayResolver.invalidateAll();
+        mockMvc.perform(put("/api/configs/key/etag.key/overlays/environment/staging")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"value\": \"staging value\"}"))
+            .andExpect(status().isOk());
+        configurationService.deleteConfiguration(created.getId());
+        Configuration configuration = new Configuration();
+        configuration.setKey("etag.key");
+        configuration.setValue("again");
+        configurationService.createConfiguration(configuration, TEST_USERNAME);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/configs/key/etag.key/resolved").param("environment", "staging"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.value").value("again"))
+            .andExpect(jsonPath("$.scope").doesNotExist());
+        mockMvc.perform(get("/api/configs/key/etag.key/overlays"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
@@ -0,0 +1,142 @@
+package com.configmanager.configservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReplicaRoutingDataSource against two embedded databases standing in for the primary
+ * and a replica. Each database holds a single row naming itself, so a query shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+
+    private EmbeddedDatabase replica;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void getConnection_WhenTransactionIsReadOnly_ShouldUseReplica() {
+        // Act
+        String node = readOnly.execute(status -> node());
+
+        // Assert
+        assertEquals("replica", node);
+    }
+
+    @Test
+    void getConnection_WhenTransactionIsReadWrite_ShouldUsePrimary() {
+        // Act
+        String node = readWrite.execute(status -> node());
+
+        // Assert
+        assertEquals("primary", node);
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void getConnection_WhenCallerWroteRecently_ShouldReadFromPrimary() {
+        // Arrange
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        // Act
+        String ownRead = readOnly.execute(status -> node());
+        authenticate("bob");
+        String otherRead = readOnly.execute(status -> node());
+
+        // Assert
+        assertEquals("primary", ownRead);
+        assertEquals("replica", otherRead);
+        assertTrue(routingDataSource.isPinnedToPrimary("alice"));
+    }
+
+    @Test
+    void getConnection_WhenWriteRolledBack_ShouldKeepReadingFromReplica() {
+        // Arrange
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        // Act
+        String node = readOnly.execute(status -> node());
+
+        // Assert
+        assertEquals("replica", node);
+        assertFalse(routingDataSource.isPinnedToPrimary("alice"));
+    }
+
+    @Test
+    void getConnection_WhenPrimaryRequired_ShouldUsePrimaryInReadOnlyTransaction() {
+        // Act
+        String node = ReadRouting.fromPrimary(() -> readOnly.execute(status -> node()));
+
+        // Assert
+        assertEquals("primary", node);
+        assertFalse(ReadRouting.isPrimaryRequired());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
@@ -0,0 +1,100 @@
+package com.configmanager.configservice.migration;
+
+import com.configmanager.configservice.dto.ConfigurationVersion;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.service.ConfigurationHistoryService;
+import com.configmanager.configservice.service.ConfigurationService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for upgrading a database created by the first release.
+ * The schema ddl-auto=update generated then, with its generated constraint names, is created and filled
+ * before the application starts; the application then migrates it, Hibernate validates the result against
+ * the entities, and the rows written before are read and updated through the services.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + BaselineSchemaMigrationTest.URL,
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("h2")
+class BaselineSchemaMigrationTest {
+
+    static final String URL =
+        "jdbc:h2:mem:baselinedb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=KEY,VALUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ConfigurationHistoryService historyService;
+
+    @BeforeAll
+    static void createBaselineSchema() {
+        JdbcTemplate baseline = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        baseline.execute("create table configurations (id bigint not null auto_increment, created_at datetime(6), "
+            + "created_by varchar(255), description varchar(255), `key` varchar(255) not null, "
+            + "last_modified_by varchar(255), updated_at datetime(6), value varchar(255) not null, "
+            + "primary key (id)) engine=InnoDB");
+        baseline.execute("alter table configurations add constraint UK_1r0gtmpovbs2jc7ldpur0sr59 unique (`key`)");
+        baseline.execute("create table users (id bigint not null auto_increment, password varchar(255) not null, "
+            + "role varchar(255) not null, username varchar(255) not null, primary key (id)) engine=InnoDB");
+        baseline.execute("alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username)");
+        baseline.update("INSERT INTO configurations (`key`, value, description, created_by, created_at, updated_at) "
+            + "VALUES ('legacy.url', 'https://example.com/ü', 'Written by the first release', 'admin', "
+            + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        baseline.update("INSERT INTO users (username, password, role) VALUES ('alice', 'hash', 'USER')");
+    }
+
+    @Test
+    void migrate_WhenSchemaIsFromFirstRelease_ShouldUpgradeTablesAndKeepRows() {
+        // Act
+        Configuration legacy = configurationService.getConfigurationByKey("legacy.url");
+        List<String> constraints = jdbcTemplate.queryForList(
+            "SELECT constraint_name FROM information_schema.table_constraints WHERE table_schema = 'public' "
+                + "UNION SELECT index_name FROM information_schema.indexes WHERE table_schema = 'public'", String.class);
+
+        // Assert
+        assertThat(legacy.getValue()).isEqualTo("https://example.com/ü");
+        assertThat(legacy.getRevision()).isPositive();
+        assertThat(legacy.getValueSize()).isEqualTo(22);
+        assertThat(legacy.getValueHash()).hasSize(64);
+        assertThat(constraints)
+            .contains("uk_configurations_key_deleted_revision", "idx_configurations_revision", "idx_users_token_version",
+                "uk_refresh_tokens_token_hash")
+            .doesNotContain("uk_1r0gtmpovbs2jc7ldpur0sr59");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT token_version FROM users WHERE username = 'alice'", Long.class)).isZero();
+    }
+
+    @Test
+    void migrate_WhenSchemaIsFromFirstRelease_ShouldContinueRevisionsAndHistory() {
+        // Arrange
+        Configuration legacy = configurationService.getConfigurationByKey("legacy.url");
+        Configuration update = new Configuration();
+        update.setKey("legacy.url");
+        update.setValue("https://example.org");
+
+        // Act
+        Configuration updated = configurationService.updateConfiguration(legacy.getId(), update, "admin");
+        List<ConfigurationVersion> history = historyService.getKeyHistory("legacy.url", null, 10).getItems();
+
+        // Assert
+        assertThat(updated.getRevision()).isGreaterThan(legacy.getRevision());
+        assertThat(history).extracting(ConfigurationVersion::getValue)
+            .containsExactly("https://example.org", "https://example.com/ü");
+    }
+}
@@ -0,0 +1,50 @@
+package com.configmanager.configservice.migration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the schema migrations of the configuration service.
+ * Starts the application on a database built by Flyway alone, so Hibernate validates that the
+ * migrations match the entities, and checks that the indexes the queries rely on exist.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=KEY,VALUE;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("h2")
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_WhenDatabaseIsEmpty_ShouldCreateIndexesUsedByQueries() {
+        // Act
+        List<String> indexes = jdbcTemplate.queryForList(
+            "SELECT constraint_name FROM information_schema.table_constraints WHERE table_schema = 'public' "
+                + "UNION SELECT index_name FROM information_schema.indexes WHERE table_schema = 'public'", String.class);
+
+        // Assert
+        assertThat(indexes).contains(
+            "uk_configurations_key_deleted_revision",
+            "idx_configurations_revision",
+            "uk_key_grants_principal_prefix",
+            "uk_configuration_history_key_revision",
+            "idx_configuration_history_revision",
+            "idx_configuration_change_log_created_at",
+            "idx_users_token_version",
+            "idx_refresh_tokens_family",
+            "idx_configuration_access_stats_hits",
+            "uk_configuration_overlays_key_scope",
+            "idx_configuration_overlays_revision");
+    }
+}
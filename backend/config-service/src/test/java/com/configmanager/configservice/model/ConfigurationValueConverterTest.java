@@ -0,0 +1,47 @@
+package com.configmanager.configservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConfigurationValueConverter.
+ * Tests that large values are compressed at rest and every stored form reads back unchanged.
+ */
+class ConfigurationValueConverterTest {
+
+    @Test
+    void encode_WhenBelowThreshold_ShouldStorePlainUtf8() {
+        // Arrange
+        String value = "small value ü";
+
+        // Act
+        byte[] stored = ConfigurationValueConverter.encode(value);
+
+        // Assert
+        assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), stored);
+        assertEquals(value, ConfigurationValueConverter.decode(stored));
+    }
+
+    @Test
+    void encode_WhenAboveThreshold_ShouldCompressAndRoundTrip() {
+        // Arrange
+        String value = "{\"certificate\": \"" + "MIIB".repeat(2000) + "\"}";
+
+        // Act
+        byte[] stored = ConfigurationValueConverter.encode(value);
+
+        // Assert
+        assertTrue(stored.length < value.length() / 10);
+        assertEquals(value, ConfigurationValueConverter.decode(stored));
+    }
+
+    @Test
+    void decode_WhenNull_ShouldReturnNull() {
+        // Act & Assert
+        assertNull(ConfigurationValueConverter.encode(null));
+        assertNull(ConfigurationValueConverter.decode(null));
+    }
+}
@@ -0,0 +1,146 @@
+package com.configmanager.configservice.security;
+
+import com.configmanager.configservice.model.KeyGrant;
+import com.configmanager.configservice.model.KeyGrant.Access;
+import com.configmanager.configservice.model.KeyGrant.PrincipalType;
+import com.configmanager.configservice.repository.KeyGrantRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KeyPermissionService and the compiled KeyAccess tries it hands out.
+ */
+@ExtendWith(MockitoExtension.class)
+class KeyPermissionServiceTest {
+
+    @Mock
+    private KeyGrantRepository keyGrantRepository;
+
+    @Test
+    void forAuthentication_WhenDisabled_ShouldAllowEverything() {
+        // Arrange
+        KeyPermissionService service = new KeyPermissionService(keyGrantRepository, false, 100);
+
+        // Act
+        KeyAccess access = service.forAuthentication(user("alice", "USER"));
+
+        // Assert
+        assertTrue(access.isUnrestricted());
+        assertTrue(access.canWrite("payments.timeout"));
+    }
+
+    @Test
+    void forAuthentication_WhenAdmin_ShouldAllowEverything() {
+        // Arrange
+        KeyPermissionService service = enabledService();
+
+        // Act
+        KeyAccess access = service.forAuthentication(user("root", "ADMIN"));
+
+        // Assert
+        assertTrue(access.canWrite("anything"));
+    }
+
+    @Test
+    void forAuthentication_ShouldCombineRoleAndUserGrantsByPrefix() {
+        // Arrange
+        KeyPermissionService service = enabledService(
+            grant(PrincipalType.ROLE, "USER", "payments.*", Access.READ),
+            grant(PrincipalType.USER, "alice", "payments.limits.", Access.WRITE),
+            grant(PrincipalType.USER, "bob", "", Access.WRITE));
+
+        // Act
+        KeyAccess access = service.forAuthentication(user("alice", "USER"));
+
+        // Assert
+        assertFalse(access.isUnrestricted());
+        assertTrue(access.canRead("payments.timeout"));
+        assertFalse(access.canWrite("payments.timeout"));
+        assertTrue(access.canWrite("payments.limits.daily"));
+        assertFalse(access.canRead("payment"));
+        assertFalse(access.canRead("db.url"));
+        assertTrue(service.forAuthentication(user("bob", "USER")).isUnrestricted());
+    }
+
+    @Test
+    void forAuthentication_WhenNoGrantApplies_ShouldDenyEverything() {
+        // Arrange
+        KeyPermissionService service = enabledService(grant(PrincipalType.ROLE, "OPS", "", Access.READ));
+
+        // Act
+        KeyAccess access = service.forAuthentication(user("alice", "USER"));
+
+        // Assert
+        assertFalse(access.canRead("payments.timeout"));
+        assertFalse(access.canRead(""));
+    }
+
+    @Test
+    void forAuthentication_ShouldReuseCompiledAccessUntilGrantsChange() {
+        // Arrange
+        KeyPermissionService service = enabledService(grant(PrincipalType.ROLE, "USER", "app.", Access.READ));
+        KeyAccess first = service.forAuthentication(user("alice", "USER"));
+        long generation = service.getGeneration();
+
+        // Act
+        service.refresh();
+        KeyAccess unchanged = service.forAuthentication(user("alice", "USER"));
+        when(keyGrantRepository.findAll(any(Sort.class)))
+            .thenReturn(List.of(grant(PrincipalType.ROLE, "USER", "app.", Access.WRITE)));
+        service.refresh();
+        KeyAccess changed = service.forAuthentication(user("alice", "USER"));
+
+        // Assert
+        assertSame(first, unchanged);
+        assertNotSame(first, changed);
+        assertTrue(changed.canWrite("app.name"));
+        assertEquals(generation + 1, service.getGeneration());
+    }
+
+    @Test
+    void saveGrant_WhenGrantExists_ShouldUpdateAccessAndStripWildcard() {
+        // Arrange
+        KeyPermissionService service = enabledService();
+        KeyGrant existing = grant(PrincipalType.ROLE, "USER", "payments.", Access.READ);
+        existing.setId(7L);
+        when(keyGrantRepository.findByPrincipalTypeAndPrincipalAndPrefix(PrincipalType.ROLE, "USER", "payments."))
+            .thenReturn(Optional.of(existing));
+        when(keyGrantRepository.save(any(KeyGrant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        KeyGrant saved = service.saveGrant(grant(PrincipalType.ROLE, "USER", "payments.*", Access.WRITE));
+
+        // Assert
+        assertEquals(7L, saved.getId());
+        assertEquals(Access.WRITE, saved.getAccess());
+        verify(keyGrantRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    private KeyPermissionService enabledService(KeyGrant... grants) {
+        when(keyGrantRepository.findAll(any(Sort.class))).thenReturn(List.of(grants));
+        KeyPermissionService service = new KeyPermissionService(keyGrantRepository, true, 100);
+        service.refresh();
+        return service;
+    }
+
+    private static KeyGrant grant(PrincipalType type, String principal, String prefix, Access access) {
+        return new KeyGrant(null, type, principal, prefix, access);
+    }
+
+    private static Authentication user(String username, String role) {
+        return new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_" + role));
+    }
+}
@@ -0,0 +1,63 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.cache.ConfigurationCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ConfigurationAccessStatsService.
+ * Tests that read counts from several flushes add up and that the most read keys come first.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class ConfigurationAccessStatsServiceTest {
+
+    @Autowired
+    private ConfigurationAccessStatsService accessStatsService;
+
+    @Autowired
+    private ConfigurationCache configurationCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        configurationCache.drainAccessCounts();
+        jdbcTemplate.update("DELETE FROM configuration_access_stats");
+    }
+
+    @Test
+    void flush_WhenFlushedTwice_ShouldAddCountsAndRankKeys() {
+        // Arrange
+        read("cold.key", 1);
+        read("warm.key", 3);
+        accessStatsService.flush();
+        read("cold.key", 1);
+        read("hot.key", 5);
+
+        // Act
+        int written = accessStatsService.flush();
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals(2L, jdbcTemplate.queryForObject(
+            "SELECT hits FROM configuration_access_stats WHERE `key` = 'cold.key'", Long.class));
+        assertEquals(List.of("hot.key", "warm.key"), accessStatsService.findHottestKeys(2));
+    }
+
+    private void read(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            configurationCache.getByKey(key, missed -> Optional.empty());
+        }
+    }
+}
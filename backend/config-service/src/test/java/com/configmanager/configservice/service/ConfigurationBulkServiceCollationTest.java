@@ -0,0 +1,73 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.dto.BulkUpsertResponse;
+import com.configmanager.configservice.dto.BulkUpsertResult.Status;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ConfigurationBulkService against an embedded database whose key column
+ * compares case-insensitively, like the MySQL default collation.
+ * Tests that keys differing only in case address one configuration instead of failing the chunk.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:configdb-ci;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+    + "NON_KEYWORDS=KEY,VALUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("h2")
+class ConfigurationBulkServiceCollationTest {
+
+    private static final String TEST_USERNAME = "testUser";
+
+    @Autowired
+    private ConfigurationBulkService configurationBulkService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ConfigurationRepository configurationRepository;
+
+    @BeforeEach
+    void setUp() {
+        configurationRepository.deleteAll();
+        configurationService.createConfiguration(entry("existing.key", "old-value"), TEST_USERNAME);
+    }
+
+    @Test
+    void upsert_WhenKeysDifferOnlyInCase_ShouldWriteOneConfigurationPerKey() {
+        // Act
+        BulkUpsertResponse response = configurationBulkService.upsert(List.of(
+            entry("Mixed.Key", "first"),
+            entry("mixed.key", "second"),
+            entry("EXISTING.KEY", "new-value"),
+            entry("other.key", "other")
+        ), TEST_USERNAME);
+
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getFailed());
+        assertEquals(Status.FAILED, response.getResults().get(0).getStatus());
+        assertEquals(Status.CREATED, response.getResults().get(1).getStatus());
+        assertEquals(Status.UPDATED, response.getResults().get(2).getStatus());
+        assertEquals(Status.CREATED, response.getResults().get(3).getStatus());
+        assertEquals("second", configurationRepository.findByKey("mixed.key").orElseThrow().getValue());
+        assertEquals("new-value", configurationRepository.findByKey("existing.key").orElseThrow().getValue());
+        assertEquals(3, configurationRepository.count());
+    }
+
+    private Configuration entry(String key, String value) {
+        Configuration configuration = new Configuration();
+        configuration.setKey(key);
+        configuration.setValue(value);
+        return configuration;
+    }
+}
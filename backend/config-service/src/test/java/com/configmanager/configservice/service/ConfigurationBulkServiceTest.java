@@ -0,0 +1,84 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.dto.BulkUpsertResponse;
+import com.configmanager.configservice.dto.BulkUpsertResult.Status;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ConfigurationBulkService against an embedded database.
+ * Tests batched creates and updates, per-entry failures and cache coherence.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class ConfigurationBulkServiceTest {
+
+    private static final String TEST_USERNAME = "testUser";
+
+    @Autowired
+    private ConfigurationBulkService configurationBulkService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ConfigurationRepository configurationRepository;
+
+    @BeforeEach
+    void setUp() {
+        configurationRepository.deleteAll();
+        configurationService.createConfiguration(entry("existing.key", "old-value"), TEST_USERNAME);
+    }
+
+    @Test
+    void upsert_ShouldCreateUpdateAndReportFailuresPerEntry() {
+        // Act
+        BulkUpsertResponse response = configurationBulkService.upsert(List.of(
+            entry("new.key", "new-value"),
+            entry("existing.key", "new-value"),
+            entry(" ", "blank-key"),
+            entry("dup.key", "first"),
+            entry("dup.key", "second")
+        ), TEST_USERNAME);
+
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getUpdated());
+        assertEquals(2, response.getFailed());
+        assertEquals(Status.CREATED, response.getResults().get(0).getStatus());
+        assertNotNull(response.getResults().get(0).getId());
+        assertEquals(Status.UPDATED, response.getResults().get(1).getStatus());
+        assertEquals(Status.FAILED, response.getResults().get(2).getStatus());
+        assertEquals(Status.FAILED, response.getResults().get(3).getStatus());
+        assertEquals(Status.CREATED, response.getResults().get(4).getStatus());
+        assertEquals("second", configurationRepository.findByKey("dup.key").orElseThrow().getValue());
+    }
+
+    @Test
+    void upsert_ShouldRefreshReadPath() {
+        // Arrange
+        assertEquals("old-value", configurationService.getConfigurationByKey("existing.key").getValue());
+
+        // Act
+        configurationBulkService.upsert(List.of(entry("existing.key", "new-value")), TEST_USERNAME);
+
+        // Assert
+        assertEquals("new-value", configurationService.getConfigurationByKey("existing.key").getValue());
+    }
+
+    private Configuration entry(String key, String value) {
+        Configuration configuration = new Configuration();
+        configuration.setKey(key);
+        configuration.setValue(value);
+        return configuration;
+    }
+}
@@ -0,0 +1,150 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.cache.ConfigurationCache;
+import com.configmanager.configservice.cache.ConfigurationOverlayResolver;
+import com.configmanager.configservice.cache.PendingRevisionTracker;
+import com.configmanager.configservice.cache.ConfigurationSnapshotStore;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import com.configmanager.configservice.model.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Integration tests for ConfigurationChangeLogService with two instances sharing an embedded database.
+ * The application context is the instance handling writes; a second service instance with its own
+ * origin stands in for another replica tailing the same log.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class ConfigurationChangeLogServiceTest {
+
+    private static final String TEST_USERNAME = "testUser";
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ConfigurationChangeLogService changeLogService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final List<ConfigurationChangedEvent> remoteEvents = new ArrayList<>();
+
+    private ConfigurationChangeLogService otherInstance;
+
+    @BeforeEach
+    void setUp() {
+        otherInstance = instance(Duration.ofHours(1));
+        otherInstance.start();
+    }
+
+    @Test
+    void poll_WhenAnotherInstanceWrites_ShouldPublishLatestStateAsRemoteEvents() {
+        // Arrange
+        Configuration first = configurationService.createConfiguration(configuration("log.first", "old"), TEST_USERNAME);
+        first.setValue("new");
+        configurationService.updateConfiguration(first.getId(), first, TEST_USERNAME);
+        configurationService.createConfiguration(configuration("log.second", "value"), TEST_USERNAME);
+
+        // Act
+        int applied = otherInstance.poll();
+
+        // Assert
+        assertEquals(2, applied);
+        assertEquals(ChangeType.UPDATED, remoteEvents.get(0).getType());
+        assertEquals("new", remoteEvents.get(0).getConfiguration().getValue());
+        assertEquals(ChangeType.CREATED, remoteEvents.get(1).getType());
+        assertEquals("log.second", remoteEvents.get(1).getConfiguration().getKey());
+        assertTrue(remoteEvents.stream().allMatch(ConfigurationChangedEvent::isRemote));
+        assertEquals(0, otherInstance.poll());
+    }
+
+    @Test
+    void poll_WhenRenamedAndWrittenAgain_ShouldAnnounceDeletionOfPreviousKey() {
+        // Arrange
+        Configuration saved = configurationService.createConfiguration(configuration("log.from", "value"), TEST_USERNAME);
+        saved.setKey("log.to");
+        Configuration renamed = configurationService.updateConfiguration(saved.getId(), saved, TEST_USERNAME);
+        renamed.setValue("changed");
+        configurationService.updateConfiguration(renamed.getId(), renamed, TEST_USERNAME);
+
+        // Act
+        otherInstance.poll();
+
+        // Assert
+        assertEquals(2, remoteEvents.size());
+        assertEquals(ChangeType.DELETED, remoteEvents.get(0).getType());
+        assertEquals("log.from", remoteEvents.get(0).getConfiguration().getKey());
+        assertEquals(ChangeType.UPDATED, remoteEvents.get(1).getType());
+        assertEquals("log.to", remoteEvents.get(1).getConfiguration().getKey());
+        assertEquals("changed", remoteEvents.get(1).getConfiguration().getValue());
+    }
+
+    @Test
+    void poll_WhenDeletedByAnotherInstance_ShouldPublishDeletion() {
+        // Arrange
+        Configuration saved = configurationService.createConfiguration(configuration("log.deleted", "value"), TEST_USERNAME);
+        configurationService.deleteConfiguration(saved.getId());
+
+        // Act
+        otherInstance.poll();
+
+        // Assert
+        assertEquals(1, remoteEvents.size());
+        assertEquals(ChangeType.DELETED, remoteEvents.get(0).getType());
+        assertEquals(saved.getId(), remoteEvents.get(0).getConfiguration().getId());
+    }
+
+    @Test
+    void poll_ShouldSkipWritesOfOwnInstance() {
+        // Arrange
+        configurationService.createConfiguration(configuration("log.own", "value"), TEST_USERNAME);
+
+        // Act
+        int applied = changeLogService.poll();
+
+        // Assert
+        assertEquals(0, applied);
+    }
+
+    @Test
+    void purge_ShouldDeleteRowsOlderThanRetention() {
+        // Arrange
+        configurationService.createConfiguration(configuration("log.purged", "value"), TEST_USERNAME);
+        ConfigurationChangeLogService noRetention = instance(Duration.ZERO);
+
+        // Act
+        int purged = noRetention.purge();
+
+        // Assert
+        assertTrue(purged > 0);
+        assertEquals(0L, jdbcTemplate.getJdbcTemplate()
+            .queryForObject("SELECT COUNT(*) FROM configuration_change_log", Long.class));
+    }
+
+    private ConfigurationChangeLogService instance(Duration retention) {
+        return new ConfigurationChangeLogService(jdbcTemplate,
+            event -> remoteEvents.add((ConfigurationChangedEvent) event), mock(ConfigurationSnapshotStore.class), mock(ConfigurationCache.class),
+            mock(ConfigurationOverlayResolver.class), new PendingRevisionTracker(), true, 2, retention);
+    }
+
+    private static Configuration configuration(String key, String value) {
+        Configuration configuration = new Configuration();
+        configuration.setKey(key);
+        configuration.setValue(value);
+        return configuration;
+    }
+}
@@ -1,5 +1,14 @@
 package com.configmanager.configservice.service;
 
+import com.configmanager.configservice.cache.ConfigurationCache;
+import com.configmanager.configservice.cache.ConfigurationSnapshotStore;
+import com.configmanager.configservice.cache.PendingRevisionTracker;
+import com.configmanager.configservice.dto.BatchGetResponse;
+import com.configmanager.configservice.dto.ChangeSet;
+import com.configmanager.configservice.dto.ConfigurationKeyPage;
+import com.configmanager.configservice.dto.ConfigurationPage;
+import com.configmanager.configservice.dto.ConfigurationSummary;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
 import com.configmanager.configservice.model.Configuration;
 import com.configmanager.configservice.repository.ConfigurationRepository;
 import com.configmanager.configservice.exception.ConfigurationNotFoundException;
@@ -7,10 +16,13 @@ import com.configmanager.configservice.exception.DuplicateKeyException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -29,7 +41,17 @@ public class ConfigurationServiceTest {
     @Mock
     private ConfigurationRepository configurationRepository;
 
-    @InjectMocks
+    @Mock
+    private RevisionService revisionService;
+
+    @Mock
+    private ConfigurationOverlayService overlayService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ConfigurationCache configurationCache;
+
     private ConfigurationService configurationService;
 
     private Configuration testConfiguration;
@@ -37,6 +59,11 @@ public class ConfigurationServiceTest {
 
     @BeforeEach
     void setUp() {
+        configurationCache = new ConfigurationCache(100, Duration.ofMinutes(5));
+        configurationService = new ConfigurationService(configurationRepository, configurationCache,
+            new ConfigurationSnapshotStore(configurationRepository, new PendingRevisionTracker(), false), revisionService, overlayService,
+            eventPublisher);
+
         testConfiguration = new Configuration();
         testConfiguration.setId(1L);
         testConfiguration.setKey("test.key");
@@ -137,25 +164,295 @@ public class ConfigurationServiceTest {
     }
 
     @Test
-    void deleteConfiguration_WhenExists_ShouldDelete() {
+    void deleteConfiguration_WhenExists_ShouldLeaveTombstone() {
         // Arrange
-        when(configurationRepository.existsById(1L)).thenReturn(true);
+        when(configurationRepository.findById(1L)).thenReturn(Optional.of(testConfiguration));
+        when(revisionService.next()).thenReturn(7L);
 
         // Act
         configurationService.deleteConfiguration(1L);
 
         // Assert
-        verify(configurationRepository).deleteById(1L);
+        ArgumentCaptor<Configuration> saved = ArgumentCaptor.forClass(Configuration.class);
+        verify(configurationRepository).save(saved.capture());
+        assertTrue(saved.getValue().isDeleted());
+        assertEquals(7L, saved.getValue().getRevision());
+        verify(overlayService).removeOverlays("test.key", 7L);
+        verify(configurationRepository, never()).deleteById(any());
     }
 
     @Test
     void deleteConfiguration_WhenNotExists_ShouldThrowException() {
         // Arrange
-        when(configurationRepository.existsById(1L)).thenReturn(false);
+        when(configurationRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ConfigurationNotFoundException.class,
             () -> configurationService.deleteConfiguration(1L));
         verify(configurationRepository, never()).deleteById(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getConfigurationByKey_WhenCalledTwice_ShouldQueryRepositoryOnce() {
+        // Arrange
+        when(configurationRepository.findByKey("test.key"))
+            .thenReturn(Optional.of(testConfiguration));
+
+        // Act
+        configurationService.getConfigurationByKey("test.key");
+        Configuration result = configurationService.getConfigurationByKey("test.key");
+
+        // Assert
+        assertEquals("test-value", result.getValue());
+        verify(configurationRepository, times(1)).findByKey("test.key");
+    }
+
+    @Test
+    void updateConfiguration_WhenKeyRenamed_ShouldPublishPreviousKey() {
+        // Arrange
+        Configuration renamed = new Configuration();
+        renamed.setKey("renamed.key");
+        renamed.setValue("test-value");
+
+        when(configurationRepository.findById(1L))
+            .thenReturn(Optional.of(testConfiguration));
+        when(configurationRepository.existsByKey("renamed.key"))
+            .thenReturn(false);
+        when(configurationRepository.save(any(Configuration.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        configurationService.updateConfiguration(1L, renamed, TEST_USERNAME);
+
+        // Assert
+        ArgumentCaptor<ConfigurationChangedEvent> eventCaptor = ArgumentCaptor.forClass(ConfigurationChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals("test.key", eventCaptor.getValue().getPreviousKey());
+        assertEquals("renamed.key", eventCaptor.getValue().getConfiguration().getKey());
+        assertTrue(eventCaptor.getValue().isRenamed());
+    }
+
+    @Test
+    void cache_WhenConfigurationRenamed_ShouldDropOldKey() {
+        // Arrange
+        when(configurationRepository.findByKey("test.key"))
+            .thenReturn(Optional.of(testConfiguration), Optional.empty());
+        configurationService.getConfigurationByKey("test.key");
+
+        Configuration renamed = testConfiguration.copy();
+        renamed.setKey("renamed.key");
+
+        // Act
+        configurationCache.onConfigurationChanged(new ConfigurationChangedEvent(
+            ConfigurationChangedEvent.ChangeType.UPDATED, renamed, "test.key"));
+
+        // Assert
+        assertThrows(ConfigurationNotFoundException.class,
+            () -> configurationService.getConfigurationByKey("test.key"));
+        assertEquals(1L, configurationService.getConfigurationByKey("renamed.key").getId());
+        verify(configurationRepository, never()).findByKey("renamed.key");
+    }
+
+    @Test
+    void reads_WhenSnapshotLoaded_ShouldNotQueryRepository() {
+        // Arrange
+        ConfigurationSnapshotStore snapshotStore = new ConfigurationSnapshotStore(configurationRepository, new PendingRevisionTracker(), true);
+        when(configurationRepository.findAll()).thenReturn(Arrays.asList(testConfiguration));
+        snapshotStore.load();
+        ConfigurationService service = new ConfigurationService(
+            configurationRepository, configurationCache, snapshotStore, revisionService, overlayService, eventPublisher);
+
+        // Act
+        List<Configuration> all = service.getAllConfigurations();
+        Configuration byKey = service.getConfigurationByKey("test.key");
+        Configuration byId = service.getConfigurationById(1L);
+
+        // Assert
+        assertEquals(1, all.size());
+        assertEquals("test-value", byKey.getValue());
+        assertEquals("test.key", byId.getKey());
+        assertThrows(ConfigurationNotFoundException.class,
+            () -> service.getConfigurationByKey("missing.key"));
+        verify(configurationRepository, times(1)).findAll();
+        verify(configurationRepository, never()).findByKey(any());
+        verify(configurationRepository, never()).findById(any());
+    }
+
+    @Test
+    void getConfigurationPage_WhenMoreRowsExist_ShouldReturnCursor() {
+        // Arrange
+        Configuration second = testConfiguration.copy();
+        second.setId(2L);
+        second.setKey("second.key");
+        when(configurationRepository.findSummariesAfterId(0L, PageRequest.of(0, 2)))
+            .thenReturn(Arrays.asList(ConfigurationSummary.of(testConfiguration), ConfigurationSummary.of(second)));
+
+        // Act
+        ConfigurationPage page = configurationService.getConfigurationPage(null, 1);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    void getConfigurationPage_WhenNoSnapshotAndRowsAreHidden_ShouldReadOnUntilThePageIsFull() {
+        // Arrange
+        when(configurationRepository.findSummariesAfterId(0L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(ConfigurationSummary.of(withKey(1L, "hidden.a")),
+                ConfigurationSummary.of(withKey(2L, "hidden.b"))));
+        when(configurationRepository.findSummariesAfterId(2L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(ConfigurationSummary.of(withKey(3L, "shown.c")),
+                ConfigurationSummary.of(withKey(4L, "shown.d"))));
+
+        // Act
+        ConfigurationPage page = configurationService.getConfigurationPage(null, 1, key -> key.startsWith("shown."));
+
+        // Assert
+        assertEquals(List.of("shown.c"), page.getItems().stream().map(ConfigurationSummary::getKey).toList());
+        assertEquals(3L, page.getNextCursor());
+    }
+
+    @Test
+    void getConfigurationPage_WhenSnapshotLoaded_ShouldPageFromSnapshot() {
+        // Arrange
+        Configuration second = testConfiguration.copy();
+        second.setId(2L);
+        second.setKey("second.key");
+        ConfigurationSnapshotStore snapshotStore = new ConfigurationSnapshotStore(configurationRepository, new PendingRevisionTracker(), true);
+        when(configurationRepository.findAll()).thenReturn(Arrays.asList(testConfiguration, second));
+        snapshotStore.load();
+        ConfigurationService service = new ConfigurationService(
+            configurationRepository, configurationCache, snapshotStore, revisionService, overlayService, eventPublisher);
+
+        // Act
+        ConfigurationPage page = service.getConfigurationPage(1L, 10);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals("second.key", page.getItems().get(0).getKey());
+        assertNull(page.getNextCursor());
+        verify(configurationRepository, never()).findSummariesAfterId(any(), any());
+    }
+
+    @Test
+    void getConfigurationsByPrefix_WhenSnapshotLoaded_ShouldPageSubtreeInKeyOrder() {
+        // Arrange
+        ConfigurationSnapshotStore snapshotStore = new ConfigurationSnapshotStore(configurationRepository, new PendingRevisionTracker(), true);
+        when(configurationRepository.findAll()).thenReturn(Arrays.asList(
+            withKey(1L, "payments.kafka.topic"), withKey(2L, "payments.db.pool.max"),
+            withKey(3L, "paymentsx.other"), withKey(4L, "orders.db.url"), withKey(5L, "payments.db.url")));
+        snapshotStore.load();
+        ConfigurationService service = new ConfigurationService(
+            configurationRepository, configurationCache, snapshotStore, revisionService, overlayService, eventPublisher);
+
+        // Act
+        ConfigurationKeyPage first = service.getConfigurationsByPrefix("payments.", null, 2);
+        ConfigurationKeyPage second = service.getConfigurationsByPrefix("payments.", first.getNextKey(), 2);
+
+        // Assert
+        assertEquals(List.of("payments.db.pool.max", "payments.db.url"),
+            first.getItems().stream().map(ConfigurationSummary::getKey).toList());
+        assertEquals("payments.db.url", first.getNextKey());
+        assertEquals(List.of("payments.kafka.topic"),
+            second.getItems().stream().map(ConfigurationSummary::getKey).toList());
+        assertNull(second.getNextKey());
+        verify(configurationRepository, never()).findSummariesByKeyRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void getConfigurationsByPrefix_WhenNoSnapshot_ShouldQueryKeyRange() {
+        // Arrange
+        when(configurationRepository.findSummariesByKeyRange("payments.", "", "payments." + Character.MAX_VALUE,
+            PageRequest.of(0, 11))).thenReturn(List.of(ConfigurationSummary.of(withKey(2L, "payments.db.pool.max"))));
+
+        // Act
+        ConfigurationKeyPage page = configurationService.getConfigurationsByPrefix("payments.", null, 10);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextKey());
+    }
+
+    @Test
+    void getConfigurationsByPrefix_WhenNoSnapshotAndRowsAreHidden_ShouldReadOnUntilThePageIsFull() {
+        // Arrange
+        String prefixEnd = "payments." + Character.MAX_VALUE;
+        when(configurationRepository.findSummariesByKeyRange("payments.", "", prefixEnd, PageRequest.of(0, 3)))
+            .thenReturn(List.of(ConfigurationSummary.of(withKey(1L, "payments.a")),
+                ConfigurationSummary.of(withKey(2L, "payments.hidden.b")),
+                ConfigurationSummary.of(withKey(3L, "payments.hidden.c"))));
+        when(configurationRepository.findSummariesByKeyRange("payments.", "payments.hidden.c", prefixEnd,
+            PageRequest.of(0, 3))).thenReturn(List.of(ConfigurationSummary.of(withKey(4L, "payments.d")),
+                ConfigurationSummary.of(withKey(5L, "payments.e"))));
+
+        // Act
+        ConfigurationKeyPage page = configurationService.getConfigurationsByPrefix(
+            "payments.", null, 2, key -> !key.contains("hidden"));
+
+        // Assert
+        assertEquals(List.of("payments.a", "payments.d"),
+            page.getItems().stream().map(ConfigurationSummary::getKey).toList());
+        assertEquals("payments.d", page.getNextKey());
+    }
+
+    @Test
+    void getChangesSince_WhenMoreChangesExist_ShouldResumeFromLastRevision() {
+        // Arrange
+        testConfiguration.setRevision(5L);
+        Configuration deleted = testConfiguration.copy();
+        deleted.setId(2L);
+        deleted.setKey("deleted.key");
+        deleted.setRevision(6L);
+        deleted.setDeleted(true);
+        when(configurationRepository.findChangesSince(4L, PageRequest.of(0, 2)))
+            .thenReturn(Arrays.asList(testConfiguration, deleted));
+
+        // Act
+        ChangeSet changeSet = configurationService.getChangesSince(4L, 1);
+
+        // Assert
+        assertEquals(1, changeSet.getChanges().size());
+        assertEquals(5L, changeSet.getRevision());
+        assertTrue(changeSet.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_WhenNoChanges_ShouldKeepRevision() {
+        // Arrange
+        when(configurationRepository.findChangesSince(9L, PageRequest.of(0, 11))).thenReturn(List.of());
+
+        // Act
+        ChangeSet changeSet = configurationService.getChangesSince(9L, 10);
+
+        // Assert
+        assertTrue(changeSet.getChanges().isEmpty());
+        assertEquals(9L, changeSet.getRevision());
+        assertFalse(changeSet.isHasMore());
+    }
+
+    @Test
+    void getConfigurationsByKeys_ShouldReturnFoundAndMissingWithOneQuery() {
+        // Arrange
+        when(configurationRepository.findByKeyIn(any()))
+            .thenReturn(List.of(testConfiguration));
+
+        // Act
+        BatchGetResponse response = configurationService.getConfigurationsByKeys(
+            List.of("test.key", "missing.key", "test.key"));
+        BatchGetResponse cached = configurationService.getConfigurationsByKeys(List.of("test.key"));
+
+        // Assert
+        assertEquals(1, response.getFound().size());
+        assertEquals(List.of("missing.key"), response.getMissing());
+        assertEquals(1, cached.getFound().size());
+        verify(configurationRepository, times(1)).findByKeyIn(any());
+    }
+
+    private Configuration withKey(Long id, String key) {
+        Configuration configuration = testConfiguration.copy();
+        configuration.setId(id);
+        configuration.setKey(key);
+        return configuration;
+    }
+}
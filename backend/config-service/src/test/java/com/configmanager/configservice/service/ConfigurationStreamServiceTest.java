@@ -0,0 +1,254 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.dto.ChangeSet;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import com.configmanager.configservice.exception.TooManyWatchersException;
+import com.configmanager.configservice.model.Configuration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConfigurationStreamService.
+ * Emitters record the frames written to them and writer tasks run when the test releases them.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConfigurationStreamServiceTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private ObjectMapper objectMapper;
+
+    private final Queue<Runnable> pendingWrites = new ArrayDeque<>();
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private ConfigurationStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = spy(new ObjectMapper().registerModule(new JavaTimeModule()));
+        Executor writers = pendingWrites::add;
+        streamService = new ConfigurationStreamService(
+                configurationService, objectMapper, 10, 2, 100, Duration.ofMinutes(1), Duration.ofSeconds(10), writers) {
+            @Override
+            ResponseBodyEmitter createEmitter(Duration timeout) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    void onConfigurationChanged_ShouldSerializeOnceForAllSubscribers() throws Exception {
+        // Arrange
+        streamService.subscribe(null);
+        streamService.subscribe(null);
+
+        // Act
+        streamService.onConfigurationChanged(updated("a.key", 7L));
+        runPendingWrites();
+
+        // Assert
+        verify(objectMapper, times(1)).writeValueAsString(any());
+        for (RecordingEmitter emitter : emitters) {
+            String last = emitter.frames.get(emitter.frames.size() - 1);
+            assertTrue(last.startsWith("id: 7\nevent: updated\ndata: {"));
+            assertTrue(last.endsWith("\n\n"));
+        }
+    }
+
+    @Test
+    void onConfigurationChanged_WhenSubscriberFallsBehind_ShouldDropIt() {
+        // Arrange
+        streamService.subscribe(null);
+
+        // Act
+        streamService.onConfigurationChanged(updated("a.key", 7L));
+        streamService.onConfigurationChanged(updated("a.key", 8L));
+        streamService.onConfigurationChanged(updated("a.key", 9L));
+        runPendingWrites();
+
+        // Assert
+        assertEquals(0, streamService.getSubscriberCount());
+        assertTrue(emitters.get(0).completed);
+    }
+
+    @Test
+    void subscribe_WhenAllSlotsAreTaken_ShouldRejectUntilAStreamIsDropped() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            streamService.subscribe(null);
+        }
+
+        // Act
+        assertThrows(TooManyWatchersException.class, () -> streamService.subscribe(null));
+        streamService.onConfigurationChanged(updated("a.key", 7L));
+        streamService.onConfigurationChanged(updated("a.key", 8L));
+        streamService.onConfigurationChanged(updated("a.key", 9L));
+        streamService.subscribe(null);
+
+        // Assert
+        assertEquals(1, streamService.getSubscriberCount());
+    }
+
+    @Test
+    void expireStalledWrites_ShouldDropTheStalledSubscriberAndKeepServingOthers() throws Exception {
+        // Arrange
+        BlockingEmitter stalled = new BlockingEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        Queue<ResponseBodyEmitter> prepared = new ArrayDeque<>(List.of(stalled, healthy));
+        ExecutorService writers = Executors.newFixedThreadPool(1);
+        ConfigurationStreamService service = new ConfigurationStreamService(
+                configurationService, objectMapper, 10, 2, 100, Duration.ofMinutes(1), Duration.ZERO, writers) {
+            @Override
+            ResponseBodyEmitter createEmitter(Duration timeout) {
+                return prepared.poll();
+            }
+        };
+        try {
+            service.subscribe(null);
+            stalled.block = true;
+            service.onConfigurationChanged(updated("a.key", 7L));
+            assertTrue(stalled.entered.await(5, TimeUnit.SECONDS));
+            service.subscribe(null);
+            service.onConfigurationChanged(updated("a.key", 8L));
+
+            // Act
+            service.expireStalledWrites();
+
+            // Assert
+            assertTrue(healthy.received.await(5, TimeUnit.SECONDS));
+            assertEquals(1, service.getSubscriberCount());
+            assertTrue(healthy.frames.get(healthy.frames.size() - 1).startsWith("id: 8\n"));
+        } finally {
+            stalled.release.countDown();
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    void subscribe_WhenRevisionGiven_ShouldReplayMissedChangesOnce() {
+        // Arrange
+        Configuration missed = updated("a.key", 5L).getConfiguration();
+        when(configurationService.getChangesSince(4L, 100)).thenReturn(new ChangeSet(List.of(missed), 5L, false));
+
+        // Act
+        streamService.subscribe(4L);
+        streamService.onConfigurationChanged(updated("a.key", 5L));
+        streamService.onConfigurationChanged(updated("b.key", 6L));
+        runPendingWrites();
+
+        // Assert
+        List<String> frames = emitters.get(0).frames;
+        assertEquals(3, frames.size());
+        assertTrue(frames.get(1).startsWith("id: 5\n"));
+        assertTrue(frames.get(2).startsWith("id: 6\n"));
+    }
+
+    @Test
+    void subscribe_WhenTooManyChangesMissed_ShouldSendReset() {
+        // Arrange
+        when(configurationService.getChangesSince(0L, 100)).thenReturn(new ChangeSet(List.of(), 100L, true));
+
+        // Act
+        streamService.subscribe(0L);
+
+        // Assert
+        assertTrue(emitters.get(0).frames.get(1).startsWith("event: reset\n"));
+    }
+
+    private void runPendingWrites() {
+        Runnable write;
+        while ((write = pendingWrites.poll()) != null) {
+            write.run();
+        }
+    }
+
+    private ConfigurationChangedEvent updated(String key, long revision) {
+        Configuration configuration = new Configuration();
+        configuration.setId(1L);
+        configuration.setKey(key);
+        configuration.setValue("value");
+        configuration.setRevision(revision);
+        return new ConfigurationChangedEvent(ChangeType.UPDATED, configuration, key);
+    }
+
+    /**
+     * Emitter keeping every frame written to it instead of writing to a response.
+     */
+    private static class RecordingEmitter extends ResponseBodyEmitter {
+
+        private final List<String> frames = new ArrayList<>();
+
+        private final CountDownLatch received = new CountDownLatch(2);
+
+        private boolean completed;
+
+        @Override
+        public synchronized void send(Object object, MediaType mediaType) {
+            frames.add(new String((byte[]) object, StandardCharsets.UTF_8));
+            received.countDown();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * Emitter whose writes block once asked to, like a client that stopped reading.
+     */
+    private static class BlockingEmitter extends ResponseBodyEmitter {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private volatile boolean block;
+
+        @Override
+        public void send(Object object, MediaType mediaType) throws IOException {
+            if (block) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Client stopped reading");
+            }
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
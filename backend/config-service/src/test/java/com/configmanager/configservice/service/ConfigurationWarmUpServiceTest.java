@@ -0,0 +1,133 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.cache.ConfigurationCache;
+import com.configmanager.configservice.cache.ConfigurationSnapshotStore;
+import com.configmanager.configservice.cache.PendingRevisionTracker;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConfigurationWarmUpService.
+ * Tests that the snapshot is loaded in chunks, that the most read keys are loaded into the cache
+ * when the snapshot is disabled, that a disabled warm-up loads the snapshot with one query, and that
+ * preloading never replaces a newer cache entry.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConfigurationWarmUpServiceTest {
+
+    @Mock
+    private ConfigurationRepository configurationRepository;
+
+    @Mock
+    private ConfigurationAccessStatsService accessStatsService;
+
+    private final ConfigurationCache configurationCache = new ConfigurationCache(100, Duration.ofMinutes(5));
+
+    @Test
+    void warmUp_WhenSnapshotEnabled_ShouldLoadEveryConfigurationInChunks() {
+        // Arrange
+        ConfigurationSnapshotStore snapshotStore = new ConfigurationSnapshotStore(configurationRepository, new PendingRevisionTracker(), true);
+        when(configurationRepository.findMaxRevision()).thenReturn(5L);
+        when(configurationRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(configurationRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false).map(id -> configuration(id, "key." + id)).toList();
+        });
+        ConfigurationWarmUpService warmUpService = service(snapshotStore, true);
+
+        // Act
+        int loaded = warmUpService.warmUp();
+
+        // Assert
+        assertEquals(5, loaded);
+        assertEquals(5, snapshotStore.current().orElseThrow().size());
+        assertTrue(snapshotStore.current().orElseThrow().findByKey("key.5").isPresent());
+        verify(configurationRepository, times(3)).findAllById(anyIterable());
+        verify(configurationRepository, never()).findAll();
+    }
+
+    @Test
+    void warmUp_WhenSnapshotDisabled_ShouldLoadMostReadKeysIntoCache() {
+        // Arrange
+        ConfigurationSnapshotStore snapshotStore = new ConfigurationSnapshotStore(configurationRepository, new PendingRevisionTracker(), false);
+        when(accessStatsService.findHottestKeys(100)).thenReturn(List.of("a.key", "b.key", "c.key"));
+        when(configurationRepository.findByKeyIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            return keys.stream().filter(key -> !key.equals("c.key")).map(key -> configuration((long) key.charAt(0), key)).toList();
+        });
+        ConfigurationWarmUpService warmUpService = service(snapshotStore, true);
+
+        // Act
+        int loaded = warmUpService.warmUp();
+
+        // Assert
+        assertEquals(2, loaded);
+        assertTrue(configurationCache.getByKey("a.key", key -> fail("should be cached")).isPresent());
+        assertTrue(configurationCache.getByKey("b.key", key -> fail("should be cached")).isPresent());
+        assertTrue(snapshotStore.current().isEmpty());
+    }
+
+    @Test
+    void warmUp_WhenDisabled_ShouldLoadSnapshotWithSingleQuery() {
+        // Arrange
+        ConfigurationSnapshotStore snapshotStore = new ConfigurationSnapshotStore(configurationRepository, new PendingRevisionTracker(), true);
+        when(configurationRepository.findAll()).thenReturn(List.of(configuration(1L, "a.key")));
+        ConfigurationWarmUpService warmUpService = service(snapshotStore, false);
+
+        // Act
+        int loaded = warmUpService.warmUp();
+
+        // Assert
+        assertEquals(1, loaded);
+        verify(configurationRepository, never()).findAllIds();
+        verify(configurationRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void preload_WhenCachedEntryIsNewer_ShouldKeepIt() {
+        // Arrange
+        Configuration newer = configuration(1L, "a.key");
+        newer.setRevision(2L);
+        configurationCache.getByKey("a.key", key -> Optional.of(newer));
+        Configuration older = configuration(1L, "a.key");
+        older.setValue("stale");
+
+        // Act
+        configurationCache.preload(List.of(older));
+
+        // Assert
+        assertEquals("value", configurationCache.getByKey("a.key", key -> Optional.empty()).orElseThrow().getValue());
+        assertEquals(2L, configurationCache.drainAccessCounts().get("a.key"));
+        assertTrue(configurationCache.drainAccessCounts().isEmpty());
+    }
+
+    private ConfigurationWarmUpService service(ConfigurationSnapshotStore snapshotStore, boolean enabled) {
+        return new ConfigurationWarmUpService(configurationRepository, snapshotStore, configurationCache,
+            accessStatsService, enabled, 100, 2, 2);
+    }
+
+    private static Configuration configuration(Long id, String key) {
+        Configuration configuration = new Configuration();
+        configuration.setId(id);
+        configuration.setKey(key);
+        configuration.setValue("value");
+        configuration.setRevision(1L);
+        return configuration;
+    }
+}
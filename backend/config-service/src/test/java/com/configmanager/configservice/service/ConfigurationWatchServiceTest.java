@@ -0,0 +1,170 @@
+package com.configmanager.configservice.service;
+
+import com.configmanager.configservice.dto.ChangeSet;
+import com.configmanager.configservice.event.ConfigurationChangedEvent;
+import com.configmanager.configservice.event.ConfigurationChangedEvent.ChangeType;
+import com.configmanager.configservice.exception.TooManyWatchersException;
+import com.configmanager.configservice.model.Configuration;
+import com.configmanager.configservice.repository.ConfigurationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConfigurationWatchService.
+ * Woken watchers are dispatched on the calling thread so results can be checked directly.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConfigurationWatchServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Mock
+    private ConfigurationRepository configurationRepository;
+
+    private ConfigurationWatchService watchService;
+
+    @BeforeEach
+    void setUp() {
+        watchService = new ConfigurationWatchService(configurationService, configurationRepository, 10, 100, Runnable::run);
+        when(configurationRepository.findMaxRevision()).thenReturn(5L);
+        watchService.onApplicationReady();
+    }
+
+    @Test
+    void watch_WhenUpToDate_ShouldParkWithoutQuery() {
+        // Act
+        DeferredResult<ChangeSet> result = watchService.watch("a.key", null, 5L, TIMEOUT);
+
+        // Assert
+        assertFalse(result.hasResult());
+        assertEquals(1, watchService.getParkedCount());
+        verifyNoInteractions(configurationService);
+    }
+
+    @Test
+    void watch_WhenNewerChangeExists_ShouldCompleteImmediately() {
+        // Arrange
+        ChangeSet changes = new ChangeSet(List.of(configuration("a.key", 5L)), 5L, false);
+        when(configurationService.getKeyChangesSince("a.key", 3L)).thenReturn(changes);
+
+        // Act
+        DeferredResult<ChangeSet> result = watchService.watch("a.key", null, 3L, TIMEOUT);
+
+        // Assert
+        assertSame(changes, result.getResult());
+    }
+
+    @Test
+    void onConfigurationChanged_WhenKeyMatches_ShouldWakeWatcher() {
+        // Arrange
+        DeferredResult<ChangeSet> result = watchService.watch("a.key", null, 5L, TIMEOUT);
+        Configuration changed = configuration("a.key", 6L);
+        ChangeSet changes = new ChangeSet(List.of(changed), 6L, false);
+        when(configurationService.getKeyChangesSince("a.key", 5L)).thenReturn(changes);
+
+        // Act
+        watchService.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, changed, "a.key"));
+
+        // Assert
+        assertSame(changes, result.getResult());
+    }
+
+    @Test
+    void onConfigurationChanged_WhenKeyDiffers_ShouldLeaveWatcherParked() {
+        // Arrange
+        DeferredResult<ChangeSet> result = watchService.watch("a.key", null, 5L, TIMEOUT);
+
+        // Act
+        watchService.onConfigurationChanged(new ConfigurationChangedEvent(
+            ChangeType.UPDATED, configuration("b.key", 6L), "b.key"));
+
+        // Assert
+        assertFalse(result.hasResult());
+        verifyNoInteractions(configurationService);
+    }
+
+    @Test
+    void onConfigurationChanged_WhenPrefixMatches_ShouldWakeWatchersWithOneQuery() {
+        // Arrange
+        DeferredResult<ChangeSet> first = watchService.watch(null, "app.", 5L, TIMEOUT);
+        DeferredResult<ChangeSet> second = watchService.watch(null, "app.", 5L, TIMEOUT);
+        DeferredResult<ChangeSet> other = watchService.watch(null, "db.", 5L, TIMEOUT);
+        Configuration changed = configuration("app.timeout", 6L);
+        ChangeSet changes = new ChangeSet(List.of(changed), 6L, false);
+        when(configurationService.getPrefixChangesSince("app.", 5L, 100)).thenReturn(changes);
+
+        // Act
+        watchService.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.CREATED, changed, "app.timeout"));
+
+        // Assert
+        assertSame(changes, first.getResult());
+        assertSame(changes, second.getResult());
+        assertFalse(other.hasResult());
+        verify(configurationService, times(1)).getPrefixChangesSince(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void onConfigurationChanged_WhenKeyHidden_ShouldNotWakePrefixWatcher() {
+        // Arrange
+        DeferredResult<ChangeSet> restricted = watchService.watch(null, "app.", 5L, TIMEOUT, key -> key.startsWith("app.public."));
+        DeferredResult<ChangeSet> visible = watchService.watch(null, "app.", 5L, TIMEOUT, key -> true);
+        Configuration changed = configuration("app.secret", 6L);
+        ChangeSet changes = new ChangeSet(List.of(changed), 6L, false);
+        when(configurationService.getPrefixChangesSince("app.", 5L, 100)).thenReturn(changes);
+
+        // Act
+        watchService.onConfigurationChanged(new ConfigurationChangedEvent(ChangeType.UPDATED, changed, "app.secret"));
+
+        // Assert
+        assertFalse(restricted.hasResult());
+        assertSame(changes, visible.getResult());
+    }
+
+    @Test
+    void watch_WhenLimitReached_ShouldThrowException() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            watchService.watch("key." + i, null, 5L, TIMEOUT);
+        }
+
+        // Act & Assert
+        assertThrows(TooManyWatchersException.class, () -> watchService.watch("a.key", null, 5L, TIMEOUT));
+        assertEquals(10, watchService.getParkedCount());
+    }
+
+    @Test
+    void watch_WhenLookupFails_ShouldReleaseTheWatcher() {
+        // Arrange
+        when(configurationService.getKeyChangesSince("a.key", 3L)).thenThrow(new IllegalStateException("database down"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> watchService.watch("a.key", null, 3L, TIMEOUT));
+        assertEquals(0, watchService.getParkedCount());
+        watchService.onConfigurationChanged(new ConfigurationChangedEvent(
+            ChangeType.UPDATED, configuration("a.key", 6L), "a.key"));
+        verify(configurationService, times(1)).getKeyChangesSince("a.key", 3L);
+    }
+
+    private Configuration configuration(String key, long revision) {
+        Configuration configuration = new Configuration();
+        configuration.setId(1L);
+        configuration.setKey(key);
+        configuration.setValue("value");
+        configuration.setRevision(revision);
+        return configuration;
+    }
+}
@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Compares startup of a service as a plain JVM jar, as a jar with the AOT-processed context, and as a
+# native executable. Reports time to first request (process start until the first HTTP response) and
+# resident memory right after that response, as the median of several runs.
+#
+# Usage: scripts/startup-benchmark.sh <config-service|user-service> [runs]
+#
+# The service connects to the database given by SPRING_DATASOURCE_URL/USERNAME/PASSWORD (by default the
+# MySQL of docker-compose.yml). The native run is skipped when native-image is not on the PATH.
+set -euo pipefail
+
+service=${1:?usage: $0 <config-service|user-service> [runs]}
+runs=${2:-5}
+root=$(cd "$(dirname "$0")/.." && pwd)
+
+case "$service" in
+    config-service) port=8082 ;;
+    user-service) port=8081 ;;
+    *) echo "unknown service: $service" >&2; exit 1 ;;
+esac
+
+export SPRING_DATASOURCE_URL=${SPRING_DATASOURCE_URL:-jdbc:mysql://localhost:3307/configdb}
+export SPRING_DATASOURCE_USERNAME=${SPRING_DATASOURCE_USERNAME:-configuser}
+export SPRING_DATASOURCE_PASSWORD=${SPRING_DATASOURCE_PASSWORD:-configpass}
+export JWT_SECRET=${JWT_SECRET:-startup-benchmark-secret-that-is-long-enough}
+
+# One AOT build serves both JVM modes: the generated context is only used with spring.aot.enabled
+mvn -B -q -f "$root/user-module/pom.xml" install -DskipTests
+mvn -B -q -f "$root/$service/pom.xml" -Paot clean package -DskipTests
+jar=$(ls "$root/$service"/target/"$service"-*.jar | grep -v original | head -1)
+
+native=""
+if command -v native-image >/dev/null; then
+    mvn -B -q -f "$root/$service/pom.xml" -Pnative native:compile -DskipTests
+    native="$root/$service/target/$service"
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the command, waits for the first HTTP response and prints "<milliseconds> <rss KiB>"
+measure() {
+    local start pid elapsed rss
+    start=$(now_ms)
+    "$@" >/dev/null 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$port/actuator/health")" != "000" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$service exited before answering a request" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+report() {
+    local mode=$1 results
+    shift
+    results=$(for _ in $(seq "$runs"); do measure "$@"; done)
+    printf '%-8s %10s ms %10s MiB\n' "$mode" \
+        "$(echo "$results" | cut -d' ' -f1 | median)" \
+        "$(( $(echo "$results" | cut -d' ' -f2 | median) / 1024 ))"
+}
+
+printf '%-8s %13s %14s\n' "mode" "first request" "rss"
+report jvm java -jar "$jar"
+report aot java -Dspring.aot.enabled=true -jar "$jar"
+if [ -n "$native" ]; then
+    report native "$native"
+else
+    echo "native   skipped, native-image is not installed"
+fi
@@ -0,0 +1,75 @@
+package com.configmanager.usermodule.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token entity used to obtain new access tokens without checking the password again.
+ * Only an HMAC of the opaque token is stored. Tokens are single-use: each refresh revokes the
+ * presented token and issues the next one in the same family, so a token presented twice reveals
+ * that it was copied and the whole family is revoked.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_family", columnList = "familyId"),
+    @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt")
+})
+public class RefreshToken {
+    /**
+     * Unique identifier for the refresh token.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Hex-encoded HMAC-SHA256 of the token handed to the client.
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /**
+     * The user the token was issued to.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * Identifier shared by all tokens rotated from the same login.
+     */
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    /**
+     * The user's token version when the token was issued; the token is revoked once it changes.
+     */
+    @Column(nullable = false)
+    private long tokenVersion;
+
+    /**
+     * Time after which the token can no longer be used.
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Time at which the token was issued.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Time at which the token was used or revoked, or null while it is still usable.
+     */
+    private LocalDateTime revokedAt;
+}
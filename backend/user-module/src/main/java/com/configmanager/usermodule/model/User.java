@@ -43,4 +43,11 @@ public class User {
      */
     @Column(nullable = false)
     private String role;
+
+    /**
+     * Version of the tokens issued to the user.
+     * Every token carries the version current when it was issued; incrementing it revokes all of them.
+     */
+    @Column(nullable = false)
+    private long tokenVersion;
 }
\ No newline at end of file
@@ -2,6 +2,13 @@ package com.configmanager.usermodule.repository;
 
 import com.configmanager.usermodule.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,4 +24,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return An Optional containing the user if found, or empty if not found
      */
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Finds which of the given usernames are already taken, in a single query.
+     *
+     * @param usernames The usernames to check
+     * @return The usernames that already exist
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Finds the token versions of users who revoked their tokens at least once.
+     * Users still at version 0 never revoked anything, so the result stays small.
+     *
+     * @return Username and token version pairs
+     */
+    @Query("SELECT u.username AS username, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersionView> findRevokedTokenVersions();
+
+    /**
+     * Increments the token version of a user, revoking every token issued before.
+     *
+     * @param username The user whose tokens are revoked
+     * @return The number of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.username = :username")
+    int incrementTokenVersion(@Param("username") String username);
+
+    /**
+     * Projection of a user's token version.
+     */
+    interface TokenVersionView {
+
+        String getUsername();
+
+        long getTokenVersion();
+    }
+}
@@ -0,0 +1,40 @@
+package com.configmanager.usermodule.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/**
+ * User details carrying the role and token version written into issued tokens.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AccountUserDetails extends User {
+
+    /**
+     * The user's role without the "ROLE_" prefix, e.g. "ADMIN" or "USER".
+     */
+    private final String role;
+
+    /**
+     * The user's current token version.
+     */
+    private final long tokenVersion;
+
+    /**
+     * Creates user details with a single role.
+     *
+     * @param username The username
+     * @param password The encoded password, or an empty string when built from a token
+     * @param role The role without the "ROLE_" prefix
+     * @param tokenVersion The token version
+     */
+    public AccountUserDetails(String username, String password, String role, long tokenVersion) {
+        super(username, password, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+    }
+}
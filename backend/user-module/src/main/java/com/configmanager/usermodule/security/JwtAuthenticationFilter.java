@@ -1,9 +1,5 @@
 package com.configmanager.usermodule.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,30 +7,33 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import javax.servlet.FilterChain;
-import javax.servlet.ServletException;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.security.Key;
-import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
 
 /**
  * Filter responsible for JWT-based authentication.
  * Intercepts each request to validate JWT tokens and set up security context.
  * Extends OncePerRequestFilter to ensure a single execution per request.
+ * Token verification is delegated to {@link JwtTokenVerifier}, which parses each distinct
+ * token once and serves repeat requests with the same token from its cache.
+ * Tokens carrying a role and token version are authenticated from their claims alone, with
+ * revocation checked against the in-memory {@link TokenVersionRegistry}; only tokens issued
+ * before those claims existed still load the user.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
     private final UserDetailsService userDetailsService;
 
-    public JwtAuthenticationFilter(UserDetailsService userDetailsService) {
+    private final JwtTokenVerifier jwtTokenVerifier;
+
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    public JwtAuthenticationFilter(UserDetailsService userDetailsService, JwtTokenVerifier jwtTokenVerifier,
+                                   TokenVersionRegistry tokenVersionRegistry) {
         this.userDetailsService = userDetailsService;
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.tokenVersionRegistry = tokenVersionRegistry;
     }
 
     /**
@@ -44,63 +43,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * @param request Current HTTP request
      * @param response Current HTTP response
      * @param filterChain Filter chain to execute
-     * @throws ServletException if servlet error occurs
+     * @throws jakarta.servlet.ServletException if servlet error occurs
      * @throws IOException if I/O error occurs
      */
     protected void doFilterInternal(jakarta.servlet.http.HttpServletRequest request, jakarta.servlet.http.HttpServletResponse response, jakarta.servlet.FilterChain filterChain) throws jakarta.servlet.ServletException, IOException {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = extractUsername(jwt);
+        Optional<VerifiedToken> token = Optional.empty();
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            token = jwtTokenVerifier.verify(authorizationHeader.substring(7));
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+        Optional<UserDetails> authenticated = token.map(this::loadUserDetails);
+        if (authenticated.isPresent()) {
+            UserDetails userDetails = authenticated.get();
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            usernamePasswordAuthenticationToken
+                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
         }
         filterChain.doFilter(request, response);
     }
 
-    private String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    /**
+     * Builds the user details for a verified token.
+     *
+     * @param token The verified token
+     * @return The user details, or null if the token has been revoked
+     */
+    private UserDetails loadUserDetails(VerifiedToken token) {
+        if (!token.isSelfContained()) {
+            // Issued before tokens carried a role and version
+            return this.userDetailsService.loadUserByUsername(token.getUsername());
+        }
+        if (tokenVersionRegistry.isRevoked(token.getUsername(), token.getTokenVersion())) {
+            return null;
+        }
+        return new AccountUserDetails(token.getUsername(), "", token.getRole(), token.getTokenVersion());
     }
-
-}
\ No newline at end of file
+}
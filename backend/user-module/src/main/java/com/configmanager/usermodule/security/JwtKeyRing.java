@@ -0,0 +1,192 @@
+package com.configmanager.usermodule.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Holds the keys tokens are signed and verified with.
+ * Every key has an id that is written to the "kid" header of the tokens it signs, so several keys
+ * can be trusted at once: a new key is added and made active while tokens signed with the previous
+ * one keep verifying until it is removed. Keys are derived once per load, and a single prebuilt
+ * parser resolves the key of each token from its header.
+ *
+ * <p>Keys are read from the file set by {@code jwt.keys.file}, a properties file such as:
+ * <pre>
+ * active=2024-06
+ * keys.default=
+ * keys.2024-05=previous-secret-of-at-least-32-bytes...
+ * keys.2024-06=current-secret-of-at-least-32-bytes....
+ * </pre>
+ * The file is reloaded when it changes; an invalid file is ignored and the previous keys are kept.
+ * Without a file, {@code jwt.secret} is the only key, with id "default". Tokens without a "kid"
+ * header were issued before keys had ids and verify against that key while it is in the ring. With a
+ * file it is only trusted while the file lists it; an empty {@code keys.default} stands for
+ * {@code jwt.secret}. Removing the entry retires the secret along with every token lacking a key id.
+ */
+@Slf4j
+@Component
+@ImportRuntimeHints(JwtRuntimeHints.class)
+public class JwtKeyRing {
+
+    /**
+     * Id of the key derived from {@code jwt.secret}.
+     */
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private final Key defaultKey;
+
+    private final Path keysFile;
+
+    private final JwtParser parser;
+
+    private volatile KeySet keySet;
+
+    /**
+     * Creates the key ring and loads the keys file if one is configured.
+     *
+     * @param secret The secret used when no keys file is configured, and by an empty default entry in the file
+     * @param keysFile Path of the keys file, or empty to use the secret only
+     * @throws IllegalStateException if the keys file cannot be loaded
+     */
+    public JwtKeyRing(@Value("${jwt.secret}") String secret, @Value("${jwt.keys.file:}") String keysFile) {
+        this.defaultKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+        this.keySet = new KeySet(new SigningKey(DEFAULT_KEY_ID, defaultKey), Map.of(DEFAULT_KEY_ID, defaultKey), null);
+        if (this.keysFile != null) {
+            try {
+                this.keySet = load(this.keysFile);
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException("Could not load JWT keys from " + keysFile, e);
+            }
+        }
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyIdResolver())
+                .build();
+    }
+
+    /**
+     * Returns the key new tokens are signed with.
+     *
+     * @return The active key and its id
+     */
+    public SigningKey getSigningKey() {
+        return keySet.active();
+    }
+
+    /**
+     * Returns the shared parser, which verifies each token with the key named by its "kid" header.
+     *
+     * @return A thread-safe parser
+     */
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Checks whether tokens signed with a key are still trusted.
+     *
+     * @param keyId The key id from a token header, or null for tokens without one
+     * @return true if the key is currently in the ring; for tokens without a key id, the default key
+     */
+    public boolean isTrusted(String keyId) {
+        return keySet.keys().containsKey(keyId != null ? keyId : DEFAULT_KEY_ID);
+    }
+
+    /**
+     * Reloads the keys file if it was modified since it was last loaded.
+     * Tokens signed with keys removed from the file stop verifying.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (keysFile == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(keysFile).equals(keySet.modified())) {
+                keySet = load(keysFile);
+                log.info("Reloaded JWT keys {} with active key {}", keySet.keys().keySet(), keySet.active().id());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not reload JWT keys from {}, keeping the current keys", keysFile, e);
+        }
+    }
+
+    private KeySet load(Path file) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(file);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Key> keys = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("keys.")) {
+                String id = name.substring("keys.".length());
+                String secret = properties.getProperty(name).trim();
+                keys.put(id, id.equals(DEFAULT_KEY_ID) && secret.isEmpty()
+                        ? defaultKey
+                        : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        String activeId = properties.getProperty("active", DEFAULT_KEY_ID).trim();
+        Key active = keys.get(activeId);
+        if (active == null) {
+            throw new IllegalArgumentException("Active key " + activeId + " is not defined");
+        }
+        return new KeySet(new SigningKey(activeId, active), Map.copyOf(keys), modified);
+    }
+
+    /**
+     * A key and the id written to the tokens it signs.
+     *
+     * @param id The key id
+     * @param key The HMAC key
+     */
+    public record SigningKey(String id, Key key) {
+    }
+
+    /**
+     * The keys loaded together from one version of the keys file.
+     */
+    private record KeySet(SigningKey active, Map<String, Key> keys, FileTime modified) {
+    }
+
+    /**
+     * Resolves the verification key of a token from its "kid" header.
+     */
+    private class KeyIdResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String keyId = header.getKeyId();
+            // Tokens issued before keys had ids were signed with the default key
+            Key key = keySet.keys().get(keyId != null ? keyId : DEFAULT_KEY_ID);
+            if (key == null) {
+                throw new SignatureException(keyId != null
+                        ? "Unknown signing key " + keyId
+                        : "Tokens without a key id are no longer trusted");
+            }
+            return key;
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.configmanager.usermodule.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,33 +16,56 @@ import java.util.function.Function;
 
 /**
  * Utility class for JWT token operations including generation, validation, and parsing.
+ * Tokens are signed with the active key of the {@link JwtKeyRing} and parsed with its shared parser.
  */
 @Component
+@RequiredArgsConstructor
 public class JwtTokenUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    /**
+     * Claim holding the user's role without the "ROLE_" prefix.
+     */
+    public static final String ROLE_CLAIM = "role";
+
+    /**
+     * Claim holding the user's token version at issue time.
+     */
+    public static final String VERSION_CLAIM = "ver";
+
+    private final JwtKeyRing keyRing;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
     /**
-     * Creates a signing key from the JWT secret.
+     * Returns the lifetime of generated tokens.
      *
-     * @return The signing key used for JWT operations
+     * @return The token lifetime in seconds
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public long getExpirationSeconds() {
+        return expiration;
     }
 
     /**
      * Generates a JWT token for a user.
+     * The token carries the user's role and token version so that services can authenticate
+     * requests from the token alone. Details that are not {@link AccountUserDetails} get the role
+     * of their first authority and version 0.
      *
      * @param userDetails The user details from Spring Security
      * @return A JWT token string
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof AccountUserDetails account) {
+            claims.put(ROLE_CLAIM, account.getRole());
+            claims.put(VERSION_CLAIM, account.getTokenVersion());
+        } else {
+            userDetails.getAuthorities().stream()
+                    .findFirst()
+                    .ifPresent(authority -> claims.put(ROLE_CLAIM, authority.getAuthority().replaceFirst("^ROLE_", "")));
+            claims.put(VERSION_CLAIM, 0L);
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -54,12 +77,14 @@ public class JwtTokenUtil {
      * @return A JWT token string
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        JwtKeyRing.SigningKey signingKey = keyRing.getSigningKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.id())
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration * 1000))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -114,9 +139,7 @@ public class JwtTokenUtil {
      * @return All claims stored in the token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return keyRing.getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
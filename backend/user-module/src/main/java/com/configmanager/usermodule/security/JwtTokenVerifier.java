@@ -0,0 +1,111 @@
+package com.configmanager.usermodule.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Verifies JWTs and remembers the ones that already passed verification.
+ * Callers typically reuse one token for hours, so after the first request the signature check
+ * and parsing are replaced by a digest and a cache lookup. Entries are keyed by the SHA-256 digest
+ * of the token, so raw bearer tokens are not kept in memory, and expire when the token does.
+ * Cached tokens signed with a key that has since been removed from the {@link JwtKeyRing} are rejected.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtKeyRing keyRing;
+
+    private final Cache<ByteBuffer, VerifiedToken> verified;
+
+    /**
+     * Creates the verifier.
+     *
+     * @param keyRing The keys tokens are verified with
+     * @param maximumSize Maximum number of verified tokens remembered
+     */
+    public JwtTokenVerifier(
+            JwtKeyRing keyRing,
+            @Value("${jwt.cache.maximum-size:100000}") long maximumSize) {
+        this.keyRing = keyRing;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Verifies a token, using the cached result when the same token was verified before.
+     * A cache miss parses the token exactly once.
+     *
+     * @param token The compact JWT
+     * @return Optional containing the token claims, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        ByteBuffer digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && !cached.isExpired(Instant.now()) && keyRing.isTrusted(cached.getKeyId())) {
+            return Optional.of(cached);
+        }
+        try {
+            Jws<Claims> jws = keyRing.getParser().parseClaimsJws(token);
+            Claims claims = jws.getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            Number tokenVersion = claims.get(JwtTokenUtil.VERSION_CLAIM, Number.class);
+            VerifiedToken verifiedToken = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get(JwtTokenUtil.ROLE_CLAIM, String.class),
+                    tokenVersion != null ? tokenVersion.longValue() : null,
+                    jws.getHeader().getKeyId(),
+                    claims.getExpiration().toInstant());
+            verified.put(digest, verifiedToken);
+            return Optional.of(verifiedToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each cache entry at the expiry of its token.
+     */
+    private static class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
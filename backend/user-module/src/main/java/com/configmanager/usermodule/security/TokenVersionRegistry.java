@@ -0,0 +1,71 @@
+package com.configmanager.usermodule.security;
+
+import com.configmanager.usermodule.repository.UserRepository;
+import com.configmanager.usermodule.repository.UserRepository.TokenVersionView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of the current token version of every user who revoked their tokens.
+ * Tokens carry the version current when they were issued, so a token is revoked once its user's
+ * version has moved past it. The table is reloaded from the database in the background, which keeps
+ * the request path free of queries; a revocation made on another instance takes effect here at the
+ * next refresh.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    private volatile Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether a token version has been revoked.
+     *
+     * @param username The token subject
+     * @param tokenVersion The version carried by the token
+     * @return true if the user's tokens were revoked after the token was issued
+     */
+    public boolean isRevoked(String username, long tokenVersion) {
+        return tokenVersion < versions.getOrDefault(username, 0L);
+    }
+
+    /**
+     * Records a revocation made by this instance so that it takes effect here immediately.
+     *
+     * @param username The user whose tokens were revoked
+     * @param tokenVersion The user's new token version
+     */
+    public void revoked(String username, long tokenVersion) {
+        versions.merge(username, tokenVersion, Math::max);
+    }
+
+    /**
+     * Reloads the table from the database.
+     * Versions only grow, so entries already known locally are kept if they are newer than the
+     * ones read. A failed refresh keeps the previous table.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            Map<String, Long> loaded = new ConcurrentHashMap<>();
+            for (TokenVersionView view : userRepository.findRevokedTokenVersions()) {
+                loaded.put(view.getUsername(), view.getTokenVersion());
+            }
+            versions.forEach((username, version) -> loaded.merge(username, version, Math::max));
+            versions = loaded;
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh token versions, keeping {} known entries", versions.size(), e);
+        }
+    }
+}
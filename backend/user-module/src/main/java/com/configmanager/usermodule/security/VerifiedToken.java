@@ -0,0 +1,58 @@
+package com.configmanager.usermodule.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+
+    /**
+     * Username stored as the token subject.
+     */
+    private final String username;
+
+    /**
+     * Role carried by the token, or null for tokens issued without one.
+     */
+    private final String role;
+
+    /**
+     * Token version carried by the token, or null for tokens issued without one.
+     */
+    private final Long tokenVersion;
+
+    /**
+     * Id of the key the token was signed with, or null for tokens issued without one.
+     */
+    private final String keyId;
+
+    /**
+     * Instant at which the token expires.
+     */
+    private final Instant expiresAt;
+
+    /**
+     * Checks whether the token carries the claims needed to authenticate without loading the user.
+     *
+     * @return true if both the role and the token version are present
+     */
+    public boolean isSelfContained() {
+        return role != null && tokenVersion != null;
+    }
+
+    /**
+     * Checks whether the token has expired.
+     *
+     * @param now The current instant
+     * @return true if the token is no longer valid at the given instant
+     */
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
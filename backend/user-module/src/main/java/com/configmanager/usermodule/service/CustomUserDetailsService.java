@@ -2,22 +2,24 @@ package com.configmanager.usermodule.service;
 
 import com.configmanager.usermodule.model.User;
 import com.configmanager.usermodule.repository.UserRepository;
+import com.configmanager.usermodule.security.AccountUserDetails;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.Collections;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom implementation of Spring Security's UserDetailsService.
  * Loads user-specific data for authentication purposes.
+ * Also stores upgraded password hashes, which Spring Security produces on a successful login
+ * when the stored hash is weaker than the configured encoder requires.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -25,7 +27,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      * Loads a user by username for Spring Security authentication.
      *
      * @param username The username to search for
-     * @return UserDetails containing the user's authentication information
+     * @return UserDetails containing the user's authentication information, role and token version
      * @throws UsernameNotFoundException if the user is not found
      */
     @Override
@@ -33,10 +35,35 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AccountUserDetails(
             user.getUsername(),
             user.getPassword(),
-            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
+            user.getRole(),
+            user.getTokenVersion()
+        );
+    }
+
+    /**
+     * Replaces the stored password hash of a user.
+     *
+     * @param user The user whose password was upgraded
+     * @param newPassword The new encoded password
+     * @return UserDetails carrying the new encoded password
+     * @throws UsernameNotFoundException if the user is not found
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User account = userRepository.findByUsername(user.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + user.getUsername()));
+        account.setPassword(newPassword);
+        userRepository.save(account);
+
+        return new AccountUserDetails(
+            account.getUsername(),
+            newPassword,
+            account.getRole(),
+            account.getTokenVersion()
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+-- Account table as first released, when the schema was managed by ddl-auto=update.
+-- Created only if missing: databases from that release are baselined below this version and keep their
+-- table, which the following migrations then upgrade.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
@@ -0,0 +1,2 @@
+-- Every instance polls "WHERE token_version > 0" for revoked sessions; answer it from the index alone
+CREATE INDEX idx_users_token_version ON users (token_version, username);
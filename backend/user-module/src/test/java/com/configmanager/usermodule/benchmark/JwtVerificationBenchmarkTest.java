@@ -0,0 +1,87 @@
+package com.configmanager.usermodule.benchmark;
+
+import com.configmanager.usermodule.security.JwtKeyRing;
+import com.configmanager.usermodule.security.JwtTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the per-request cost of the previous token check in JwtAuthenticationFilter
+ * (three parses, each rebuilding the HMAC key) with JwtTokenVerifier on a cache miss and a cache hit.
+ * Run with: mvn test -Pbenchmark
+ */
+@Slf4j
+@Tag("benchmark")
+class JwtVerificationBenchmarkTest {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private static final int WARMUP = 5_000;
+
+    private static final int ITERATIONS = 50_000;
+
+    @Test
+    void compareTokenVerification() {
+        String token = token(0);
+        // A distinct token per request, so every verification misses the cache
+        String[] distinctTokens = new String[WARMUP + ITERATIONS];
+        for (int i = 0; i < distinctTokens.length; i++) {
+            distinctTokens[i] = token(i);
+        }
+        JwtTokenVerifier missVerifier = new JwtTokenVerifier(new JwtKeyRing(SECRET, ""), 1000);
+        JwtTokenVerifier hitVerifier = new JwtTokenVerifier(new JwtKeyRing(SECRET, ""), 1000);
+
+        report("previous filter (3 parses)", i -> previousFilterCheck(token));
+        report("verifier, cache miss", i -> missVerifier.verify(distinctTokens[i]).orElseThrow().getUsername());
+        report("verifier, cache hit", i -> hitVerifier.verify(token).orElseThrow().getUsername());
+    }
+
+    private void report(String name, IntFunction<String> check) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals("benchmark", check.apply(i));
+        }
+        long start = System.nanoTime();
+        for (int i = WARMUP; i < WARMUP + ITERATIONS; i++) {
+            check.apply(i);
+        }
+        long nanosPerRequest = (System.nanoTime() - start) / ITERATIONS;
+        log.info("{}: {} ns/request", name, nanosPerRequest);
+    }
+
+    private static String token(int id) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setId(Integer.toString(id))
+                .setSubject("benchmark")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * The check the filter used to run: extractUsername, then validateToken, which parses
+     * again for the username and once more for the expiry.
+     */
+    private String previousFilterCheck(String token) {
+        String username = parse(token).getSubject();
+        boolean valid = parse(token).getSubject().equals(username) && !parse(token).getExpiration().before(new Date());
+        return valid ? username : null;
+    }
+
+    private Claims parse(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
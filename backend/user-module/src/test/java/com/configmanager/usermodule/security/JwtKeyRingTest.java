@@ -0,0 +1,167 @@
+package com.configmanager.usermodule.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtKeyRing.
+ * Tests key rotation through the keys file together with JwtTokenUtil and JwtTokenVerifier, and that
+ * tokens without a key id are only trusted while the default key is in the ring.
+ */
+class JwtKeyRingTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private static final String FIRST = "first-rotated-secret-that-is-long-enough";
+
+    private static final String SECOND = "second-rotated-secret-that-is-long-enough";
+
+    private static final UserDetails USER = new AccountUserDetails("testUser", "", "USER", 0);
+
+    @TempDir
+    Path tempDir;
+
+    private Path keysFile;
+
+    private long modified;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        keysFile = tempDir.resolve("jwt-keys.properties");
+        writeKeys("active=k1\nkeys.k1=" + FIRST + "\n");
+    }
+
+    @Test
+    void generateToken_ShouldWriteActiveKeyId() {
+        // Arrange
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+
+        // Act
+        String token = tokenUtil(keyRing).generateToken(USER);
+
+        // Assert
+        assertEquals("k1", keyRing.getParser().parseClaimsJws(token).getHeader().getKeyId());
+    }
+
+    @Test
+    void reloadIfChanged_WhenKeyRotated_ShouldKeepVerifyingPreviousTokens() throws IOException {
+        // Arrange
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+        JwtTokenVerifier verifier = new JwtTokenVerifier(keyRing, 100);
+        String previous = tokenUtil(keyRing).generateToken(USER);
+
+        // Act
+        writeKeys("active=k2\nkeys.k1=" + FIRST + "\nkeys.k2=" + SECOND + "\n");
+        keyRing.reloadIfChanged();
+        String current = tokenUtil(keyRing).generateToken(USER);
+
+        // Assert
+        assertEquals("k2", keyRing.getSigningKey().id());
+        assertTrue(verifier.verify(previous).isPresent());
+        assertTrue(verifier.verify(current).isPresent());
+    }
+
+    @Test
+    void reloadIfChanged_WhenKeyRemoved_ShouldRejectItsTokens() throws IOException {
+        // Arrange
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+        JwtTokenVerifier verifier = new JwtTokenVerifier(keyRing, 100);
+        String token = tokenUtil(keyRing).generateToken(USER);
+        assertTrue(verifier.verify(token).isPresent());
+
+        // Act
+        writeKeys("active=k2\nkeys.k2=" + SECOND + "\n");
+        keyRing.reloadIfChanged();
+
+        // Assert
+        assertFalse(keyRing.isTrusted("k1"));
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    void reloadIfChanged_WhenFileInvalid_ShouldKeepCurrentKeys() throws IOException {
+        // Arrange
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+
+        // Act
+        writeKeys("active=missing\n");
+        keyRing.reloadIfChanged();
+
+        // Assert
+        assertEquals("k1", keyRing.getSigningKey().id());
+    }
+
+    @Test
+    void getParser_WhenTokenHasNoKeyId_ShouldUseSecretWhileListed() throws IOException {
+        // Arrange
+        writeKeys("active=k1\nkeys.default=\nkeys.k1=" + FIRST + "\n");
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+
+        // Act & Assert
+        assertEquals("testUser", keyRing.getParser().parseClaimsJws(legacyToken()).getBody().getSubject());
+        assertTrue(keyRing.isTrusted(null));
+    }
+
+    @Test
+    void reloadIfChanged_WhenDefaultKeyRemoved_ShouldRejectTokensWithoutKeyId() throws IOException {
+        // Arrange
+        writeKeys("active=k1\nkeys.default=\nkeys.k1=" + FIRST + "\n");
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+        JwtTokenVerifier verifier = new JwtTokenVerifier(keyRing, 100);
+        String legacy = legacyToken();
+        assertTrue(verifier.verify(legacy).isPresent());
+
+        // Act
+        writeKeys("active=k1\nkeys.k1=" + FIRST + "\n");
+        keyRing.reloadIfChanged();
+
+        // Assert
+        assertFalse(keyRing.isTrusted(null));
+        assertTrue(verifier.verify(legacy).isEmpty());
+    }
+
+    @Test
+    void getParser_WhenFileDoesNotListDefaultKey_ShouldRejectTokensWithoutKeyId() {
+        // Arrange
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, keysFile.toString());
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> keyRing.getParser().parseClaimsJws(legacyToken()));
+    }
+
+    private static String legacyToken() {
+        return Jwts.builder()
+                .setSubject("testUser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private JwtTokenUtil tokenUtil(JwtKeyRing keyRing) {
+        JwtTokenUtil tokenUtil = new JwtTokenUtil(keyRing);
+        ReflectionTestUtils.setField(tokenUtil, "expiration", 3600L);
+        return tokenUtil;
+    }
+
+    private void writeKeys(String content) throws IOException {
+        Files.writeString(keysFile, content);
+        // Move the modification time forward explicitly, file systems may have coarse timestamps
+        modified += 1000;
+        Files.setLastModifiedTime(keysFile, FileTime.fromMillis(modified + 1_000_000_000_000L));
+    }
+}
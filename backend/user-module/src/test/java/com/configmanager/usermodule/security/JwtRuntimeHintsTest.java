@@ -0,0 +1,36 @@
+package com.configmanager.usermodule.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtRuntimeHints.
+ * Tests that the hinted JJWT classes and service files exist, so a JJWT upgrade that renames them
+ * fails here rather than in a native image.
+ */
+class JwtRuntimeHintsTest {
+
+    @Test
+    void registerHints_ShouldCoverClassesLoadedByName() {
+        // Arrange
+        RuntimeHints hints = new RuntimeHints();
+
+        // Act
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(TypeReference.of(Jwts.parserBuilder().getClass())).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(TypeReference.of(Jwts.builder().getClass())).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+            .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        hints.reflection().typeHints().forEach(hint ->
+            assertDoesNotThrow(() -> Class.forName(hint.getType().getName()), hint.getType().getName()));
+    }
+}
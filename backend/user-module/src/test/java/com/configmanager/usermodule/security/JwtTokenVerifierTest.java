@@ -0,0 +1,116 @@
+package com.configmanager.usermodule.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtTokenVerifier.
+ * Tests verification of valid, tampered, expired and repeated tokens.
+ */
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new JwtTokenVerifier(new JwtKeyRing(SECRET, ""), 100);
+    }
+
+    @Test
+    void verify_WhenTokenValid_ShouldReturnUsername() {
+        // Arrange
+        String token = token("testUser", 60_000);
+
+        // Act
+        Optional<VerifiedToken> result = verifier.verify(token);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("testUser", result.get().getUsername());
+    }
+
+    @Test
+    void verify_WhenTokenCarriesRoleAndVersion_ShouldReturnThem() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .claim(JwtTokenUtil.ROLE_CLAIM, "ADMIN")
+                .claim(JwtTokenUtil.VERSION_CLAIM, 2L)
+                .setSubject("testUser")
+                .setExpiration(new Date(now + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act
+        VerifiedToken result = verifier.verify(token).orElseThrow();
+
+        // Assert
+        assertTrue(result.isSelfContained());
+        assertEquals("ADMIN", result.getRole());
+        assertEquals(2L, result.getTokenVersion());
+    }
+
+    @Test
+    void verify_WhenTokenHasNoRole_ShouldNotBeSelfContained() {
+        // Act & Assert
+        assertFalse(verifier.verify(token("testUser", 60_000)).orElseThrow().isSelfContained());
+    }
+
+    @Test
+    void verify_WhenCalledTwice_ShouldReturnCachedResult() {
+        // Arrange
+        String token = token("testUser", 60_000);
+
+        // Act
+        VerifiedToken first = verifier.verify(token).orElseThrow();
+        VerifiedToken second = verifier.verify(token).orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void verify_WhenSignatureTampered_ShouldReturnEmpty() {
+        // Arrange
+        String token = token("testUser", 60_000);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(verifier.verify(tampered).isEmpty());
+    }
+
+    @Test
+    void verify_WhenExpired_ShouldReturnEmpty() {
+        // Act & Assert
+        assertTrue(verifier.verify(token("testUser", -1_000)).isEmpty());
+    }
+
+    @Test
+    void verify_WhenSignedWithOtherKey_ShouldReturnEmpty() {
+        // Arrange
+        JwtTokenVerifier other = new JwtTokenVerifier(new JwtKeyRing("another-secret-key-that-is-long-enough-too", ""), 100);
+
+        // Act & Assert
+        assertTrue(other.verify(token("testUser", 60_000)).isEmpty());
+    }
+
+    static String token(String username, long validForMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(username)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validForMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
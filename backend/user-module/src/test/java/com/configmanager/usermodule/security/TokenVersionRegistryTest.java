@@ -0,0 +1,93 @@
+package com.configmanager.usermodule.security;
+
+import com.configmanager.usermodule.repository.UserRepository;
+import com.configmanager.usermodule.repository.UserRepository.TokenVersionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TokenVersionRegistry.
+ * Tests revocation checks, local revocations and background refreshes.
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenVersionRegistry(userRepository);
+    }
+
+    @Test
+    void isRevoked_WhenUserNeverRevoked_ShouldAcceptVersionZero() {
+        // Act & Assert
+        assertFalse(registry.isRevoked("testUser", 0));
+    }
+
+    @Test
+    void refresh_ShouldRevokeOlderVersions() {
+        // Arrange
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(view("testUser", 2)));
+
+        // Act
+        registry.refresh();
+
+        // Assert
+        assertTrue(registry.isRevoked("testUser", 1));
+        assertFalse(registry.isRevoked("testUser", 2));
+        assertFalse(registry.isRevoked("otherUser", 0));
+    }
+
+    @Test
+    void refresh_WhenLocalRevocationIsNewer_ShouldKeepIt() {
+        // Arrange
+        registry.revoked("testUser", 3);
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(view("testUser", 2)));
+
+        // Act
+        registry.refresh();
+
+        // Assert
+        assertTrue(registry.isRevoked("testUser", 2));
+    }
+
+    @Test
+    void refresh_WhenDatabaseFails_ShouldKeepPreviousTable() {
+        // Arrange
+        registry.revoked("testUser", 1);
+        when(userRepository.findRevokedTokenVersions()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        registry.refresh();
+
+        // Assert
+        assertTrue(registry.isRevoked("testUser", 0));
+    }
+
+    private TokenVersionView view(String username, long tokenVersion) {
+        return new TokenVersionView() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public long getTokenVersion() {
+                return tokenVersion;
+            }
+        };
+    }
+}
@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = {
@@ -19,6 +20,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @EnableJpaRepositories(basePackages = {
         "com.configmanager.usermodule.repository"
 })
+@EnableScheduling
 @OpenAPIDefinition(info = @Info(title = "User Service API", version = "1.0", description = "User Authentication Service"))
 public class UserServiceApplication {
     public static void main(String[] args) {
@@ -0,0 +1,51 @@
+package com.configmanager.userservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder recording how long hashing and checking passwords takes.
+ * Delegates all work, including the decision to upgrade a stored hash, to the wrapped encoder.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    /**
+     * Creates the encoder.
+     *
+     * @param delegate The encoder doing the work
+     * @param registry The meter registry to record timings in
+     */
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("auth.password.hash")
+            .description("Time spent hashing and checking passwords")
+            .tag("operation", "encode")
+            .register(registry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+            .description("Time spent hashing and checking passwords")
+            .tag("operation", "matches")
+            .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
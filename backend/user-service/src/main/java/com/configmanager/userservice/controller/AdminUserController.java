@@ -0,0 +1,39 @@
+package com.configmanager.userservice.controller;
+
+import com.configmanager.userservice.dto.BulkProvisionRequest;
+import com.configmanager.userservice.dto.BulkProvisionResponse;
+import com.configmanager.userservice.service.UserProvisioningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for administrative user management.
+ * All endpoints require the ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "User Administration", description = "Administrative user management API")
+public class AdminUserController {
+
+    private final UserProvisioningService userProvisioningService;
+
+    /**
+     * Handles bulk provisioning requests.
+     * Creates many accounts at once and reports the outcome of each.
+     *
+     * @param request The accounts to create
+     * @return ResponseEntity containing per-account results in submission order
+     */
+    @Operation(summary = "Provision users in bulk",
+              description = "Creates many user accounts at once and returns a result per account")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkProvisionResponse> provisionUsers(@Valid @RequestBody BulkProvisionRequest request) {
+        return ResponseEntity.ok(userProvisioningService.provision(request.getUsers()));
+    }
+}
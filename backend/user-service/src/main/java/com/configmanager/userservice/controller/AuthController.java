@@ -2,17 +2,23 @@ package com.configmanager.userservice.controller;
 
 import com.configmanager.userservice.dto.AuthRequest;
 import com.configmanager.userservice.dto.AuthResponse;
+import com.configmanager.userservice.dto.RefreshRequest;
 import com.configmanager.userservice.dto.RegisterRequest;
 import com.configmanager.userservice.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller for handling authentication operations.
  * Provides endpoints for user registration and login.
+ * Registration and login complete asynchronously, so request threads are not held while
+ * passwords are hashed.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -28,13 +34,13 @@ public class AuthController {
      * Creates a new user account and returns authentication token.
      *
      * @param request Registration details including username and password
-     * @return ResponseEntity containing authentication token and user details
+     * @return Future of the ResponseEntity containing authentication token and user details
      */
     @Operation(summary = "Register a new user", 
               description = "Creates a new user account with the provided credentials")
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
-        return ResponseEntity.ok(authService.register(request));
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@RequestBody RegisterRequest request) {
+        return authService.register(request).thenApply(ResponseEntity::ok);
     }
 
     /**
@@ -42,12 +48,56 @@ public class AuthController {
      * Authenticates user credentials and returns authentication token.
      *
      * @param request Login credentials including username and password
-     * @return ResponseEntity containing authentication token and user details
+     * @return Future of the ResponseEntity containing authentication token and user details
      */
     @Operation(summary = "Authenticate user", 
               description = "Validates credentials and returns authentication token")
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody AuthRequest request) {
+        return authService.login(request).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Handles token refresh requests.
+     * Exchanges a refresh token for a new authentication token and refresh token.
+     *
+     * @param request The refresh token issued with the last authentication response
+     * @return ResponseEntity containing the new tokens
+     */
+    @Operation(summary = "Refresh authentication token",
+              description = "Exchanges a single-use refresh token for a new token pair")
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    /**
+     * Handles sign-out requests.
+     * Revokes the refresh token of the current session.
+     *
+     * @param request The refresh token of the session
+     * @return ResponseEntity with no content
+     */
+    @Operation(summary = "Sign out",
+              description = "Revokes the refresh token of the current session")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Handles requests to sign out everywhere.
+     * Revokes every token issued to the authenticated user, including the one used for this request.
+     *
+     * @param authentication The authenticated user
+     * @return ResponseEntity with no content
+     */
+    @Operation(summary = "Sign out everywhere",
+              description = "Revokes all tokens issued to the authenticated user")
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(Authentication authentication) {
+        authService.logoutAll(authentication.getName());
+        return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
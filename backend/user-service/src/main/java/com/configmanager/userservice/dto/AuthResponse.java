@@ -4,7 +4,8 @@ import lombok.Data;
 
 /**
  * Data Transfer Object (DTO) for authentication responses.
- * Contains the JWT token returned after successful authentication.
+ * Contains the JWT token returned after successful authentication, and the refresh token
+ * used to obtain the next one.
  */
 @Data
 public class AuthResponse {
@@ -13,4 +14,14 @@ public class AuthResponse {
      * Used in Authorization header with Bearer scheme.
      */
     private String token;
+
+    /**
+     * Lifetime of the JWT token in seconds.
+     */
+    private long expiresIn;
+
+    /**
+     * Opaque single-use token exchanged for a new JWT token and refresh token.
+     */
+    private String refreshToken;
 }
\ No newline at end of file
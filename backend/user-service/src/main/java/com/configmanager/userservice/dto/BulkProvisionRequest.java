@@ -0,0 +1,24 @@
+package com.configmanager.userservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for creating many user accounts in one request.
+ */
+@Data
+public class BulkProvisionRequest {
+    /**
+     * Accounts to create.
+     * Invalid entries are reported individually instead of rejecting the whole request;
+     * only a missing entry rejects it.
+     */
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 1000, message = "At most 1000 users can be provisioned at once")
+    private List<@NotNull(message = "User entries must not be null") @Valid ProvisionUserRequest> users;
+}
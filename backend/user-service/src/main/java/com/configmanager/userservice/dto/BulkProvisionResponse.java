@@ -0,0 +1,31 @@
+package com.configmanager.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the result of a bulk provisioning request.
+ * Contains one result per submitted account, in submission order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProvisionResponse {
+    /**
+     * Number of accounts created.
+     */
+    private int created;
+
+    /**
+     * Number of accounts that could not be created.
+     */
+    private int failed;
+
+    /**
+     * Per-account results, in the order the accounts were submitted.
+     */
+    private List<BulkProvisionResult> results;
+}
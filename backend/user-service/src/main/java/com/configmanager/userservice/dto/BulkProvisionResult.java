@@ -0,0 +1,42 @@
+package com.configmanager.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) describing the outcome for one account of a bulk provisioning request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProvisionResult {
+
+    /**
+     * Outcome of a single account.
+     */
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    /**
+     * Username of the account.
+     */
+    private String username;
+
+    /**
+     * ID of the created user, null if the account failed.
+     */
+    private Long id;
+
+    /**
+     * Outcome of the account.
+     */
+    private Status status;
+
+    /**
+     * Reason for the failure, null on success.
+     */
+    private String message;
+}
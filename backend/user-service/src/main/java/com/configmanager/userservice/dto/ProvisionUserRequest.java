@@ -0,0 +1,31 @@
+package com.configmanager.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for one account in a bulk provisioning request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvisionUserRequest {
+    /**
+     * Username for the new account.
+     * Must be unique in the system.
+     */
+    private String username;
+
+    /**
+     * Password for the new account.
+     * Will be encrypted before storage.
+     */
+    private String password;
+
+    /**
+     * Role of the new account, "USER" when omitted.
+     * Example values: "ADMIN", "USER"
+     */
+    private String role;
+}
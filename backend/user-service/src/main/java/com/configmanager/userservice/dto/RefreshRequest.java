@@ -0,0 +1,16 @@
+package com.configmanager.userservice.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) for refresh and logout requests.
+ * Contains the refresh token issued with the last authentication response.
+ */
+@Data
+public class RefreshRequest {
+    /**
+     * Opaque refresh token.
+     * Must not be null or empty.
+     */
+    private String refreshToken;
+}
@@ -0,0 +1,16 @@
+package com.configmanager.userservice.exception;
+
+/**
+ * Exception thrown when a refresh token is unknown, expired, already used or revoked.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    /**
+     * Constructs a new invalid refresh token exception with the specified detail message.
+     *
+     * @param message The detail message
+     */
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.configmanager.userservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a login or registration cannot be accepted because the password hashing
+ * executor is busy and its queue is full.
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    /**
+     * Number of seconds the client should wait before retrying.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new password hashing busy exception.
+     *
+     * @param message The detail message
+     * @param retryAfterSeconds Number of seconds the client should wait before retrying
+     */
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -2,9 +2,12 @@ package com.configmanager.userservice.service;
 
 import com.configmanager.usermodule.model.User;
 import com.configmanager.usermodule.repository.UserRepository;
+import com.configmanager.usermodule.security.AccountUserDetails;
 import com.configmanager.usermodule.security.JwtTokenUtil;
+import com.configmanager.usermodule.security.TokenVersionRegistry;
 import com.configmanager.userservice.dto.AuthRequest;
 import com.configmanager.userservice.dto.AuthResponse;
+import com.configmanager.userservice.dto.RefreshRequest;
 import com.configmanager.userservice.dto.RegisterRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,9 +17,15 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Service responsible for authentication operations.
  * Handles user registration and login with JWT token generation.
+ * Password hashing and checking run on the {@link PasswordHashingExecutor}, never on request threads;
+ * the database work that follows continues on the application task executor, so hashing threads only hash.
+ * Access tokens are short-lived; clients renew them with a refresh token, which needs no password check.
  */
 @Service
 @RequiredArgsConstructor
@@ -42,76 +51,158 @@ public class AuthService {
      */
     private final AuthenticationManager authenticationManager;
 
+    /**
+     * In-memory table of revoked token versions.
+     */
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    /**
+     * Bounded executor running password hashing.
+     */
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    /**
+     * Executor continuing registrations and logins once the password is hashed or checked.
+     */
+    private final Executor applicationTaskExecutor;
+
+    /**
+     * Service issuing and rotating refresh tokens.
+     */
+    private final RefreshTokenService refreshTokenService;
+
     /**
      * Registers a new user in the system.
      * Checks for existing username, creates new user with encoded password,
      * and generates JWT token.
      *
      * @param request Registration details containing username and password
-     * @return AuthResponse with JWT token
+     * @return Future completed with the AuthResponse containing the JWT token
      * @throws RuntimeException if username already exists
+     * @throws com.configmanager.userservice.exception.PasswordHashingBusyException if password hashing is saturated
      */
-    public AuthResponse register(RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         // Check if user already exists
         if (userRepository.findByUsername(request.getUsername()).isPresent()) {
             throw new RuntimeException("Username already exists");
         }
 
-        // Create new user
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setRole("USER"); // Default role
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(request.getPassword()))
+                .thenApplyAsync(encodedPassword -> {
+                    // Create new user
+                    User user = new User();
+                    user.setUsername(request.getUsername());
+                    user.setPassword(encodedPassword);
+                    user.setRole("USER"); // Default role
 
-        // Save user to database
-        userRepository.save(user);
+                    // Save user to database
+                    userRepository.save(user);
 
-        // Generate JWT token
-        UserDetails userDetails = org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities("ROLE_USER")
-                .build();
+                    // Generate JWT token
+                    UserDetails userDetails = new AccountUserDetails(
+                            user.getUsername(), user.getPassword(), user.getRole(), user.getTokenVersion());
 
-        String token = jwtTokenUtil.generateToken(userDetails);
+                    String token = jwtTokenUtil.generateToken(userDetails);
 
-        // Create and return response
-        AuthResponse response = new AuthResponse();
-        response.setToken(token);
-        return response;
+                    // Create and return response
+                    return response(token, refreshTokenService.issue(user));
+                }, applicationTaskExecutor);
     }
 
     /**
      * Authenticates user credentials and generates JWT token.
      * Validates username/password combination and creates authentication token.
+     * A stored hash with a lower cost than the configured one is rehashed as part of the authentication.
      *
      * @param request Login credentials containing username and password
-     * @return AuthResponse with JWT token
-     * @throws RuntimeException if authentication fails
+     * @return Future completed with the AuthResponse containing the JWT token,
+     *         or completed exceptionally with a RuntimeException if authentication fails
+     * @throws com.configmanager.userservice.exception.PasswordHashingBusyException if password hashing is saturated
+     */
+    public CompletableFuture<AuthResponse> login(AuthRequest request) {
+        return passwordHashingExecutor.submit(() -> {
+            try {
+                // Authenticate user
+                Authentication authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                request.getUsername(),
+                                request.getPassword()
+                        )
+                );
+
+                // Get user details
+                return (UserDetails) authentication.getPrincipal();
+
+            } catch (Exception e) {
+                throw new RuntimeException("Invalid username/password");
+            }
+        }).thenApplyAsync(userDetails -> {
+            try {
+                // Generate JWT token
+                String token = jwtTokenUtil.generateToken(userDetails);
+
+                // Start a refresh token family for this sign-in
+                User user = userRepository.findByUsername(userDetails.getUsername())
+                        .orElseThrow(() -> new RuntimeException("User not found"));
+
+                // Create and return response
+                return response(token, refreshTokenService.issue(user));
+
+            } catch (Exception e) {
+                throw new RuntimeException("Invalid username/password");
+            }
+        }, applicationTaskExecutor);
+    }
+
+    /**
+     * Exchanges a refresh token for a new JWT token and refresh token.
+     * Costs an HMAC and an indexed lookup; the password is not checked again.
+     *
+     * @param request The refresh token issued with the last authentication response
+     * @return AuthResponse with the new JWT token and refresh token
+     * @throws com.configmanager.userservice.exception.InvalidRefreshTokenException if the refresh token cannot be used
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.user();
+        UserDetails userDetails = new AccountUserDetails(
+                user.getUsername(), "", user.getRole(), user.getTokenVersion());
+        return response(jwtTokenUtil.generateToken(userDetails), rotation.refreshToken());
+    }
+
+    /**
+     * Signs out a single session by revoking its refresh token.
+     * The current JWT token stays valid until it expires.
+     *
+     * @param request The refresh token of the session
+     */
+    public void logout(RefreshRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+
+    /**
+     * Revokes every token issued to a user so far.
+     * Increments the user's token version; tokens carrying an older version are rejected by this
+     * instance immediately and by other services once their token version table refreshes.
+     * Refresh tokens issued with an older version are rejected as well.
+     *
+     * @param username The user whose tokens are revoked
+     * @throws RuntimeException if the user does not exist
      */
-    public AuthResponse login(AuthRequest request) {
-        try {
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getUsername(),
-                            request.getPassword()
-                    )
-            );
-
-            // Get user details
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-
-            // Generate JWT token
-            String token = jwtTokenUtil.generateToken(userDetails);
-
-            // Create and return response
-            AuthResponse response = new AuthResponse();
-            response.setToken(token);
-            return response;
-
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid username/password");
+    public void logoutAll(String username) {
+        if (userRepository.incrementTokenVersion(username) == 0) {
+            throw new RuntimeException("User not found");
         }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        tokenVersionRegistry.revoked(username, user.getTokenVersion());
+    }
+
+    private AuthResponse response(String token, String refreshToken) {
+        AuthResponse response = new AuthResponse();
+        response.setToken(token);
+        response.setExpiresIn(jwtTokenUtil.getExpirationSeconds());
+        response.setRefreshToken(refreshToken);
+        return response;
     }
-}
\ No newline at end of file
+}
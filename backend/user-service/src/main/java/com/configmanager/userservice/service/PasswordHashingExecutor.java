@@ -0,0 +1,96 @@
+package com.configmanager.userservice.service;
+
+import com.configmanager.userservice.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated executor for password hashing.
+ * BCrypt is deliberately CPU-bound, so hashing runs on a pool sized to the CPUs instead of on
+ * request threads. A bounded queue absorbs short bursts; once it is full new work is rejected
+ * immediately rather than queued behind work the client will have given up on, so a login storm
+ * cannot exhaust the request threads that the rest of the service depends on.
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+
+    private final long retryAfterSeconds;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Creates the executor.
+     *
+     * @param threads Number of hashing threads, or 0 or less for one per available CPU
+     * @param queueCapacity Number of tasks allowed to wait for a hashing thread
+     * @param retryAfterSeconds Seconds rejected clients are told to wait before retrying
+     */
+    public PasswordHashingExecutor(
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Runs a task on a hashing thread.
+     *
+     * @param task The task hashing or checking a password
+     * @return Future completed with the task result
+     * @throws PasswordHashingBusyException if all threads are busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new PasswordHashingBusyException("Too many concurrent password checks, retry later", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Registers queue depth, active thread and rejection metrics.
+     *
+     * @param registry The meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.hashing.queued", executor, e -> e.getQueue().size())
+            .description("Number of password hashing tasks waiting for a thread")
+            .register(registry);
+        Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Number of threads currently hashing passwords")
+            .register(registry);
+        FunctionCounter.builder("auth.hashing.rejected", rejected, AtomicLong::get)
+            .description("Number of logins and registrations rejected because hashing was saturated")
+            .register(registry);
+    }
+
+    /**
+     * Stops the hashing threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,170 @@
+package com.configmanager.userservice.service;
+
+import com.configmanager.usermodule.model.RefreshToken;
+import com.configmanager.usermodule.model.User;
+import com.configmanager.usermodule.repository.RefreshTokenRepository;
+import com.configmanager.userservice.exception.InvalidRefreshTokenException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Service issuing, rotating and revoking refresh tokens.
+ * Refresh tokens are random and opaque; only their HMAC is stored, so checking one costs an HMAC
+ * and an indexed lookup instead of a BCrypt verification. Every refresh consumes the presented token
+ * and issues the next one of its family. Presenting a consumed token means it was copied, so the
+ * whole family is revoked and both holders have to sign in again.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final SecretKeySpec hmacKey;
+
+    private final Duration lifetime;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Creates the service.
+     *
+     * @param refreshTokenRepository Repository storing token hashes
+     * @param secret Secret keying the token HMAC
+     * @param lifetimeSeconds Lifetime of a refresh token in seconds
+     */
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh.secret:${jwt.secret}}") String secret,
+            @Value("${jwt.refresh.expiration:2592000}") long lifetimeSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.hmacKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.lifetime = Duration.ofSeconds(lifetimeSeconds);
+    }
+
+    /**
+     * Issues the first refresh token of a new family, after a password check.
+     *
+     * @param user The authenticated user
+     * @return The opaque token to hand to the client
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes a refresh token and issues its successor.
+     *
+     * @param token The token presented by the client
+     * @return The user the token belongs to and the successor token
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or already used
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = find(token);
+        LocalDateTime now = LocalDateTime.now();
+        User user = current.getUser();
+        if (current.getRevokedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            log.warn("Refresh token reused for user {}, revoking its family", user.getUsername());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        if (current.getTokenVersion() < user.getTokenVersion()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        return new Rotation(user, issue(user, current.getFamilyId()));
+    }
+
+    /**
+     * Revokes a refresh token and every token rotated from the same login.
+     * Unknown tokens are ignored so that signing out is idempotent.
+     *
+     * @param token The token presented by the client
+     */
+    @Transactional
+    public void revoke(String token) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(token))
+            .ifPresent(current -> refreshTokenRepository.revokeFamily(current.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Deletes expired tokens.
+     * Used tokens are kept until they expire so that their reuse is still detected.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setTokenVersion(user.getTokenVersion());
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(lifetime));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    private RefreshToken find(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new InvalidRefreshTokenException("Refresh token is missing");
+        }
+        return refreshTokenRepository.findByTokenHash(hash(token))
+            .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token is not valid"));
+    }
+
+    private String hash(String token) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return HexFormat.of().formatHex(mac.doFinal(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * Result of a successful refresh.
+     *
+     * @param user The user the consumed token belonged to
+     * @param refreshToken The successor token to hand to the client
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.configmanager.userservice.service;
+
+import com.configmanager.usermodule.repository.UserRepository;
+import com.configmanager.userservice.dto.BulkProvisionResponse;
+import com.configmanager.userservice.dto.BulkProvisionResult;
+import com.configmanager.userservice.dto.BulkProvisionResult.Status;
+import com.configmanager.userservice.dto.ProvisionUserRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Service creating many user accounts at once.
+ * All usernames are checked with one query, passwords are hashed in parallel on a dedicated
+ * bounded fork-join pool, and accounts are inserted as JDBC batches in chunks, each in its own
+ * transaction. This avoids the per-account existence check, serial BCrypt and IDENTITY insert of
+ * registering accounts one by one.
+ */
+@Slf4j
+@Service
+public class UserProvisioningService {
+
+    private static final Set<String> ROLES = Set.of("USER", "ADMIN");
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (username, password, role, token_version) VALUES (?, ?, ?, 0)";
+
+    private static final String SELECT_IDS_SQL =
+            "SELECT id, username FROM users WHERE username IN (:usernames)";
+
+    private final UserRepository userRepository;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ForkJoinPool hashingPool;
+
+    private final int chunkSize;
+
+    /**
+     * Creates the provisioning service.
+     *
+     * @param userRepository Repository used to find usernames that are already taken
+     * @param passwordEncoder Encoder hashing the new passwords
+     * @param jdbcTemplate Template used for batched inserts
+     * @param transactionTemplate Template used to run each chunk in its own transaction
+     * @param parallelism Number of passwords hashed at once, or 0 or less for half the available CPUs
+     *                    so that logins keep CPU while a bulk request runs
+     * @param chunkSize Number of accounts inserted per transaction
+     */
+    @Autowired
+    public UserProvisioningService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${auth.provisioning.hashing-parallelism:0}") int parallelism,
+            @Value("${auth.provisioning.chunk-size:200}") int chunkSize) {
+        this(userRepository, passwordEncoder, jdbcTemplate, transactionTemplate,
+            new ForkJoinPool(parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+            chunkSize);
+    }
+
+    UserProvisioningService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                            NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            ForkJoinPool hashingPool, int chunkSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.hashingPool = hashingPool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates the given accounts.
+     * Accounts with a blank username or password, an unknown role, a username that is already taken
+     * or repeated earlier in the request fail individually. Usernames are compared ignoring case, like
+     * the username column's collation does. A failing chunk is rolled back as a whole
+     * without affecting other chunks.
+     *
+     * @param users The accounts to create
+     * @return Per-account results in submission order
+     */
+    public BulkProvisionResponse provision(List<ProvisionUserRequest> users) {
+        BulkProvisionResult[] results = new BulkProvisionResult[users.size()];
+        Map<String, Integer> indexByUsername = new LinkedHashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            ProvisionUserRequest user = users.get(i);
+            if (user.getUsername() == null || user.getUsername().isBlank()) {
+                results[i] = failed(user.getUsername(), "Username is required");
+            } else if (user.getPassword() == null || user.getPassword().isEmpty()) {
+                results[i] = failed(user.getUsername(), "Password is required");
+            } else if (user.getRole() != null && !ROLES.contains(user.getRole())) {
+                results[i] = failed(user.getUsername(), "Unknown role " + user.getRole());
+            } else if (indexByUsername.putIfAbsent(normalize(user.getUsername()), i) != null) {
+                results[i] = failed(user.getUsername(), "Duplicate username in request");
+            }
+        }
+
+        if (!indexByUsername.isEmpty()) {
+            List<String> usernames = indexByUsername.values().stream()
+                    .map(index -> users.get(index).getUsername())
+                    .toList();
+            // The database may return a stored username in a different case
+            for (String existing : userRepository.findExistingUsernames(usernames)) {
+                Integer index = indexByUsername.remove(normalize(existing));
+                if (index != null) {
+                    results[index] = failed(users.get(index).getUsername(), "Username already exists");
+                }
+            }
+        }
+
+        List<Integer> pending = new ArrayList<>(indexByUsername.values());
+        String[] hashes = hash(pending, users);
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            int offset = from;
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(chunk, offset, hashes, users, results));
+            } catch (DataAccessException e) {
+                log.warn("Bulk provisioning chunk of {} users failed", chunk.size(), e);
+                for (Integer index : chunk) {
+                    results[index] = failed(users.get(index).getUsername(), e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        int created = 0;
+        for (BulkProvisionResult result : results) {
+            if (result.getStatus() == Status.CREATED) {
+                created++;
+            }
+        }
+        return new BulkProvisionResponse(created, results.length - created, List.of(results));
+    }
+
+    /**
+     * Returns the form of a username used to match entries and rows, following the username column's collation.
+     */
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Stops the hashing threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    /**
+     * Hashes the passwords of the pending accounts in parallel.
+     *
+     * @return Hashes in the order of the pending list
+     */
+    private String[] hash(List<Integer> pending, List<ProvisionUserRequest> users) {
+        String[] hashes = new String[pending.size()];
+        hashingPool.submit(() -> IntStream.range(0, pending.size())
+                .parallel()
+                .forEach(i -> hashes[i] = passwordEncoder.encode(users.get(pending.get(i)).getPassword())))
+            .join();
+        return hashes;
+    }
+
+    /**
+     * Inserts one chunk inside the current transaction.
+     */
+    private void insertChunk(List<Integer> chunk, int offset, String[] hashes, List<ProvisionUserRequest> users,
+                             BulkProvisionResult[] results) {
+        List<Object[]> inserts = new ArrayList<>(chunk.size());
+        Set<String> usernames = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ProvisionUserRequest user = users.get(chunk.get(i));
+            inserts.add(new Object[]{user.getUsername(), hashes[offset + i], user.getRole() != null ? user.getRole() : "USER"});
+            usernames.add(user.getUsername());
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, inserts);
+
+        // Read the chunk back to learn the generated IDs
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_SQL, Map.of("usernames", usernames), rs -> {
+            ids.put(rs.getString("username"), rs.getLong("id"));
+        });
+        for (Integer index : chunk) {
+            String username = users.get(index).getUsername();
+            results[index] = new BulkProvisionResult(username, ids.get(username), Status.CREATED, null);
+        }
+    }
+
+    private static BulkProvisionResult failed(String username, String message) {
+        return new BulkProvisionResult(username, null, Status.FAILED, message);
+    }
+}
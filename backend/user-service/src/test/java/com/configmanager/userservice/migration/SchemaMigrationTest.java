@@ -0,0 +1,76 @@
+package com.configmanager.userservice.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the account migrations the user service applies from the user module, run by Flyway against
+ * an embedded database in MySQL mode.
+ */
+class SchemaMigrationTest {
+
+    private static DriverManagerDataSource dataSource(String name) {
+        return new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static Flyway flyway(DriverManagerDataSource dataSource) {
+        return Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/users")
+            .table("flyway_schema_history_users")
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load();
+    }
+
+    @Test
+    void migrate_WhenDatabaseIsEmpty_ShouldCreateTablesAndIndexes() {
+        // Arrange
+        DriverManagerDataSource dataSource = dataSource("emptydb");
+
+        // Act
+        int applied = flyway(dataSource).migrate().migrationsExecuted;
+
+        // Assert
+        assertThat(applied).isEqualTo(3);
+        List<String> indexes = new JdbcTemplate(dataSource).queryForList(
+            "SELECT constraint_name FROM information_schema.table_constraints WHERE table_schema = 'public' "
+                + "UNION SELECT index_name FROM information_schema.indexes WHERE table_schema = 'public'", String.class);
+        assertThat(indexes).contains(
+            "uk_users_username",
+            "idx_users_token_version",
+            "uk_refresh_tokens_token_hash",
+            "fk_refresh_tokens_user",
+            "idx_refresh_tokens_family",
+            "idx_refresh_tokens_expires_at");
+    }
+
+    @Test
+    void migrate_WhenSchemaIsFromFirstRelease_ShouldUpgradeTablesAndKeepRows() {
+        // Arrange
+        DriverManagerDataSource dataSource = dataSource("baselinedb");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table users (id bigint not null auto_increment, password varchar(255) not null, "
+            + "role varchar(255) not null, username varchar(255) not null, primary key (id)) engine=InnoDB");
+        jdbcTemplate.execute("alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username)");
+        jdbcTemplate.update("INSERT INTO users (username, password, role) VALUES ('alice', 'hash', 'USER')");
+
+        // Act
+        flyway(dataSource).migrate();
+
+        // Assert
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT token_version FROM users WHERE username = 'alice'", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT index_name FROM information_schema.indexes WHERE table_name = 'users'", String.class))
+            .contains("idx_users_token_version");
+    }
+}
@@ -2,10 +2,14 @@ package com.configmanager.userservice.service;
 
 import com.configmanager.usermodule.model.User;
 import com.configmanager.usermodule.repository.UserRepository;
+import com.configmanager.usermodule.security.AccountUserDetails;
 import com.configmanager.usermodule.security.JwtTokenUtil;
+import com.configmanager.usermodule.security.TokenVersionRegistry;
 import com.configmanager.userservice.dto.AuthRequest;
 import com.configmanager.userservice.dto.AuthResponse;
+import com.configmanager.userservice.dto.RefreshRequest;
 import com.configmanager.userservice.dto.RegisterRequest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,9 +20,15 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,11 +56,30 @@ class AuthServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    private ExecutorService taskExecutor;
+
     private AuthService authService;
 
     @BeforeEach
     void setUp() {
-        authService = new AuthService(userRepository, passwordEncoder, jwtTokenUtil, authenticationManager);
+        passwordHashingExecutor = new PasswordHashingExecutor(1, 10, 1);
+        taskExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("task-"));
+        authService = new AuthService(userRepository, passwordEncoder, jwtTokenUtil, authenticationManager,
+                tokenVersionRegistry, passwordHashingExecutor, taskExecutor, refreshTokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
+        taskExecutor.shutdownNow();
     }
 
     @Test
@@ -63,14 +92,16 @@ class AuthServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
         when(jwtTokenUtil.generateToken(any(UserDetails.class))).thenReturn("jwt.token.here");
+        when(refreshTokenService.issue(any(User.class))).thenReturn("refresh.token");
 
         // Act
-        AuthResponse response = authService.register(request);
+        AuthResponse response = authService.register(request).join();
 
         // Assert
         assertNotNull(response);
         assertNotNull(response.getToken());
         assertEquals("jwt.token.here", response.getToken());
+        assertEquals("refresh.token", response.getRefreshToken());
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
         verify(userRepository).save(userCaptor.capture());
@@ -80,6 +111,38 @@ class AuthServiceTest {
         assertEquals("USER", savedUser.getRole());
     }
 
+    @Test
+    void register_ShouldHashOnHashingThreadAndWriteOnTaskThread() {
+        // Arrange
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("testuser");
+        request.setPassword("password123");
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+        when(passwordEncoder.encode("password123")).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return "encodedPassword";
+        });
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+        when(refreshTokenService.issue(any(User.class))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return "refresh.token";
+        });
+
+        // Act
+        authService.register(request).join();
+
+        // Assert
+        assertEquals(3, threads.size());
+        assertTrue(threads.get(0).startsWith("password-hashing-"));
+        assertTrue(threads.get(1).startsWith("task-"));
+        assertTrue(threads.get(2).startsWith("task-"));
+    }
+
     @Test
     void register_WhenUsernameExists_ShouldThrowException() {
         // Arrange
@@ -114,18 +177,59 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(userDetails);
+        User user = new User();
+        user.setUsername("testuser");
         when(jwtTokenUtil.generateToken(userDetails)).thenReturn("jwt.token.here");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(refreshTokenService.issue(user)).thenReturn("refresh.token");
 
         // Act
-        AuthResponse response = authService.login(request);
+        AuthResponse response = authService.login(request).join();
 
         // Assert
         assertNotNull(response);
         assertNotNull(response.getToken());
         assertEquals("jwt.token.here", response.getToken());
+        assertEquals("refresh.token", response.getRefreshToken());
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
     }
 
+    @Test
+    void login_ShouldIssueRefreshTokenOnTaskThread() {
+        // Arrange
+        AuthRequest request = new AuthRequest();
+        request.setUsername("testuser");
+        request.setPassword("password123");
+
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
+                .withUsername("testuser")
+                .password("encodedPassword")
+                .authorities("ROLE_USER")
+                .build();
+        User user = new User();
+        user.setUsername("testuser");
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return authentication;
+        });
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(refreshTokenService.issue(user)).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return "refresh.token";
+        });
+
+        // Act
+        authService.login(request).join();
+
+        // Assert
+        assertEquals(2, threads.size());
+        assertTrue(threads.get(0).startsWith("password-hashing-"));
+        assertTrue(threads.get(1).startsWith("task-"));
+    }
+
     @Test
     void login_WhenCredentialsAreInvalid_ShouldThrowException() {
         // Arrange
@@ -137,9 +241,64 @@ class AuthServiceTest {
                 .thenThrow(new RuntimeException("Authentication failed"));
 
         // Act & Assert
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            authService.login(request);
+        Exception exception = assertThrows(CompletionException.class, () -> {
+            authService.login(request).join();
         });
-        assertEquals("Invalid username/password", exception.getMessage());
+        assertEquals("Invalid username/password", exception.getCause().getMessage());
+    }
+
+    @Test
+    void refresh_ShouldIssueTokenFromRotatedRefreshToken() {
+        // Arrange
+        User user = new User();
+        user.setUsername("testuser");
+        user.setRole("ADMIN");
+        user.setTokenVersion(2);
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("old.refresh");
+        when(refreshTokenService.rotate("old.refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "new.refresh"));
+        when(jwtTokenUtil.generateToken(any(UserDetails.class))).thenReturn("jwt.token.here");
+        when(jwtTokenUtil.getExpirationSeconds()).thenReturn(900L);
+
+        // Act
+        AuthResponse response = authService.refresh(request);
+
+        // Assert
+        assertEquals("jwt.token.here", response.getToken());
+        assertEquals("new.refresh", response.getRefreshToken());
+        assertEquals(900L, response.getExpiresIn());
+        ArgumentCaptor<UserDetails> detailsCaptor = ArgumentCaptor.forClass(UserDetails.class);
+        verify(jwtTokenUtil).generateToken(detailsCaptor.capture());
+        AccountUserDetails details = (AccountUserDetails) detailsCaptor.getValue();
+        assertEquals("ADMIN", details.getRole());
+        assertEquals(2, details.getTokenVersion());
+        verifyNoInteractions(authenticationManager, passwordEncoder);
+    }
+
+    @Test
+    void logoutAll_WhenUserExists_ShouldRevokeTokens() {
+        // Arrange
+        User user = new User();
+        user.setUsername("testuser");
+        user.setTokenVersion(3);
+        when(userRepository.incrementTokenVersion("testuser")).thenReturn(1);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        // Act
+        authService.logoutAll("testuser");
+
+        // Assert
+        verify(tokenVersionRegistry).revoked("testuser", 3);
+    }
+
+    @Test
+    void logoutAll_WhenUserDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(userRepository.incrementTokenVersion("missing")).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> authService.logoutAll("missing"));
+        verifyNoInteractions(tokenVersionRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.configmanager.userservice.service;
+
+import com.configmanager.userservice.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHashingExecutor.
+ * Tests that work beyond the thread and queue limits is rejected immediately.
+ */
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashingExecutor(1, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_ShouldCompleteWithTaskResult() {
+        // Act & Assert
+        assertEquals("hash", executor.submit(() -> "hash").join());
+    }
+
+    @Test
+    void submit_WhenThreadsBusyAndQueueFull_ShouldRejectWithRetryAfter() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        started.await();
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+        // Act & Assert
+        PasswordHashingBusyException exception = assertThrows(PasswordHashingBusyException.class,
+                () -> executor.submit(() -> "rejected"));
+        assertEquals(2, exception.getRetryAfterSeconds());
+        release.countDown();
+        assertEquals("queued", queued.join());
+    }
+
+    @Test
+    void bindTo_ShouldReportQueueDepthAndRejections() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        started.await();
+        executor.submit(() -> "queued");
+
+        // Act
+        assertThrows(PasswordHashingBusyException.class, () -> executor.submit(() -> "rejected"));
+
+        // Assert
+        assertEquals(1.0, registry.get("auth.hashing.queued").gauge().value());
+        assertEquals(1.0, registry.get("auth.hashing.active").gauge().value());
+        assertEquals(1.0, registry.get("auth.hashing.rejected").functionCounter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
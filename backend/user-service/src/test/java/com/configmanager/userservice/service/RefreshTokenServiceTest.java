@@ -0,0 +1,140 @@
+package com.configmanager.userservice.service;
+
+import com.configmanager.usermodule.model.RefreshToken;
+import com.configmanager.usermodule.model.User;
+import com.configmanager.usermodule.repository.RefreshTokenRepository;
+import com.configmanager.userservice.exception.InvalidRefreshTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RefreshTokenService.
+ * Tests issuing, rotation, reuse detection and revocation of refresh tokens.
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, SECRET, 3600);
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setRole("USER");
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheHash() {
+        // Act
+        String token = refreshTokenService.issue(user);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        assertNotEquals(token, stored.getTokenHash());
+        assertEquals(64, stored.getTokenHash().length());
+        assertSame(user, stored.getUser());
+        assertNotNull(stored.getFamilyId());
+    }
+
+    @Test
+    void rotate_WhenTokenValid_ShouldIssueSuccessorInSameFamily() {
+        // Arrange
+        String token = refreshTokenService.issue(user);
+        RefreshToken stored = savedToken();
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(stored.getId()), any())).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        // Assert
+        assertSame(user, rotation.user());
+        assertNotEquals(token, rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(2)).save(captor.capture());
+        assertEquals(stored.getFamilyId(), captor.getValue().getFamilyId());
+    }
+
+    @Test
+    void rotate_WhenTokenAlreadyUsed_ShouldRevokeFamily() {
+        // Arrange
+        String token = refreshTokenService.issue(user);
+        RefreshToken stored = savedToken();
+        stored.setRevokedAt(LocalDateTime.now());
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+        verify(refreshTokenRepository).revokeFamily(eq(stored.getFamilyId()), any());
+        verify(refreshTokenRepository, times(1)).save(any());
+    }
+
+    @Test
+    void rotate_WhenUserRevokedAllTokens_ShouldReject() {
+        // Arrange
+        String token = refreshTokenService.issue(user);
+        RefreshToken stored = savedToken();
+        user.setTokenVersion(1);
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(stored.getId()), any())).thenReturn(1);
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+        verify(refreshTokenRepository, times(1)).save(any());
+    }
+
+    @Test
+    void rotate_WhenTokenUnknown_ShouldReject() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown"));
+    }
+
+    @Test
+    void revoke_ShouldRevokeFamily() {
+        // Arrange
+        String token = refreshTokenService.issue(user);
+        RefreshToken stored = savedToken();
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        // Act
+        refreshTokenService.revoke(token);
+
+        // Assert
+        verify(refreshTokenRepository).revokeFamily(eq(stored.getFamilyId()), any());
+    }
+
+    private RefreshToken savedToken() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        stored.setId(10L);
+        return stored;
+    }
+}
@@ -0,0 +1,204 @@
+package com.configmanager.userservice.service;
+
+import com.configmanager.usermodule.repository.UserRepository;
+import com.configmanager.userservice.dto.BulkProvisionResponse;
+import com.configmanager.userservice.dto.BulkProvisionResult;
+import com.configmanager.userservice.dto.BulkProvisionResult.Status;
+import com.configmanager.userservice.dto.ProvisionUserRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserProvisioningService.
+ * Tests per-account validation, case-insensitive duplicate detection, the single existence check,
+ * batched inserts, chunk failures and that the hashing pool stops with the context.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ForkJoinPool hashingPool;
+
+    private UserProvisioningService provisioningService;
+
+    @BeforeEach
+    void setUp() {
+        hashingPool = new ForkJoinPool(2);
+        provisioningService = new UserProvisioningService(userRepository, passwordEncoder, namedJdbcTemplate,
+                new TransactionTemplate(transactionManager), hashingPool, 2);
+        lenient().when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingPool.shutdownNow();
+    }
+
+    @Test
+    void provision_ShouldCheckUsernamesOnceAndInsertInChunks() throws Exception {
+        // Arrange
+        List<ProvisionUserRequest> users = List.of(
+                new ProvisionUserRequest("alice", "pw-a", null),
+                new ProvisionUserRequest("bob", "pw-b", "ADMIN"),
+                new ProvisionUserRequest("carol", "pw-c", null));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        returnGeneratedIds(Map.of("alice", 1L, "bob", 2L, "carol", 3L));
+
+        // Act
+        BulkProvisionResponse response = provisioningService.provision(users);
+
+        // Assert
+        assertEquals(3, response.getCreated());
+        assertEquals(0, response.getFailed());
+        assertEquals(List.of(1L, 2L, 3L), response.getResults().stream().map(BulkProvisionResult::getId).toList());
+        verify(userRepository, times(1)).findExistingUsernames(anyCollection());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        assertArrayEquals(new Object[]{"bob", "hash-pw-b", "ADMIN"}, batches.getAllValues().get(0).get(1));
+        assertArrayEquals(new Object[]{"carol", "hash-pw-c", "USER"}, batches.getAllValues().get(1).get(0));
+    }
+
+    @Test
+    void provision_WhenEntriesInvalid_ShouldFailThemIndividually() throws Exception {
+        // Arrange
+        List<ProvisionUserRequest> users = List.of(
+                new ProvisionUserRequest("taken", "pw", null),
+                new ProvisionUserRequest("", "pw", null),
+                new ProvisionUserRequest("nopw", null, null),
+                new ProvisionUserRequest("badrole", "pw", "ROOT"),
+                new ProvisionUserRequest("dave", "pw", null),
+                new ProvisionUserRequest("dave", "pw2", null));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("taken"));
+        returnGeneratedIds(Map.of("dave", 4L));
+
+        // Act
+        BulkProvisionResponse response = provisioningService.provision(users);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(5, response.getFailed());
+        List<BulkProvisionResult> results = response.getResults();
+        assertEquals("Username already exists", results.get(0).getMessage());
+        assertEquals("Username is required", results.get(1).getMessage());
+        assertEquals("Password is required", results.get(2).getMessage());
+        assertEquals("Unknown role ROOT", results.get(3).getMessage());
+        assertEquals(Status.CREATED, results.get(4).getStatus());
+        assertEquals("Duplicate username in request", results.get(5).getMessage());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void provision_WhenUsernamesDifferOnlyInCase_ShouldTreatThemAsTheSame() throws Exception {
+        // Arrange
+        List<ProvisionUserRequest> users = List.of(
+                new ProvisionUserRequest("taken", "pw", null),
+                new ProvisionUserRequest("Erin", "pw", null),
+                new ProvisionUserRequest("ERIN", "pw2", null));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("Taken"));
+        returnGeneratedIds(Map.of("Erin", 5L));
+
+        // Act
+        BulkProvisionResponse response = provisioningService.provision(users);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        List<BulkProvisionResult> results = response.getResults();
+        assertEquals("Username already exists", results.get(0).getMessage());
+        assertEquals("taken", results.get(0).getUsername());
+        assertEquals(Status.CREATED, results.get(1).getStatus());
+        assertEquals("Duplicate username in request", results.get(2).getMessage());
+    }
+
+    @Test
+    void provision_WhenChunkFails_ShouldOnlyFailThatChunk() throws Exception {
+        // Arrange
+        List<ProvisionUserRequest> users = List.of(
+                new ProvisionUserRequest("alice", "pw-a", null),
+                new ProvisionUserRequest("bob", "pw-b", null),
+                new ProvisionUserRequest("carol", "pw-c", null));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("Duplicate entry 'bob'"))
+                .thenReturn(new int[]{1});
+        returnGeneratedIds(Map.of("carol", 3L));
+
+        // Act
+        BulkProvisionResponse response = provisioningService.provision(users);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(Status.FAILED, response.getResults().get(0).getStatus());
+        assertEquals(Status.FAILED, response.getResults().get(1).getStatus());
+        assertEquals(Status.CREATED, response.getResults().get(2).getStatus());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void close_WhenContextCloses_ShouldShutDownHashingPool() {
+        // Arrange
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(UserProvisioningService.class, () -> provisioningService);
+        context.refresh();
+
+        // Act
+        context.close();
+
+        // Assert
+        assertTrue(hashingPool.isShutdown());
+    }
+
+    private void returnGeneratedIds(Map<String, Long> ids) throws Exception {
+        doAnswer(invocation -> {
+            Map<String, Set<String>> params = invocation.getArgument(1);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (String username : params.get("usernames")) {
+                if (ids.containsKey(username)) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getString("username")).thenReturn(username);
+                    when(rs.getLong("id")).thenReturn(ids.get(username));
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(namedJdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+    }
+}
@@ -1,29 +1,39 @@
-import { Component, OnInit, ViewChild } from '@angular/core';
+import { Component, OnDestroy, OnInit, ViewChild } from '@angular/core';
 import { MatPaginator } from '@angular/material/paginator';
 import { MatSort } from '@angular/material/sort';
 import { MatTableDataSource } from '@angular/material/table';
 import { MatDialog } from '@angular/material/dialog';
 import { MatSnackBar } from '@angular/material/snack-bar';
+import { Subscription } from 'rxjs';
 import { ConfigService } from '../../services/config.service';
+import { Configuration } from '../../models/configuration';
+import { ConfigurationChange } from '../../models/configuration-change';
 import { ConfigurationFormComponent } from '../configuration-form/configuration-form.component';
 import { AuthService } from '../../services/auth.service';
 
 /**
  * Dashboard component for managing configurations.
  * Provides a table interface with CRUD operations.
+ * The table is loaded once and then kept current from the server's change stream.
  */
 @Component({
   selector: 'app-dashboard',
   templateUrl: './dashboard.component.html',
   styleUrls: ['./dashboard.component.css']
 })
-export class DashboardComponent implements OnInit {
-  displayedColumns: string[] = ['key', 'value', 'description', 'actions'];
+export class DashboardComponent implements OnInit, OnDestroy {
+  displayedColumns: string[] = ['key', 'valueSize', 'description', 'actions'];
   dataSource: MatTableDataSource<any>;
 
   @ViewChild(MatPaginator) paginator!: MatPaginator;
   @ViewChild(MatSort) sort!: MatSort;
 
+  /** Subscription to the change stream */
+  private changesSubscription?: Subscription;
+
+  /** Changes received while the full list is being loaded, applied once it arrives */
+  private pendingChanges: ConfigurationChange[] | null = null;
+
   constructor(
     private configService: ConfigService,
     public authService: AuthService,
@@ -34,27 +44,66 @@ export class DashboardComponent implements OnInit {
   }
 
   /**
-   * Initializes component and loads configurations.
+   * Initializes component, subscribes to changes and loads configurations.
+   * The stream is opened first so no change committed during the load is missed.
    */
   ngOnInit() {
+    this.changesSubscription = this.configService.streamChanges()
+      .subscribe(change => this.onChange(change));
     this.loadConfigurations();
   }
 
+  /**
+   * Closes the change stream.
+   */
+  ngOnDestroy() {
+    this.changesSubscription?.unsubscribe();
+  }
+
   /**
    * Loads configurations from the service.
    * Updates table data source with pagination and sorting.
    */
   loadConfigurations() {
+    this.pendingChanges = [];
     this.configService.getConfigurations().subscribe(data => {
       this.dataSource.data = data;
       this.dataSource.paginator = this.paginator;
       this.dataSource.sort = this.sort;
+      const pending = this.pendingChanges ?? [];
+      this.pendingChanges = null;
+      pending.forEach(change => this.onChange(change));
     });
   }
 
+  /**
+   * Applies a pushed change to the table.
+   * Changes older than the row already shown are ignored, which makes replays harmless.
+   *
+   * @param change The change received from the stream
+   */
+  private onChange(change: ConfigurationChange) {
+    if (change.type === 'reset') {
+      this.loadConfigurations();
+      return;
+    }
+    if (this.pendingChanges) {
+      this.pendingChanges.push(change);
+      return;
+    }
+    const changed = change.configuration as Configuration;
+    const rows = this.dataSource.data as Configuration[];
+    const current = rows.find(row => row.id === changed.id);
+    if (current && (current.revision ?? 0) > change.revision) {
+      return;
+    }
+    const others = rows.filter(row => row.id !== changed.id);
+    this.dataSource.data = change.type === 'deleted' ? others : [...others, changed];
+  }
+
   /**
    * Opens dialog to add new configuration.
-   * Updates table on successful creation.
+   * The table picks up the new row from the change stream.
    */
   addConfiguration() {
     const dialogRef = this.dialog.open(ConfigurationFormComponent, {
@@ -64,7 +113,6 @@ export class DashboardComponent implements OnInit {
     dialogRef.afterClosed().subscribe(result => {
       if (result) {
         this.configService.createConfiguration(result).subscribe(() => {
-          this.loadConfigurations();
           this.snackBar.open('Configuration created successfully', 'Close', {
             duration: 3000
           });
@@ -75,38 +123,39 @@ export class DashboardComponent implements OnInit {
 
   /**
    * Opens dialog to edit existing configuration.
-   * Updates table on successful edit.
+   * Table rows do not carry values, so the full configuration is fetched first.
+   * The table picks up the edit from the change stream.
    * 
-   * @param config Configuration to edit
+   * @param row Table row of the configuration to edit
    */
-  editConfiguration(config: any) {
-    const dialogRef = this.dialog.open(ConfigurationFormComponent, {
-      width: '500px',
-      data: config
-    });
+  editConfiguration(row: any) {
+    this.configService.getConfiguration(row.id).subscribe(config => {
+      const dialogRef = this.dialog.open(ConfigurationFormComponent, {
+        width: '500px',
+        data: config
+      });
 
-    dialogRef.afterClosed().subscribe(result => {
-      if (result) {
-        this.configService.updateConfiguration(config.id, result).subscribe(() => {
-          this.loadConfigurations();
-          this.snackBar.open('Configuration updated successfully', 'Close', {
-            duration: 3000
+      dialogRef.afterClosed().subscribe(result => {
+        if (result) {
+          this.configService.updateConfiguration(config.id as number, result).subscribe(() => {
+            this.snackBar.open('Configuration updated successfully', 'Close', {
+              duration: 3000
+            });
           });
-        });
-      }
+        }
+      });
     });
   }
 
   /**
    * Deletes configuration after confirmation.
-   * Updates table on successful deletion.
+   * The table drops the row when the deletion arrives on the change stream.
    * 
    * @param id ID of configuration to delete
    */
   deleteConfiguration(id: number) {
     if (confirm('Are you sure you want to delete this configuration?')) {
       this.configService.deleteConfiguration(id).subscribe(() => {
-        this.loadConfigurations();
         this.snackBar.open('Configuration deleted successfully', 'Close', {
           duration: 3000
         });
@@ -1,14 +1,21 @@
 import { Injectable } from '@angular/core';
 import { HttpRequest, HttpHandler, HttpEvent, HttpInterceptor } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { switchMap } from 'rxjs/operators';
 import { AuthService } from '../services/auth.service';
 
 /**
  * HTTP interceptor that adds JWT authentication token to requests.
- * Automatically adds Authorization header with Bearer token if user is authenticated.
+ * Automatically adds Authorization header with Bearer token if user is authenticated,
+ * renewing the token first when it is about to expire.
  */
 @Injectable()
 export class JwtInterceptor implements HttpInterceptor {
+  /** Endpoints called without a JWT token, including the refresh call itself */
+  private static readonly UNAUTHENTICATED_PATHS = [
+    '/api/auth/login', '/api/auth/register', '/api/auth/refresh', '/api/auth/logout'
+  ];
+
   constructor(private authService: AuthService) { }
 
   /**
@@ -20,15 +27,18 @@ export class JwtInterceptor implements HttpInterceptor {
    * @returns Observable of the HTTP event
    */
   intercept(request: HttpRequest<any>, next: HttpHandler): Observable<HttpEvent<any>> {
-    const currentUser = this.authService.currentUserValue;
-    if (currentUser && currentUser.token) {
-      request = request.clone({
-        setHeaders: {
-          Authorization: `Bearer ${currentUser.token}`
-        }
-      });
+    if (JwtInterceptor.UNAUTHENTICATED_PATHS.some(path => request.url.endsWith(path))) {
+      return next.handle(request);
     }
 
-    return next.handle(request);
+    return this.authService.freshToken().pipe(
+      switchMap(token => next.handle(token
+        ? request.clone({
+            setHeaders: {
+              Authorization: `Bearer ${token}`
+            }
+          })
+        : request))
+    );
   }
 }
\ No newline at end of file
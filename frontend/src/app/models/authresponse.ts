@@ -7,4 +7,10 @@ export interface AuthResponse {
   token: string;
   /** Username of the authenticated user */
   username: string;
+  /** Lifetime of the JWT token in seconds */
+  expiresIn?: number;
+  /** Single-use token exchanged for a new token pair before the JWT token expires */
+  refreshToken?: string;
+  /** Time in epoch milliseconds at which the JWT token expires, computed when it is received */
+  expiresAt?: number;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+import { Configuration } from './configuration';
+
+/**
+ * Interface representing one event of the configuration change stream.
+ * A reset event carries no configuration and means the full list must be reloaded.
+ */
+export interface ConfigurationChange {
+  /** Kind of change */
+  type: 'created' | 'updated' | 'deleted' | 'reset';
+
+  /** Global revision of the change, 0 for reset events */
+  revision: number;
+
+  /** The configuration as written, or as it was before deletion */
+  configuration?: Configuration;
+}
@@ -0,0 +1,13 @@
+import { ConfigurationSummary } from './configuration-summary';
+
+/**
+ * Interface representing one page of the configuration listing.
+ * Pages are ordered by ID and chained through a cursor.
+ */
+export interface ConfigurationPage {
+  /** Summaries of the configurations on this page */
+  items: ConfigurationSummary[];
+
+  /** Cursor for the next page, null on the last page */
+  nextCursor: number | null;
+}
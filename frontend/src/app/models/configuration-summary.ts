@@ -0,0 +1,35 @@
+/**
+ * Interface representing a configuration as returned by listings.
+ * Carries the size and hash of the value instead of the value itself.
+ */
+export interface ConfigurationSummary {
+  /** Unique identifier for the configuration */
+  id: number;
+
+  /** Unique key of the configuration */
+  key: string;
+
+  /** Optional description of the configuration's purpose */
+  description?: string;
+
+  /** Size of the value in bytes */
+  valueSize?: number;
+
+  /** SHA-256 digest of the value, hex encoded */
+  valueHash?: string;
+
+  /** Username of the user who created the configuration */
+  createdBy?: string;
+
+  /** Username of the user who last modified the configuration */
+  lastModifiedBy?: string;
+
+  /** Global revision of the last write to the configuration */
+  revision?: number;
+
+  /** Timestamp when the configuration was created */
+  createdAt?: Date;
+
+  /** Timestamp when the configuration was last updated */
+  updatedAt?: Date;
+}
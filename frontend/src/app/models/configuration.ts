@@ -12,6 +12,12 @@ export interface Configuration {
   /** Value associated with the configuration key */
   value: string;
 
+  /** Size of the value in bytes */
+  valueSize?: number;
+
+  /** SHA-256 digest of the value, hex encoded */
+  valueHash?: string;
+
   /** Optional description of the configuration's purpose */
   description?: string;
 
@@ -21,6 +27,12 @@ export interface Configuration {
   /** Username of the user who last modified the configuration */
   lastModifiedBy?: string;
 
+  /** Global revision of the last write to the configuration */
+  revision?: number;
+
+  /** Whether the configuration has been deleted (only set in change feeds) */
+  deleted?: boolean;
+
   /** Timestamp when the configuration was created */
   createdAt?: Date;
 
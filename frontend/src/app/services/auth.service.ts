@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { BehaviorSubject, Observable } from 'rxjs';
-import { map } from 'rxjs/operators';
+import { BehaviorSubject, Observable, of, throwError } from 'rxjs';
+import { catchError, finalize, map, shareReplay } from 'rxjs/operators';
 import { Router } from '@angular/router';
 import { environment } from '../../environments/environment';
 import { AuthResponse } from '../models/authresponse';
@@ -10,6 +10,7 @@ import { LoginRequest } from '../models/loginrequest';
 /**
  * Service handling authentication operations.
  * Manages user login, logout, and token storage.
+ * JWT tokens are short-lived and are renewed with the refresh token shortly before they expire.
  */
 @Injectable({
   providedIn: 'root'
@@ -24,6 +25,12 @@ export class AuthService {
   /** Observable of the current user state */
   public currentUser: Observable<AuthResponse | null>;
 
+  /** Time before expiry at which the JWT token is renewed, in milliseconds */
+  private readonly refreshMargin = 30000;
+
+  /** Refresh request in progress, shared so that a refresh token is only ever used once */
+  private refreshInFlight: Observable<string> | null = null;
+
   constructor(
     private http: HttpClient,
     private router: Router
@@ -68,18 +75,60 @@ export class AuthService {
       .pipe(
         map(response => {
           console.log('Login response:', response);
-          localStorage.setItem('currentUser', JSON.stringify(response));
-          this.currentUserSubject.next(response);
-          return response;
+          return this.storeUser({ ...response, username });
         })
       );
   }
 
+  /**
+   * Returns a JWT token that is not about to expire, renewing it first if needed.
+   * @returns Observable of the token, or null if not authenticated
+   */
+  freshToken(): Observable<string | null> {
+    const currentUser = this.currentUserValue;
+    if (!currentUser?.token) {
+      return of(null);
+    }
+    if (!currentUser.refreshToken || !currentUser.expiresAt
+        || currentUser.expiresAt - this.refreshMargin > Date.now()) {
+      return of(currentUser.token);
+    }
+    return this.refresh();
+  }
+
+  /**
+   * Exchanges the refresh token for a new token pair.
+   * Concurrent callers share one request; logs out if the refresh token is rejected.
+   * @returns Observable of the new JWT token
+   */
+  refresh(): Observable<string> {
+    if (!this.refreshInFlight) {
+      const currentUser = this.currentUserValue;
+      this.refreshInFlight = this.http.post<AuthResponse>(`${this.API_URL}/api/auth/refresh`,
+          { refreshToken: currentUser?.refreshToken })
+        .pipe(
+          map(response => this.storeUser({ ...response, username: currentUser?.username ?? '' }).token),
+          catchError(err => {
+            this.logout();
+            return throwError(() => err);
+          }),
+          finalize(() => this.refreshInFlight = null),
+          shareReplay(1)
+        );
+    }
+    return this.refreshInFlight;
+  }
+
   /**
    * Logs out the current user.
-   * Removes stored authentication data and redirects to login.
+   * Revokes the refresh token, removes stored authentication data and redirects to login.
    */
   logout(): void {
+    const refreshToken = this.currentUserValue?.refreshToken;
+    if (refreshToken) {
+      this.http.post(`${this.API_URL}/api/auth/logout`, { refreshToken })
+        .subscribe({ error: err => console.error('Error revoking refresh token:', err) });
+    }
     localStorage.removeItem('currentUser');
     this.currentUserSubject.next(null);
     this.router.navigate(['/login']);
@@ -101,4 +150,19 @@ export class AuthService {
   getToken(): string | null {
     return this.currentUserValue?.token || null;
   }
+
+  /**
+   * Stores an authentication response and publishes it as the current user.
+   * @param response Authentication response received from the server
+   * @returns The stored user data
+   */
+  private storeUser(response: AuthResponse): AuthResponse {
+    const user: AuthResponse = {
+      ...response,
+      expiresAt: response.expiresIn ? Date.now() + response.expiresIn * 1000 : undefined
+    };
+    localStorage.setItem('currentUser', JSON.stringify(user));
+    this.currentUserSubject.next(user);
+    return user;
+  }
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { HttpClient, HttpParams } from '@angular/common/http';
+import { EMPTY, Observable, defer, timer } from 'rxjs';
+import { expand, map, reduce, repeat, retry, switchMap } from 'rxjs/operators';
 import { environment } from '../../environments/environment';
 import { Configuration } from '../models/configuration';
+import { ConfigurationChange } from '../models/configuration-change';
+import { ConfigurationPage } from '../models/configuration-page';
+import { ConfigurationSummary } from '../models/configuration-summary';
+import { AuthService } from './auth.service';
 
 /**
  * Service for managing configuration entities.
@@ -15,14 +20,141 @@ export class ConfigService {
   /** Base URL for configuration API endpoints */
   private apiUrl = `${environment.configApiUrl}/api/configs`;
 
-  constructor(private http: HttpClient) { }
+  /** Number of configurations requested per page */
+  private readonly pageSize = 500;
+
+  /** Delay before reconnecting a closed change stream, in milliseconds */
+  private readonly reconnectDelay = 3000;
+
+  constructor(private http: HttpClient, private authService: AuthService) { }
+
+  /**
+   * Retrieves summaries of all configurations from the server.
+   * Follows the listing cursor until the last page has been read. Values are not included;
+   * fetch a configuration by ID to read its value.
+   * @returns Observable of configuration summary array
+   */
+  getConfigurations(): Observable<ConfigurationSummary[]> {
+    return this.getConfigurationPage().pipe(
+      expand(page => page.nextCursor !== null ? this.getConfigurationPage(page.nextCursor) : EMPTY),
+      map(page => page.items),
+      reduce((all, items) => all.concat(items), [] as ConfigurationSummary[])
+    );
+  }
+
+  /**
+   * Retrieves one page of configurations.
+   * @param afterId Cursor returned with the previous page, omitted for the first page
+   * @returns Observable of the configuration page
+   */
+  getConfigurationPage(afterId?: number): Observable<ConfigurationPage> {
+    let params = new HttpParams().set('limit', this.pageSize);
+    if (afterId !== undefined) {
+      params = params.set('afterId', afterId);
+    }
+    return this.http.get<ConfigurationPage>(this.apiUrl, { params });
+  }
+
+  /**
+   * Subscribes to committed configuration changes pushed by the server.
+   * Reconnects when the stream closes and resumes after the last revision received,
+   * so no change is missed in between.
+   * @returns Observable of changes that stays open until unsubscribed
+   */
+  streamChanges(): Observable<ConfigurationChange> {
+    let lastRevision: number | undefined;
+    return defer(() => this.authService.freshToken()).pipe(
+      switchMap(token => this.openStream(token, lastRevision)),
+      map(change => {
+        if (change.revision > 0) {
+          lastRevision = change.revision;
+        }
+        return change;
+      }),
+      repeat({ delay: () => timer(this.reconnectDelay) }),
+      retry({ delay: () => timer(this.reconnectDelay) })
+    );
+  }
+
+  /**
+   * Opens one change stream connection.
+   * Uses fetch rather than EventSource because EventSource cannot send the Authorization header.
+   * @param token JWT token sent with the request, or null if not authenticated
+   * @param sinceRevision Revision to replay from, omitted to receive live changes only
+   * @returns Observable of changes that completes when the server closes the stream
+   */
+  private openStream(token: string | null, sinceRevision?: number): Observable<ConfigurationChange> {
+    return new Observable<ConfigurationChange>(subscriber => {
+      const controller = new AbortController();
+      const url = sinceRevision !== undefined
+        ? `${this.apiUrl}/stream?sinceRevision=${sinceRevision}`
+        : `${this.apiUrl}/stream`;
+      const headers: Record<string, string> = { Accept: 'text/event-stream' };
+      if (token) {
+        headers['Authorization'] = `Bearer ${token}`;
+      }
+
+      fetch(url, { headers, signal: controller.signal })
+        .then(async response => {
+          if (!response.ok || !response.body) {
+            throw new Error(`Change stream failed with status ${response.status}`);
+          }
+          const reader = response.body.getReader();
+          const decoder = new TextDecoder();
+          let buffer = '';
+          for (;;) {
+            const { done, value } = await reader.read();
+            if (done) {
+              break;
+            }
+            buffer += decoder.decode(value, { stream: true });
+            let end: number;
+            while ((end = buffer.indexOf('\n\n')) >= 0) {
+              const change = this.parseEvent(buffer.substring(0, end));
+              buffer = buffer.substring(end + 2);
+              if (change) {
+                subscriber.next(change);
+              }
+            }
+          }
+          subscriber.complete();
+        })
+        .catch(error => {
+          if (!controller.signal.aborted) {
+            subscriber.error(error);
+          }
+        });
+
+      return () => controller.abort();
+    });
+  }
 
   /**
-   * Retrieves all configurations from the server.
-   * @returns Observable of configuration array
+   * Parses one Server-Sent Events frame.
+   * @param frame Frame text without the terminating blank line
+   * @returns The change, or null for comments and heartbeats
    */
-  getConfigurations(): Observable<Configuration[]> {
-    return this.http.get<Configuration[]>(this.apiUrl);
+  private parseEvent(frame: string): ConfigurationChange | null {
+    let type = '';
+    let id = '0';
+    let data = '';
+    for (const line of frame.split('\n')) {
+      if (line.startsWith('event:')) {
+        type = line.substring(6).trim();
+      } else if (line.startsWith('id:')) {
+        id = line.substring(3).trim();
+      } else if (line.startsWith('data:')) {
+        data += line.substring(5).trim();
+      }
+    }
+    if (!type) {
+      return null;
+    }
+    return {
+      type: type as ConfigurationChange['type'],
+      revision: Number(id),
+      configuration: type !== 'reset' && data ? JSON.parse(data) as Configuration : undefined
+    };
   }
 
   /**